@@ -0,0 +1,86 @@
+package com.gamehouse.weather.benchmarks;
+
+import com.gamehouse.weather.model.AggregationRangePlan;
+import com.gamehouse.weather.model.StationMinuteIndex;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.model.WeatherAggregation;
+import com.gamehouse.weather.model.WeatherAggregationAccumulator;
+import com.gamehouse.weather.model.WeatherAggregationStats;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process aggregation math: folding a minute of readings into an accumulator (application aggregation mode),
+ * planning a multi-year range into rollup buckets, and answering a one-day range from a week-long
+ * {@link StationMinuteIndex}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregationBenchmark {
+
+    private static final OffsetDateTime MINUTE = OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+    private static final int READINGS_PER_MINUTE = 60;
+    private static final int WEEK_MINUTES = 7 * 24 * 60;
+
+    private final Weather[] readings = new Weather[READINGS_PER_MINUTE];
+    private final OffsetDateTime rangeStart = OffsetDateTime.of(2022, 7, 14, 9, 17, 42, 0, ZoneOffset.UTC);
+    private final OffsetDateTime rangeEnd = OffsetDateTime.of(2025, 2, 3, 16, 48, 5, 0, ZoneOffset.UTC);
+
+    private StationMinuteIndex index;
+    private long dayFrom;
+    private long dayTo;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < READINGS_PER_MINUTE; i++) {
+            OffsetDateTime collectedAt = MINUTE.plusSeconds(i);
+            readings[i] = new Weather((long) i, "ABC", collectedAt, collectedAt, 15.0 + i % 10, 40.0 + i % 20, (double) (i % 7));
+        }
+
+        long firstMinute = StationMinuteIndex.epochMinuteOf(MINUTE);
+        index = new StationMinuteIndex("ABC", WEEK_MINUTES, firstMinute);
+        for (int m = 0; m < WEEK_MINUTES; m++) {
+            WeatherAggregationStats stats = new WeatherAggregationStats(15.0 + m % 10, 10.0 + m % 7, 20.0 + m % 13);
+            index.append(new WeatherAggregation("ABC", MINUTE.plusMinutes(m), 6L, stats, stats, stats));
+        }
+        dayFrom = firstMinute + 3 * 24 * 60 + 17;
+        dayTo = dayFrom + 24 * 60;
+    }
+
+    @Benchmark
+    public WeatherAggregationAccumulator accumulateMinute() {
+        WeatherAggregationAccumulator accumulator = new WeatherAggregationAccumulator("ABC", MINUTE);
+        for (Weather reading : readings) {
+            accumulator.add(reading);
+        }
+        return accumulator;
+    }
+
+    @Benchmark
+    public AggregationRangePlan planMultiYearRange() {
+        return AggregationRangePlan.of(rangeStart, rangeEnd);
+    }
+
+    @Benchmark
+    public Optional<WeatherAggregationTotals> indexedDayRange() {
+        return index.aggregate(dayFrom, dayTo);
+    }
+}
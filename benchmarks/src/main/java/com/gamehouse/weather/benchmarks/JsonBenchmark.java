@@ -0,0 +1,64 @@
+package com.gamehouse.weather.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gamehouse.weather.dto.WeatherRequest;
+import com.gamehouse.weather.dto.WeatherResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization with the service's settings ({@code spring.jackson.property-naming-strategy=SNAKE_CASE},
+ * ISO-8601 dates): reading a posted {@code WeatherRequest} and writing a {@code WeatherResponse}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+    private final ObjectReader requestReader = OBJECT_MAPPER.readerFor(WeatherRequest.class);
+    private final ObjectWriter responseWriter = OBJECT_MAPPER.writerFor(WeatherResponse.class);
+
+    private final byte[] requestJson = """
+            {"station_code":"ABC","collected_at":"2025-03-01T12:00:00.433+02:00","temperature":23.5,"humidity":40.0,"wind_speed":12.0}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final WeatherResponse response = new WeatherResponse(42L, "ABC",
+            OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 433_000_000, ZoneOffset.UTC),
+            OffsetDateTime.of(2025, 3, 1, 10, 0, 1, 0, ZoneOffset.UTC), 23.5, 40.0, 12.0);
+
+    @Benchmark
+    public WeatherRequest readRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
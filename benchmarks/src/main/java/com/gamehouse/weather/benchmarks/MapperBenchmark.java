@@ -0,0 +1,52 @@
+package com.gamehouse.weather.benchmarks;
+
+import com.gamehouse.weather.dto.WeatherRequest;
+import com.gamehouse.weather.dto.WeatherResponse;
+import com.gamehouse.weather.dto.mapper.WeatherMapper;
+import com.gamehouse.weather.model.Weather;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions on the ingest path ({@code WeatherRequest} to {@code Weather}) and the read path
+ * ({@code Weather} to {@code WeatherResponse}), both normalizing the collected time to UTC.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final WeatherMapper mapper = Mappers.getMapper(WeatherMapper.class);
+
+    private final WeatherRequest request = new WeatherRequest("ABC",
+            OffsetDateTime.of(2025, 3, 1, 12, 0, 0, 0, ZoneOffset.ofHours(2)), 23.5, 40.0, 12.0);
+
+    private final Weather entity = new Weather(42L, "ABC",
+            OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC),
+            OffsetDateTime.of(2025, 3, 1, 10, 0, 1, 0, ZoneOffset.UTC), 23.5, 40.0, 12.0);
+
+    @Benchmark
+    public Weather toEntity() {
+        return mapper.toEntity(request);
+    }
+
+    @Benchmark
+    public WeatherResponse toDto() {
+        return mapper.toDto(entity);
+    }
+}
@@ -1,14 +1,28 @@
 package com.gamehouse.weather;
 
+import com.gamehouse.weather.service.WeatherImportRunner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Arrays;
+
 @EnableScheduling
 @SpringBootApplication
 public class Application {
     public static void main(String[] args) {
-        SpringApplication.run(Application.class, args);
+        SpringApplication application = new SpringApplication(Application.class);
+        boolean importMode = Arrays.stream(args)
+                .anyMatch(arg -> arg.startsWith("--" + WeatherImportRunner.FILE_PROPERTY + "="));
+        if (importMode) {
+            application.setWebApplicationType(WebApplicationType.NONE);
+        }
+
+        ConfigurableApplicationContext context = application.run(args);
+        if (importMode) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
-
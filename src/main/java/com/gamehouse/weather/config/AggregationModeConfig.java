@@ -0,0 +1,31 @@
+package com.gamehouse.weather.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * When minute aggregates are computed by the application, every pooled connection tells the database to skip the
+ * aggregation trigger on {@code weather}, so readings are not aggregated twice.
+ */
+@Configuration
+@ConditionalOnProperty(name = "weather.aggregation.mode", havingValue = "application")
+public class AggregationModeConfig {
+
+    static final String SKIP_AGGREGATION_TRIGGER_SQL = "SET weather.skip_aggregation = 'on'";
+
+    @Bean
+    public static BeanPostProcessor skipAggregationTriggerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setConnectionInitSql(SKIP_AGGREGATION_TRIGGER_SQL);
+                }
+                return bean;
+            }
+        };
+    }
+}
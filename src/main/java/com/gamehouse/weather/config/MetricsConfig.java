@@ -0,0 +1,100 @@
+package com.gamehouse.weather.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics that Spring Boot doesn't publish on its own.
+ * <p>
+ * JSON bodies are read and written by a converter that records {@code weather.json} timers tagged
+ * {@code direction=read|write} and {@code type}, so serialization time can be told apart from the {@code weather.db}
+ * time of the same request. The {@code station} tag some meters carry is stripped unless
+ * {@code weather.metrics.station.tag.enabled=true}, and even then only the first
+ * {@code weather.metrics.station.tag.max.stations} station codes get meters of their own; later stations are counted
+ * under {@code station=other}, so totals across stations stay complete.
+ */
+@Configuration
+public class MetricsConfig {
+
+    static final String STATION_TAG = "station";
+    static final String OTHER_STATION = "other";
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+
+            @Override
+            public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+                    throws IOException, HttpMessageNotReadableException {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                try {
+                    return super.read(type, contextClass, inputMessage);
+                } finally {
+                    sample.stop(jsonTimer(meterRegistry, "read", type));
+                }
+            }
+
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    sample.stop(jsonTimer(meterRegistry, "write", object.getClass()));
+                }
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "weather.metrics.station.tag.enabled", havingValue = "false", matchIfMissing = true)
+    public MeterFilter ignoreStationTag() {
+        return MeterFilter.ignoreTags(STATION_TAG);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "weather.metrics.station.tag.enabled", havingValue = "true")
+    public MeterFilter limitStationTag(@Value("${weather.metrics.station.tag.max.stations:1000}") int maxStations) {
+        Set<String> stations = ConcurrentHashMap.newKeySet();
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                String station = id.getTag(STATION_TAG);
+                if (station == null || !id.getName().startsWith("weather")
+                        || stations.contains(station) || (stations.size() < maxStations && stations.add(station))) {
+                    return id;
+                }
+                return id.withTag(Tag.of(STATION_TAG, OTHER_STATION));
+            }
+        };
+    }
+
+    private static Timer jsonTimer(MeterRegistry meterRegistry, String direction, Type type) {
+        return Timer.builder("weather.json")
+                .description("Time spent reading or writing a JSON body")
+                .tag("direction", direction)
+                .tag("type", ResolvableType.forType(type).toClass().getSimpleName())
+                .register(meterRegistry);
+    }
+}
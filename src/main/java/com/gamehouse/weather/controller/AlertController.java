@@ -0,0 +1,26 @@
+package com.gamehouse.weather.controller;
+
+import com.gamehouse.weather.dto.AlertResponse;
+import com.gamehouse.weather.dto.mapper.AlertMapper;
+import com.gamehouse.weather.service.RecentAlertsSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private final RecentAlertsSink recentAlerts;
+    private final AlertMapper alertMapper;
+
+    @GetMapping
+    public List<AlertResponse> getRecent(@RequestParam(value = "limit", defaultValue = "100") int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1.");
+        }
+        return alertMapper.toDtos(recentAlerts.latest(limit));
+    }
+}
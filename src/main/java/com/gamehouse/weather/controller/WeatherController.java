@@ -1,23 +1,40 @@
 package com.gamehouse.weather.controller;
 
+import com.gamehouse.weather.dto.ReadingsExport;
+import com.gamehouse.weather.dto.ReadingsFormat;
 import com.gamehouse.weather.dto.WeatherAggregationResponse;
+import com.gamehouse.weather.dto.WeatherBatchResponse;
+import com.gamehouse.weather.dto.WeatherImportResponse;
+import com.gamehouse.weather.dto.WeatherRangeRequest;
 import com.gamehouse.weather.dto.WeatherRequest;
 import com.gamehouse.weather.dto.WeatherResponse;
+import com.gamehouse.weather.dto.WeatherSeriesResponse;
+import com.gamehouse.weather.service.WeatherExportService;
+import com.gamehouse.weather.service.WeatherImportService;
 import com.gamehouse.weather.service.WeatherService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/weather")
 @RequiredArgsConstructor
 public class WeatherController {
 
+    static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
     private final WeatherService service;
+    private final WeatherExportService exportService;
+    private final WeatherImportService importService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -25,6 +42,18 @@ public class WeatherController {
         return service.save(request);
     }
 
+    @PostMapping("/batch")
+    public WeatherBatchResponse saveBatch(@RequestBody List<WeatherRequest> requests) {
+        return service.saveBatch(requests);
+    }
+
+    @PostMapping("/import")
+    public WeatherImportResponse importReadings(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            InputStream body) {
+        return importService.importReadings(body, ReadingsFormat.from(format));
+    }
+
     @GetMapping("/{stationCode}/last")
     public WeatherResponse getLastByStation(@PathVariable String stationCode) {
         return service.getLastByStation(stationCode);
@@ -37,4 +66,44 @@ public class WeatherController {
             @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate) {
         return service.getAggregationByStationAndDateRange(stationCode, startDate, endDate);
     }
+
+    @GetMapping("/{stationCode}/series")
+    public WeatherSeriesResponse getSeriesByStationAndDateRange(
+            @PathVariable String stationCode,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam("bucket") String bucket) {
+        return service.getSeriesByStationAndDateRange(stationCode, startDate, endDate, bucket);
+    }
+
+    @GetMapping("/range")
+    public Map<String, WeatherAggregationResponse> getAggregationsByStationsAndDateRange(
+            @RequestParam("stations") List<String> stationCodes,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate) {
+        return service.getAggregationsByStationsAndDateRange(stationCodes, startDate, endDate);
+    }
+
+    @PostMapping("/range")
+    public Map<String, WeatherAggregationResponse> getAggregationsByStationsAndDateRange(
+            @RequestBody @Valid WeatherRangeRequest request) {
+        return service.getAggregationsByStationsAndDateRange(request.getStations(), request.getStart(), request.getEnd());
+    }
+
+    @GetMapping("/{stationCode}/readings")
+    public ResponseEntity<StreamingResponseBody> exportReadings(
+            @PathVariable String stationCode,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "limit", required = false) Long limit,
+            @RequestParam(value = "page_token", required = false) String pageToken) {
+        ReadingsExport export = exportService.export(stationCode, startDate, endDate,
+                ReadingsFormat.from(format), limit, pageToken);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(export.getFormat().getMediaType());
+        if (export.getNextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, export.getNextPageToken());
+        }
+        return response.body(export.getBody());
+    }
 }
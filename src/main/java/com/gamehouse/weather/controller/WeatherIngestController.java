@@ -0,0 +1,25 @@
+package com.gamehouse.weather.controller;
+
+import com.gamehouse.weather.dto.WeatherIngestResponse;
+import com.gamehouse.weather.dto.WeatherRequest;
+import com.gamehouse.weather.service.WeatherIngestQueue;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/weather")
+@ConditionalOnProperty(name = "weather.ingest.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class WeatherIngestController {
+
+    private final WeatherIngestQueue ingestQueue;
+
+    @PostMapping("/async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public WeatherIngestResponse enqueue(@RequestBody @Valid WeatherRequest request) {
+        return new WeatherIngestResponse(ingestQueue.submit(request));
+    }
+}
@@ -0,0 +1,28 @@
+package com.gamehouse.weather.dto;
+
+import com.gamehouse.weather.model.Alert;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+
+@Value
+public class AlertResponse {
+    @Schema(description = "Rule that raised the alert", example = "TEMPERATURE_THRESHOLD")
+    Alert.Type type;
+
+    @Schema(description = "Three-letter station code", example = "ABC")
+    String stationCode;
+
+    @Schema(description = "Time at which the alert was raised", example = "2025-03-01T20:16:10Z")
+    OffsetDateTime raisedAt;
+
+    @Schema(description = "Value that crossed the threshold, for threshold alerts", example = "46.2")
+    Double value;
+
+    @Schema(description = "Threshold that was crossed, for threshold alerts", example = "45.0")
+    Double threshold;
+
+    @Schema(description = "Human-readable description", example = "Station ABC had a 30-second average of 46.2ºC")
+    String message;
+}
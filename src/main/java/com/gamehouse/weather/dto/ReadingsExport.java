@@ -0,0 +1,11 @@
+package com.gamehouse.weather.dto;
+
+import lombok.Value;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Value
+public class ReadingsExport {
+    ReadingsFormat format;
+    String nextPageToken;
+    StreamingResponseBody body;
+}
@@ -0,0 +1,28 @@
+package com.gamehouse.weather.dto;
+
+import org.springframework.http.MediaType;
+
+public enum ReadingsFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    ReadingsFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ReadingsFormat from(String value) {
+        for (ReadingsFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + value + " (expected ndjson or csv)");
+    }
+}
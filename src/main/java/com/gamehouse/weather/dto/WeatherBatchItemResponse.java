@@ -0,0 +1,35 @@
+package com.gamehouse.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class WeatherBatchItemResponse {
+
+    @Schema(description = "Position of the reading in the request array", example = "0")
+    int index;
+
+    @Schema(description = "Outcome of the reading")
+    Status status;
+
+    @Schema(description = "Persisted reading, present when the status is CREATED")
+    WeatherResponse weather;
+
+    @Schema(description = "Validation errors, present when the status is REJECTED")
+    List<String> errors;
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    public static WeatherBatchItemResponse created(int index, WeatherResponse weather) {
+        return new WeatherBatchItemResponse(index, Status.CREATED, weather, List.of());
+    }
+
+    public static WeatherBatchItemResponse rejected(int index, List<String> errors) {
+        return new WeatherBatchItemResponse(index, Status.REJECTED, null, errors);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gamehouse.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class WeatherBatchResponse {
+
+    @Schema(description = "Number of readings persisted", example = "2")
+    int accepted;
+
+    @Schema(description = "Number of readings rejected by validation", example = "1")
+    int rejected;
+
+    @Schema(description = "Per-reading results, in request order")
+    List<WeatherBatchItemResponse> results;
+}
@@ -0,0 +1,20 @@
+package com.gamehouse.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class WeatherImportResponse {
+
+    @Schema(description = "Number of readings imported", example = "125000")
+    long imported;
+
+    @Schema(description = "Number of records rejected by parsing or validation", example = "2")
+    long rejected;
+
+    @Schema(description = "Reasons for the first rejected records, with their line numbers",
+            example = "[\"Line 18: Humidity must be at most 100%\"]")
+    List<String> errors;
+}
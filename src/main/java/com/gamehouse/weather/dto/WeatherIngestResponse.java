@@ -0,0 +1,11 @@
+package com.gamehouse.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+@Value
+public class WeatherIngestResponse {
+
+    @Schema(description = "Id the queued reading is stored under once it commits", example = "42")
+    long sequenceId;
+}
@@ -0,0 +1,29 @@
+package com.gamehouse.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeatherRangeRequest {
+
+    @NotEmpty(message = "At least one station code is required.")
+    @Schema(description = "Station codes to aggregate", example = "[\"ABC\", \"DEF\"]", required = true)
+    private List<String> stations;
+
+    @NotNull(message = "Start is required")
+    @Schema(description = "Start of the range, with timezone offset", example = "2025-03-01T00:00:00Z", required = true)
+    private OffsetDateTime start;
+
+    @NotNull(message = "End is required")
+    @Schema(description = "End of the range, with timezone offset", example = "2025-03-02T00:00:00Z", required = true)
+    private OffsetDateTime end;
+}
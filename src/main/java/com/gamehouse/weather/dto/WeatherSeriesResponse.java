@@ -0,0 +1,36 @@
+package com.gamehouse.weather.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+/**
+ * Columnar series: every array is indexed by bucket, so a chart reads the i-th point from the i-th element of each.
+ */
+@Value
+public class WeatherSeriesResponse {
+
+    @Schema(description = "Bucket width", example = "1h")
+    String bucket;
+
+    @Schema(description = "Start of each bucket, in epoch milliseconds (UTC)", example = "[1740787200000, 1740790800000]")
+    long[] timestamps;
+
+    @Schema(description = "Number of readings in each bucket", example = "[3600, 3598]")
+    long[] recordCounts;
+
+    @Schema(description = "Temperature value in Celsius")
+    WeatherSeriesStatsDto temperature;
+
+    @Schema(description = "Humidity percentage")
+    WeatherSeriesStatsDto humidity;
+
+    @Schema(description = "Wind speed in kilometers per hour")
+    WeatherSeriesStatsDto windSpeed;
+
+    @Value
+    public static class WeatherSeriesStatsDto {
+        double[] avg;
+        double[] min;
+        double[] max;
+    }
+}
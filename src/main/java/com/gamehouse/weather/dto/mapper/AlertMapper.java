@@ -0,0 +1,15 @@
+package com.gamehouse.weather.dto.mapper;
+
+import com.gamehouse.weather.dto.AlertResponse;
+import com.gamehouse.weather.model.Alert;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface AlertMapper {
+
+    AlertResponse toDto(Alert alert);
+
+    List<AlertResponse> toDtos(List<Alert> alerts);
+}
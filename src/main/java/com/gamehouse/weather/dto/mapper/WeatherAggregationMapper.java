@@ -1,11 +1,35 @@
 package com.gamehouse.weather.dto.mapper;
 
 import com.gamehouse.weather.dto.WeatherAggregationResponse;
+import com.gamehouse.weather.dto.WeatherAggregationResponse.WeatherAggregationStatsDto;
+import com.gamehouse.weather.dto.WeatherSeriesResponse;
+import com.gamehouse.weather.dto.WeatherSeriesResponse.WeatherSeriesStatsDto;
 import com.gamehouse.weather.model.WeatherAggregation;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import com.gamehouse.weather.model.WeatherSeries;
+import com.gamehouse.weather.model.WeatherSeries.Metric;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
 public interface WeatherAggregationMapper {
 
     WeatherAggregationResponse toDto(WeatherAggregation entity);
+
+    default WeatherAggregationResponse toDto(WeatherAggregationTotals totals) {
+        return new WeatherAggregationResponse(
+                new WeatherAggregationStatsDto(totals.getTemperatureAvg(), totals.getTemperatureMin(), totals.getTemperatureMax()),
+                new WeatherAggregationStatsDto(totals.getHumidityAvg(), totals.getHumidityMin(), totals.getHumidityMax()),
+                new WeatherAggregationStatsDto(totals.getWindSpeedAvg(), totals.getWindSpeedMin(), totals.getWindSpeedMax()));
+    }
+
+    default WeatherSeriesResponse toDto(WeatherSeries series, String bucket) {
+        return new WeatherSeriesResponse(bucket, series.bucketStarts(), series.totalRecords(),
+                toStatsDto(series, Metric.TEMPERATURE),
+                toStatsDto(series, Metric.HUMIDITY),
+                toStatsDto(series, Metric.WIND_SPEED));
+    }
+
+    private static WeatherSeriesStatsDto toStatsDto(WeatherSeries series, Metric metric) {
+        return new WeatherSeriesStatsDto(series.avg(metric), series.min(metric), series.max(metric));
+    }
 }
@@ -0,0 +1,14 @@
+package com.gamehouse.weather.event;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Published by the bulk import with the stations it wrote readings for. Imports are too large to carry the readings
+ * themselves, so listeners that keep per-station state should drop or reload it.
+ */
+@Value
+public class WeatherImportedEvent {
+    Set<String> stationCodes;
+}
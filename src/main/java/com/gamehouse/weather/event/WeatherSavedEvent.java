@@ -0,0 +1,15 @@
+package com.gamehouse.weather.event;
+
+import com.gamehouse.weather.model.Weather;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by the ingest path with the readings persisted in the current transaction.
+ * Listeners that keep in-memory state should use {@code @TransactionalEventListener} so they only see committed data.
+ */
+@Value
+public class WeatherSavedEvent {
+    List<Weather> readings;
+}
@@ -0,0 +1,14 @@
+package com.gamehouse.weather.exception;
+
+import lombok.Getter;
+
+@Getter
+public class IngestQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IngestQueueFullException(long retryAfterSeconds) {
+        super("Ingest queue is full, retry later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,138 @@
+package com.gamehouse.weather.model;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits an inclusive range of minutes into the fewest rollup buckets: the coarsest level that fits takes the
+ * middle, and each finer level covers what is left at the unaligned left and right edges. A level therefore holds at
+ * most two intervals, so any range reads at most ~120 minutes, ~46 hours, ~60 days and its whole months.
+ * <p>
+ * Bounds are UTC wall-clock values, like the {@code minute_window} and {@code bucket_start} columns, and intervals
+ * are half-open.
+ */
+public final class AggregationRangePlan {
+
+    public enum Level {
+        MONTH, DAY, HOUR, MINUTE
+    }
+
+    public record Interval(LocalDateTime from, LocalDateTime to) {
+
+        private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+        public static final Interval EMPTY = new Interval(EPOCH, EPOCH);
+    }
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Map<Level, List<Interval>> intervals = new EnumMap<>(Level.class);
+
+    private AggregationRangePlan(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+        for (Level level : Level.values()) {
+            intervals.put(level, new ArrayList<>(2));
+        }
+    }
+
+    /**
+     * Plans the minutes {@code m} with {@code start <= m <= end}, the same minutes a {@code BETWEEN} over
+     * {@code minute_window} selects.
+     */
+    public static AggregationRangePlan of(OffsetDateTime start, OffsetDateTime end) {
+        LocalDateTime from = ceil(start.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime(), Level.MINUTE);
+        LocalDateTime to = floor(end.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime(), Level.MINUTE)
+                .plusMinutes(1);
+
+        AggregationRangePlan plan = new AggregationRangePlan(from, to);
+        if (!from.isBefore(to)) {
+            return plan;
+        }
+
+        Level[] levels = Level.values();
+        int top = 0;
+        while (levels[top] != Level.MINUTE && !ceil(from, levels[top]).isBefore(floor(to, levels[top]))) {
+            top++;
+        }
+        LocalDateTime left = ceil(from, levels[top]);
+        LocalDateTime right = floor(to, levels[top]);
+        plan.add(levels[top], left, right);
+
+        for (int i = top + 1; i < levels.length; i++) {
+            LocalDateTime finerLeft = ceil(from, levels[i]);
+            LocalDateTime finerRight = floor(to, levels[i]);
+            plan.add(levels[i], finerLeft, left);
+            plan.add(levels[i], right, finerRight);
+            left = finerLeft;
+            right = finerRight;
+        }
+        return plan;
+    }
+
+    /**
+     * @return the first planned minute
+     */
+    public LocalDateTime from() {
+        return from;
+    }
+
+    /**
+     * @return the end of the last planned minute, exclusive
+     */
+    public LocalDateTime to() {
+        return to;
+    }
+
+    public List<Interval> intervals(Level level) {
+        return Collections.unmodifiableList(intervals.get(level));
+    }
+
+    /**
+     * @return the interval at {@code index} of the level, or {@link Interval#EMPTY} when the level has fewer intervals
+     */
+    public Interval intervalOrEmpty(Level level, int index) {
+        List<Interval> levelIntervals = intervals.get(level);
+        return index < levelIntervals.size() ? levelIntervals.get(index) : Interval.EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return intervals.values().stream().allMatch(List::isEmpty);
+    }
+
+    private void add(Level level, LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) {
+            intervals.get(level).add(new Interval(from, to));
+        }
+    }
+
+    static LocalDateTime floor(LocalDateTime time, Level level) {
+        return switch (level) {
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.firstDayOfMonth());
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case MINUTE -> time.truncatedTo(ChronoUnit.MINUTES);
+        };
+    }
+
+    static LocalDateTime ceil(LocalDateTime time, Level level) {
+        LocalDateTime floor = floor(time, level);
+        if (floor.equals(time)) {
+            return floor;
+        }
+        return switch (level) {
+            case MONTH -> floor.plusMonths(1);
+            case DAY -> floor.plusDays(1);
+            case HOUR -> floor.plusHours(1);
+            case MINUTE -> floor.plusMinutes(1);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.gamehouse.weather.model;
+
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An alert raised for a station. {@code value} and {@code threshold} are set for threshold alerts only.
+ */
+@Value
+public class Alert {
+
+    public enum Type {
+        MISSING_DATA,
+        TEMPERATURE_THRESHOLD,
+        HUMIDITY_THRESHOLD,
+        WIND_SPEED_THRESHOLD
+    }
+
+    Type type;
+    String stationCode;
+    OffsetDateTime raisedAt;
+    Double value;
+    Double threshold;
+    String message;
+}
@@ -0,0 +1,65 @@
+package com.gamehouse.weather.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Alert threshold scoped to a station, to a group of stations, or to every station when neither is set.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertRule {
+
+    /**
+     * Metrics a rule can watch. The first three are compared with their window averages; {@code MISSING_DATA} with
+     * the seconds since the station last reported.
+     */
+    public enum Metric {
+        TEMPERATURE,
+        HUMIDITY,
+        WIND_SPEED,
+        MISSING_DATA
+    }
+
+    public enum Condition {
+        ABOVE,
+        BELOW
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 3)
+    private String stationCode;
+
+    @Column(length = 64)
+    private String groupName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Metric metric;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Condition condition;
+
+    @Column(nullable = false)
+    private Double threshold;
+
+    public static AlertRule global(Metric metric, Condition condition, double threshold) {
+        return new AlertRule(null, null, null, metric, condition, threshold);
+    }
+}
@@ -0,0 +1,120 @@
+package com.gamehouse.weather.model;
+
+import com.gamehouse.weather.model.AlertRule.Condition;
+import com.gamehouse.weather.model.AlertRule.Metric;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable lookup of the alert thresholds that apply to each station, compiled from the {@link AlertRule}s.
+ * <p>
+ * Each station maps to one flat array holding a threshold per metric and condition, {@code NaN} where no rule applies,
+ * so evaluating a station is a map lookup plus a few array reads. Stations without rules of their own or of their
+ * group share the array of the global rules, and the members of a group share the group's array.
+ */
+public final class AlertRuleSet {
+
+    private static final int CONDITIONS = Condition.values().length;
+    private static final int SLOTS = Metric.values().length * CONDITIONS;
+
+    private final double[] defaults;
+    private final Map<String, double[]> byStation;
+    private final int size;
+
+    private AlertRuleSet(double[] defaults, Map<String, double[]> byStation, int size) {
+        this.defaults = defaults;
+        this.byStation = byStation;
+        this.size = size;
+    }
+
+    /**
+     * Compiles the rules, the most specific winning for each metric and condition: station rules over group rules,
+     * group rules over global ones, and global ones over the {@code fallbacks}.
+     *
+     * @param fallbacks      global rules applying unless a rule for the same metric and condition replaces them
+     * @param rules          the configured rules
+     * @param groupByStation the group of each grouped station
+     */
+    public static AlertRuleSet compile(Collection<AlertRule> fallbacks, Collection<AlertRule> rules,
+                                       Map<String, String> groupByStation) {
+        double[] defaults = emptyThresholds();
+        fallbacks.forEach(rule -> put(defaults, rule));
+        rules.stream()
+                .filter(rule -> rule.getStationCode() == null && rule.getGroupName() == null)
+                .forEach(rule -> put(defaults, rule));
+
+        Map<String, double[]> byGroup = new HashMap<>();
+        rules.stream()
+                .filter(rule -> rule.getGroupName() != null)
+                .forEach(rule -> put(byGroup.computeIfAbsent(rule.getGroupName(), group -> defaults.clone()), rule));
+
+        Map<String, double[]> byStation = new HashMap<>();
+        groupByStation.forEach((stationCode, group) -> {
+            double[] thresholds = byGroup.get(group);
+            if (thresholds != null) {
+                byStation.put(stationCode, thresholds);
+            }
+        });
+        // Copied from the group's array, which the other members keep sharing.
+        Map<String, double[]> own = new HashMap<>();
+        rules.stream()
+                .filter(rule -> rule.getStationCode() != null)
+                .forEach(rule -> put(own.computeIfAbsent(rule.getStationCode(),
+                        code -> byStation.getOrDefault(code, defaults).clone()), rule));
+        byStation.putAll(own);
+        return new AlertRuleSet(defaults, Map.copyOf(byStation), fallbacks.size() + rules.size());
+    }
+
+    public static AlertRuleSet of(AlertRule... rules) {
+        return compile(List.of(), List.of(rules), Map.of());
+    }
+
+    /**
+     * Thresholds of the station indexed by {@link #slot}. The array is shared and must not be modified.
+     */
+    public double[] thresholdsOf(String stationCode) {
+        return byStation.getOrDefault(stationCode, defaults);
+    }
+
+    /**
+     * Threshold of a rule for the station, or {@code NaN} when none applies.
+     */
+    public double threshold(String stationCode, Metric metric, Condition condition) {
+        return thresholdsOf(stationCode)[slot(metric, condition)];
+    }
+
+    /**
+     * Time the station may stay silent before it is alerted, or {@link Long#MAX_VALUE} when it has no missing data
+     * rule.
+     */
+    public long missingDataMillis(String stationCode) {
+        double seconds = threshold(stationCode, Metric.MISSING_DATA, Condition.ABOVE);
+        return Double.isNaN(seconds) ? Long.MAX_VALUE : (long) (seconds * TimeUnit.SECONDS.toMillis(1));
+    }
+
+    /**
+     * Number of rules compiled, fallbacks included.
+     */
+    public int size() {
+        return size;
+    }
+
+    public static int slot(Metric metric, Condition condition) {
+        return metric.ordinal() * CONDITIONS + condition.ordinal();
+    }
+
+    private static double[] emptyThresholds() {
+        double[] thresholds = new double[SLOTS];
+        Arrays.fill(thresholds, Double.NaN);
+        return thresholds;
+    }
+
+    private static void put(double[] thresholds, AlertRule rule) {
+        thresholds[slot(rule.getMetric(), rule.getCondition())] = rule.getThreshold();
+    }
+}
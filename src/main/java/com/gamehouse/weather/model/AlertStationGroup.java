@@ -0,0 +1,27 @@
+package com.gamehouse.weather.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Group a station belongs to for alert rules.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertStationGroup {
+
+    @Id
+    @Column(nullable = false, length = 3)
+    private String stationCode;
+
+    @Column(nullable = false, length = 64)
+    private String groupName;
+}
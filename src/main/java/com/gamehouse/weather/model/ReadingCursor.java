@@ -0,0 +1,36 @@
+package com.gamehouse.weather.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a station's readings ordered by {@code (collected_at, id)}. Exported pages resume strictly after
+ * the cursor; clients see it as an opaque, URL-safe page token.
+ */
+public record ReadingCursor(OffsetDateTime collectedAt, long id) {
+
+    private static final String INVALID_TOKEN_MESSAGE = "Invalid page token";
+
+    public String encode() {
+        String plain = collectedAt.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReadingCursor decode(String token) {
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = plain.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException(INVALID_TOKEN_MESSAGE);
+            }
+            return new ReadingCursor(Instant.parse(plain.substring(0, separator)).atOffset(ZoneOffset.UTC),
+                    Long.parseLong(plain.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_TOKEN_MESSAGE, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.gamehouse.weather.model;
+
+import com.gamehouse.weather.model.AggregationRangePlan.Level;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Width of the buckets of a series, written as a count and a unit ({@code 5m}, {@code 1h}, {@code 1d}). Buckets are
+ * aligned to the UTC epoch and read from the coarsest aggregate level whose buckets fit evenly: daily widths from
+ * {@code weather_aggregation_day}, hourly widths from {@code weather_aggregation_hour}, anything else from the minutes.
+ */
+public record SeriesBucket(String label, Duration width, Level source) {
+
+    private static final Pattern FORMAT = Pattern.compile("([1-9][0-9]{0,3})([mhd])");
+
+    public static SeriesBucket parse(String value) {
+        Matcher matcher = value == null ? null : FORMAT.matcher(value.trim());
+        if (matcher == null || !matcher.matches()) {
+            throw new IllegalArgumentException("Unsupported bucket: " + value + " (expected e.g. 5m, 1h or 1d)");
+        }
+        int count = Integer.parseInt(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "d" -> new SeriesBucket(matcher.group(), Duration.ofDays(count), Level.DAY);
+            case "h" -> new SeriesBucket(matcher.group(), Duration.ofHours(count),
+                    count % 24 == 0 ? Level.DAY : Level.HOUR);
+            default -> new SeriesBucket(matcher.group(), Duration.ofMinutes(count),
+                    count % (24 * 60) == 0 ? Level.DAY : count % 60 == 0 ? Level.HOUR : Level.MINUTE);
+        };
+    }
+
+    /**
+     * @return the start of the bucket holding {@code instant}
+     */
+    public Instant floor(Instant instant) {
+        long seconds = width.getSeconds();
+        return Instant.ofEpochSecond(Math.floorDiv(instant.getEpochSecond(), seconds) * seconds);
+    }
+}
@@ -0,0 +1,35 @@
+package com.gamehouse.weather.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Registry entry of a station, maintained by the database on every insert into {@code weather}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Station {
+
+    @Id
+    @Column(nullable = false, length = 3)
+    private String code;
+
+    @Column(nullable = false)
+    private OffsetDateTime firstReceivedAt;
+
+    @Column(nullable = false)
+    private OffsetDateTime lastReceivedAt;
+
+    @Column(nullable = false)
+    private OffsetDateTime lastCollectedAt;
+}
@@ -0,0 +1,42 @@
+package com.gamehouse.weather.model;
+
+/**
+ * Dense encoding of three-letter station codes ({@code AAA}..{@code ZZZ}) into {@code 0..SLOTS-1}, for lookups in
+ * fixed-size arrays instead of hash maps.
+ */
+public final class StationCodes {
+
+    public static final int SLOTS = 26 * 26 * 26;
+
+    private StationCodes() {
+    }
+
+    /**
+     * @return the slot of the station code, or {@code -1} if it isn't exactly three uppercase letters
+     */
+    public static int indexOf(String stationCode) {
+        if (stationCode == null || stationCode.length() != 3) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = stationCode.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            index = index * 26 + (c - 'A');
+        }
+        return index;
+    }
+
+    public static String codeOf(int index) {
+        if (index < 0 || index >= SLOTS) {
+            throw new IllegalArgumentException("Station index out of range: " + index);
+        }
+        return new String(new char[]{
+                (char) ('A' + index / (26 * 26)),
+                (char) ('A' + index / 26 % 26),
+                (char) ('A' + index % 26)
+        });
+    }
+}
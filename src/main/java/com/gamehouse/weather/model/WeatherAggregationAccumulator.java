@@ -0,0 +1,87 @@
+package com.gamehouse.weather.model;
+
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Running count, sum, min and max of the readings of one station in one minute window.
+ * Not thread-safe; callers are expected to confine an instance to a single thread or guard it externally.
+ */
+@Getter
+public class WeatherAggregationAccumulator {
+
+    private final String stationCode;
+    private final OffsetDateTime minuteWindow;
+
+    private long totalRecords;
+
+    private double temperatureSum;
+    private double temperatureMin = Double.POSITIVE_INFINITY;
+    private double temperatureMax = Double.NEGATIVE_INFINITY;
+
+    private double humiditySum;
+    private double humidityMin = Double.POSITIVE_INFINITY;
+    private double humidityMax = Double.NEGATIVE_INFINITY;
+
+    private double windSpeedSum;
+    private double windSpeedMin = Double.POSITIVE_INFINITY;
+    private double windSpeedMax = Double.NEGATIVE_INFINITY;
+
+    public WeatherAggregationAccumulator(String stationCode, OffsetDateTime minuteWindow) {
+        this.stationCode = stationCode;
+        this.minuteWindow = minuteWindow;
+    }
+
+    public static OffsetDateTime minuteWindowOf(OffsetDateTime collectedAt) {
+        return collectedAt.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    public WeatherAggregationAccumulator add(Weather weather) {
+        totalRecords++;
+
+        temperatureSum += weather.getTemperature();
+        temperatureMin = Math.min(temperatureMin, weather.getTemperature());
+        temperatureMax = Math.max(temperatureMax, weather.getTemperature());
+
+        humiditySum += weather.getHumidity();
+        humidityMin = Math.min(humidityMin, weather.getHumidity());
+        humidityMax = Math.max(humidityMax, weather.getHumidity());
+
+        windSpeedSum += weather.getWindSpeed();
+        windSpeedMin = Math.min(windSpeedMin, weather.getWindSpeed());
+        windSpeedMax = Math.max(windSpeedMax, weather.getWindSpeed());
+        return this;
+    }
+
+    public WeatherAggregationAccumulator merge(WeatherAggregationAccumulator other) {
+        totalRecords += other.totalRecords;
+
+        temperatureSum += other.temperatureSum;
+        temperatureMin = Math.min(temperatureMin, other.temperatureMin);
+        temperatureMax = Math.max(temperatureMax, other.temperatureMax);
+
+        humiditySum += other.humiditySum;
+        humidityMin = Math.min(humidityMin, other.humidityMin);
+        humidityMax = Math.max(humidityMax, other.humidityMax);
+
+        windSpeedSum += other.windSpeedSum;
+        windSpeedMin = Math.min(windSpeedMin, other.windSpeedMin);
+        windSpeedMax = Math.max(windSpeedMax, other.windSpeedMax);
+        return this;
+    }
+
+    public double getTemperatureAvg() {
+        return temperatureSum / totalRecords;
+    }
+
+    public double getHumidityAvg() {
+        return humiditySum / totalRecords;
+    }
+
+    public double getWindSpeedAvg() {
+        return windSpeedSum / totalRecords;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gamehouse.weather.model;
+
+/**
+ * Flat projection of a station's minute aggregates collapsed over a range. Averages are weighted by each minute's
+ * record count, so they match the average of the underlying readings.
+ */
+public interface WeatherAggregationTotals {
+
+    String getStationCode();
+
+    Long getTotalRecords();
+
+    Double getTemperatureAvg();
+
+    Double getTemperatureMin();
+
+    Double getTemperatureMax();
+
+    Double getHumidityAvg();
+
+    Double getHumidityMin();
+
+    Double getHumidityMax();
+
+    Double getWindSpeedAvg();
+
+    Double getWindSpeedMin();
+
+    Double getWindSpeedMax();
+}
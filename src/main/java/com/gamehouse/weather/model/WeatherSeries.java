@@ -0,0 +1,83 @@
+package com.gamehouse.weather.model;
+
+import java.util.Arrays;
+
+/**
+ * Per-bucket aggregates of one station in columnar form: parallel arrays indexed by bucket, in bucket order. Buckets
+ * without data are absent rather than filled with gaps.
+ */
+public final class WeatherSeries {
+
+    public enum Metric {
+        TEMPERATURE, HUMIDITY, WIND_SPEED
+    }
+
+    private int size;
+    private long[] bucketStarts;
+    private long[] totalRecords;
+    private final double[][] values;
+
+    public WeatherSeries(int capacity) {
+        bucketStarts = new long[capacity];
+        totalRecords = new long[capacity];
+        values = new double[Metric.values().length * 3][capacity];
+    }
+
+    /**
+     * Appends a bucket; buckets must be added in ascending order of their start.
+     *
+     * @param bucketStart start of the bucket, in epoch milliseconds
+     */
+    public void add(long bucketStart, long records, double temperatureAvg, double temperatureMin, double temperatureMax,
+                    double humidityAvg, double humidityMin, double humidityMax,
+                    double windSpeedAvg, double windSpeedMin, double windSpeedMax) {
+        if (size == bucketStarts.length) {
+            grow();
+        }
+        bucketStarts[size] = bucketStart;
+        totalRecords[size] = records;
+        set(Metric.TEMPERATURE, temperatureAvg, temperatureMin, temperatureMax);
+        set(Metric.HUMIDITY, humidityAvg, humidityMin, humidityMax);
+        set(Metric.WIND_SPEED, windSpeedAvg, windSpeedMin, windSpeedMax);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] bucketStarts() {
+        return Arrays.copyOf(bucketStarts, size);
+    }
+
+    public long[] totalRecords() {
+        return Arrays.copyOf(totalRecords, size);
+    }
+
+    public double[] avg(Metric metric) {
+        return Arrays.copyOf(values[metric.ordinal() * 3], size);
+    }
+
+    public double[] min(Metric metric) {
+        return Arrays.copyOf(values[metric.ordinal() * 3 + 1], size);
+    }
+
+    public double[] max(Metric metric) {
+        return Arrays.copyOf(values[metric.ordinal() * 3 + 2], size);
+    }
+
+    private void set(Metric metric, double avg, double min, double max) {
+        values[metric.ordinal() * 3][size] = avg;
+        values[metric.ordinal() * 3 + 1][size] = min;
+        values[metric.ordinal() * 3 + 2][size] = max;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, bucketStarts.length * 2);
+        bucketStarts = Arrays.copyOf(bucketStarts, capacity);
+        totalRecords = Arrays.copyOf(totalRecords, capacity);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Arrays.copyOf(values[i], capacity);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.model.AlertRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AlertRuleRepository extends JpaRepository<AlertRule, Long> {
+}
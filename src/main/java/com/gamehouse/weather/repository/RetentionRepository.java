@@ -0,0 +1,63 @@
+package com.gamehouse.weather.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Bounded deletes of expired rows. Every call removes at most {@code limit} rows in its own short statement, so
+ * pruning never holds locks for long; callers repeat until fewer than {@code limit} rows are deleted.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RetentionRepository {
+
+    /**
+     * Aggregate tables and the column holding their bucket start.
+     */
+    public enum AggregateTable {
+        MINUTE("weather_aggregation", "minute_window"),
+        HOUR("weather_aggregation_hour", "bucket_start"),
+        DAY("weather_aggregation_day", "bucket_start"),
+        MONTH("weather_aggregation_month", "bucket_start");
+
+        private final String deleteChunkSql;
+
+        AggregateTable(String table, String bucketColumn) {
+            this.deleteChunkSql = "DELETE FROM " + table + " WHERE ctid = ANY(ARRAY(" +
+                    "SELECT ctid FROM " + table + " WHERE station_code = ? AND " + bucketColumn + " < ? LIMIT ?))";
+        }
+    }
+
+    private static final String FIND_OLDEST_RAW_BEFORE_SQL =
+            "SELECT min(collected_at) FROM weather WHERE collected_at < ?";
+
+    private static final String DELETE_RAW_CHUNK_SQL =
+            "DELETE FROM weather WHERE (id, collected_at) IN (" +
+                    "SELECT id, collected_at FROM weather WHERE collected_at < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the oldest collection time before {@code cutoff}; pruning limits the scan to partitions of older days
+     */
+    public Optional<OffsetDateTime> findOldestRawBefore(OffsetDateTime cutoff) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(FIND_OLDEST_RAW_BEFORE_SQL, OffsetDateTime.class, cutoff));
+    }
+
+    public int deleteRawChunkBefore(OffsetDateTime cutoff, int limit) {
+        return jdbcTemplate.update(DELETE_RAW_CHUNK_SQL, cutoff, limit);
+    }
+
+    /**
+     * Deletes one chunk of a station's buckets older than {@code cutoff}, a UTC wall-clock value like the bucket
+     * columns. Going station by station keeps each chunk on the {@code (station_code, bucket)} primary key.
+     */
+    public int deleteAggregateChunkBefore(AggregateTable table, String stationCode, LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(table.deleteChunkSql, stationCode, cutoff, limit);
+    }
+}
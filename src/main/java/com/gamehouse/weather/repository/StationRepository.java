@@ -0,0 +1,20 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.model.Station;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StationRepository extends JpaRepository<Station, String> {
+
+    @Query("SELECT s.code FROM Station s ORDER BY s.code")
+    List<String> findAllCodes();
+
+    @Query("SELECT MAX(s.lastReceivedAt) FROM Station s")
+    Optional<OffsetDateTime> findLatestReceivedAt();
+}
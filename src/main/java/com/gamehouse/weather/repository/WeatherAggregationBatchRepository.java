@@ -0,0 +1,187 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.model.WeatherAggregationAccumulator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+/**
+ * Plain JDBC writer for {@code weather_aggregation}, used when minute aggregates are computed by the application
+ * instead of the database trigger.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherAggregationBatchRepository {
+
+    private static final String MERGE_ON_CONFLICT_SQL =
+            "ON CONFLICT (station_code, minute_window) DO UPDATE SET " +
+                    "    total_records = weather_aggregation.total_records + EXCLUDED.total_records, " +
+                    "    avg_temperature = (weather_aggregation.avg_temperature * weather_aggregation.total_records + " +
+                    "        EXCLUDED.avg_temperature * EXCLUDED.total_records) / (weather_aggregation.total_records + EXCLUDED.total_records), " +
+                    "    min_temperature = LEAST(weather_aggregation.min_temperature, EXCLUDED.min_temperature), " +
+                    "    max_temperature = GREATEST(weather_aggregation.max_temperature, EXCLUDED.max_temperature), " +
+                    "    avg_humidity = (weather_aggregation.avg_humidity * weather_aggregation.total_records + " +
+                    "        EXCLUDED.avg_humidity * EXCLUDED.total_records) / (weather_aggregation.total_records + EXCLUDED.total_records), " +
+                    "    min_humidity = LEAST(weather_aggregation.min_humidity, EXCLUDED.min_humidity), " +
+                    "    max_humidity = GREATEST(weather_aggregation.max_humidity, EXCLUDED.max_humidity), " +
+                    "    avg_wind_speed = (weather_aggregation.avg_wind_speed * weather_aggregation.total_records + " +
+                    "        EXCLUDED.avg_wind_speed * EXCLUDED.total_records) / (weather_aggregation.total_records + EXCLUDED.total_records), " +
+                    "    min_wind_speed = LEAST(weather_aggregation.min_wind_speed, EXCLUDED.min_wind_speed), " +
+                    "    max_wind_speed = GREATEST(weather_aggregation.max_wind_speed, EXCLUDED.max_wind_speed)";
+
+    private static final String MERGE_SQL =
+            "INSERT INTO weather_aggregation (station_code, minute_window, total_records, " +
+                    "    avg_temperature, min_temperature, max_temperature, " +
+                    "    avg_humidity, min_humidity, max_humidity, " +
+                    "    avg_wind_speed, min_wind_speed, max_wind_speed) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    MERGE_ON_CONFLICT_SQL;
+
+    /**
+     * One statement: the staged readings are inserted into {@code weather} and their minute aggregates, computed from
+     * those readings alone, are merged into the stored ones. Minutes are upserted in key order, so concurrent writers
+     * lock them in the same order.
+     */
+    private static final String MERGE_STAGED_SQL =
+            "WITH inserted AS (" +
+                    "    INSERT INTO weather (station_code, collected_at, received_at, " +
+                    "        temperature, humidity, wind_speed) " +
+                    "    SELECT station_code, collected_at, received_at, temperature, humidity, wind_speed " +
+                    "    FROM " + WeatherCopyRepository.STAGING_TABLE + " " +
+                    "    RETURNING station_code, collected_at, temperature, humidity, wind_speed" +
+                    "), merged AS (" +
+                    "    INSERT INTO weather_aggregation (station_code, minute_window, total_records, " +
+                    "        avg_temperature, min_temperature, max_temperature, " +
+                    "        avg_humidity, min_humidity, max_humidity, " +
+                    "        avg_wind_speed, min_wind_speed, max_wind_speed) " +
+                    "    SELECT station_code, date_trunc('minute', collected_at AT TIME ZONE 'UTC'), count(*), " +
+                    "        avg(temperature), min(temperature), max(temperature), " +
+                    "        avg(humidity), min(humidity), max(humidity), " +
+                    "        avg(wind_speed), min(wind_speed), max(wind_speed) " +
+                    "    FROM inserted " +
+                    "    GROUP BY 1, 2 " +
+                    "    ORDER BY 1, 2 " +
+                    "    " + MERGE_ON_CONFLICT_SQL + " " +
+                    "    RETURNING 1" +
+                    ") " +
+                    "SELECT count(*) FROM merged";
+
+    private static final String REBUILD_MINUTES_WHERE_SQL =
+            "INSERT INTO weather_aggregation (station_code, minute_window, total_records, " +
+                    "    avg_temperature, min_temperature, max_temperature, " +
+                    "    avg_humidity, min_humidity, max_humidity, " +
+                    "    avg_wind_speed, min_wind_speed, max_wind_speed) " +
+                    "SELECT w.station_code, t.minute_window, count(*), " +
+                    "    avg(w.temperature), min(w.temperature), max(w.temperature), " +
+                    "    avg(w.humidity), min(w.humidity), max(w.humidity), " +
+                    "    avg(w.wind_speed), min(w.wind_speed), max(w.wind_speed) " +
+                    "FROM (SELECT DISTINCT station_code, date_trunc('minute', collected_at AT TIME ZONE 'UTC') AS minute_window " +
+                    "      FROM weather WHERE %s) t " +
+                    "JOIN weather w ON w.station_code = t.station_code " +
+                    "    AND w.collected_at >= t.minute_window AT TIME ZONE 'UTC' " +
+                    "    AND w.collected_at < (t.minute_window + interval '1 minute') AT TIME ZONE 'UTC' " +
+                    "GROUP BY w.station_code, t.minute_window " +
+                    "ON CONFLICT (station_code, minute_window) DO UPDATE SET " +
+                    "    total_records = EXCLUDED.total_records, " +
+                    "    avg_temperature = EXCLUDED.avg_temperature, " +
+                    "    min_temperature = EXCLUDED.min_temperature, " +
+                    "    max_temperature = EXCLUDED.max_temperature, " +
+                    "    avg_humidity = EXCLUDED.avg_humidity, " +
+                    "    min_humidity = EXCLUDED.min_humidity, " +
+                    "    max_humidity = EXCLUDED.max_humidity, " +
+                    "    avg_wind_speed = EXCLUDED.avg_wind_speed, " +
+                    "    min_wind_speed = EXCLUDED.min_wind_speed, " +
+                    "    max_wind_speed = EXCLUDED.max_wind_speed";
+
+    private static final String REBUILD_RECEIVED_SINCE_SQL = REBUILD_MINUTES_WHERE_SQL.formatted("received_at >= ?");
+
+    private static final String ENSURE_COVERAGE_SQL =
+            "INSERT INTO weather_aggregation (station_code, minute_window, total_records, " +
+                    "    avg_temperature, min_temperature, max_temperature, " +
+                    "    avg_humidity, min_humidity, max_humidity, " +
+                    "    avg_wind_speed, min_wind_speed, max_wind_speed) " +
+                    "SELECT station_code, date_trunc('minute', collected_at AT TIME ZONE 'UTC'), count(*), " +
+                    "    avg(temperature), min(temperature), max(temperature), " +
+                    "    avg(humidity), min(humidity), max(humidity), " +
+                    "    avg(wind_speed), min(wind_speed), max(wind_speed) " +
+                    "FROM weather " +
+                    "WHERE collected_at >= ? AND collected_at < ? " +
+                    "GROUP BY 1, 2 " +
+                    "ON CONFLICT (station_code, minute_window) DO UPDATE SET " +
+                    "    total_records = EXCLUDED.total_records, " +
+                    "    avg_temperature = EXCLUDED.avg_temperature, " +
+                    "    min_temperature = EXCLUDED.min_temperature, " +
+                    "    max_temperature = EXCLUDED.max_temperature, " +
+                    "    avg_humidity = EXCLUDED.avg_humidity, " +
+                    "    min_humidity = EXCLUDED.min_humidity, " +
+                    "    max_humidity = EXCLUDED.max_humidity, " +
+                    "    avg_wind_speed = EXCLUDED.avg_wind_speed, " +
+                    "    min_wind_speed = EXCLUDED.min_wind_speed, " +
+                    "    max_wind_speed = EXCLUDED.max_wind_speed " +
+                    "WHERE weather_aggregation.total_records <> EXCLUDED.total_records";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Merges the accumulated deltas into the stored minute rows in one batched upsert.
+     */
+    public void mergeAll(Collection<WeatherAggregationAccumulator> accumulators) {
+        if (accumulators.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(MERGE_SQL, accumulators, accumulators.size(),
+                (PreparedStatement ps, WeatherAggregationAccumulator accumulator) -> {
+                    ps.setString(1, accumulator.getStationCode());
+                    ps.setObject(2, accumulator.getMinuteWindow().toLocalDateTime());
+                    ps.setLong(3, accumulator.getTotalRecords());
+                    ps.setDouble(4, accumulator.getTemperatureAvg());
+                    ps.setDouble(5, accumulator.getTemperatureMin());
+                    ps.setDouble(6, accumulator.getTemperatureMax());
+                    ps.setDouble(7, accumulator.getHumidityAvg());
+                    ps.setDouble(8, accumulator.getHumidityMin());
+                    ps.setDouble(9, accumulator.getHumidityMax());
+                    ps.setDouble(10, accumulator.getWindSpeedAvg());
+                    ps.setDouble(11, accumulator.getWindSpeedMin());
+                    ps.setDouble(12, accumulator.getWindSpeedMax());
+                });
+    }
+
+    /**
+     * Recomputes, from the raw readings, every minute window that holds a reading received since the given time.
+     * Existing minute rows are replaced, so the operation is idempotent.
+     *
+     * @return the number of minute rows written
+     */
+    public int rebuildReceivedSince(OffsetDateTime receivedSince) {
+        return jdbcTemplate.update(REBUILD_RECEIVED_SINCE_SQL, receivedSince);
+    }
+
+    /**
+     * Moves the readings staged by {@link WeatherCopyRepository#startCopy()} into {@code weather} and adds their minute
+     * aggregates to the stored ones, the same way {@link #mergeAll} does. Only the staged readings are aggregated, so
+     * readings stored concurrently and minutes whose readings are already gone keep their counts. Must run in the
+     * transaction that staged them, with the aggregation trigger switched off.
+     *
+     * @return the number of minute rows written
+     */
+    public int mergeStaged() {
+        Integer merged = jdbcTemplate.queryForObject(MERGE_STAGED_SQL, Integer.class);
+        return merged == null ? 0 : merged;
+    }
+
+    /**
+     * Makes sure every minute with readings collected in {@code [from, to)} has an aggregate that accounts for all of
+     * them, before those readings are removed. Minutes that are missing or hold a different count are recomputed from
+     * the raw readings; consistent minutes are left untouched.
+     *
+     * @return the number of minute rows written
+     */
+    public int ensureCoverage(OffsetDateTime from, OffsetDateTime to) {
+        return jdbcTemplate.update(ENSURE_COVERAGE_SQL, from, to);
+    }
+}
@@ -1,28 +1,161 @@
 package com.gamehouse.weather.repository;
 
+import com.gamehouse.weather.model.AggregationRangePlan;
+import com.gamehouse.weather.model.AggregationRangePlan.Interval;
+import com.gamehouse.weather.model.AggregationRangePlan.Level;
 import com.gamehouse.weather.model.WeatherAggregation;
 import com.gamehouse.weather.model.WeatherAggregationId;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
 
 public interface WeatherAggregationRepository extends JpaRepository<WeatherAggregation, WeatherAggregationId> {
 
-    @Query("SELECT new com.gamehouse.weather.model.WeatherAggregation(" +
-            "    w.stationCode, " +
-            "    null, " +
-            "    SUM(w.totalRecords), " +
-            "    new com.gamehouse.weather.model.WeatherAggregationStats(AVG(w.temperature.avg), MIN(w.temperature.min), MAX(w.temperature.max)), " +
-            "    new com.gamehouse.weather.model.WeatherAggregationStats(AVG(w.humidity.avg), MIN(w.humidity.min), MAX(w.humidity.max)), " +
-            "    new com.gamehouse.weather.model.WeatherAggregationStats(AVG(w.windSpeed.avg), MIN(w.windSpeed.min), MAX(w.windSpeed.max))" +
-            ") " +
-            "FROM WeatherAggregation w " +
-            "WHERE w.stationCode = :stationCode " +
-            "  AND w.minuteWindow BETWEEN :start AND :end " +
-            "GROUP BY w.stationCode")
-    WeatherAggregation aggregateByStationAndRange(@Param("stationCode") String stationCode,
-                                                  @Param("start") OffsetDateTime start,
-                                                  @Param("end") OffsetDateTime end);
+    /**
+     * Collapses the minute aggregates of a station between {@code start} and {@code end} (inclusive), reading every
+     * minute. Returns {@code null} when the station has no minutes in the range.
+     */
+    default WeatherAggregationTotals aggregateByStationAndRange(String stationCode, OffsetDateTime start, OffsetDateTime end) {
+        return aggregateByStationAndMinuteRange(stationCode,
+                start.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime(),
+                end.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime());
+    }
+
+    /**
+     * Bounds are UTC wall-clock values, matching the {@code minute_window} column, so the predicate stays sargable and
+     * the primary key index answers it.
+     */
+    @Query(value = "SELECT station_code AS \"stationCode\", " +
+            "       SUM(total_records) AS \"totalRecords\", " +
+            "       SUM(avg_temperature * total_records) / SUM(total_records) AS \"temperatureAvg\", " +
+            "       MIN(min_temperature) AS \"temperatureMin\", " +
+            "       MAX(max_temperature) AS \"temperatureMax\", " +
+            "       SUM(avg_humidity * total_records) / SUM(total_records) AS \"humidityAvg\", " +
+            "       MIN(min_humidity) AS \"humidityMin\", " +
+            "       MAX(max_humidity) AS \"humidityMax\", " +
+            "       SUM(avg_wind_speed * total_records) / SUM(total_records) AS \"windSpeedAvg\", " +
+            "       MIN(min_wind_speed) AS \"windSpeedMin\", " +
+            "       MAX(max_wind_speed) AS \"windSpeedMax\" " +
+            "FROM weather_aggregation " +
+            "WHERE station_code = :stationCode " +
+            "  AND minute_window BETWEEN :start AND :end " +
+            "GROUP BY station_code",
+            nativeQuery = true)
+    WeatherAggregationTotals aggregateByStationAndMinuteRange(@Param("stationCode") String stationCode,
+                                                              @Param("start") LocalDateTime start,
+                                                              @Param("end") LocalDateTime end);
+
+    /**
+     * Collapses the buckets of a plan built by {@link AggregationRangePlan#of}. Returns {@code null} when the station
+     * has no data in the planned range.
+     */
+    @Transactional(readOnly = true)
+    default WeatherAggregationTotals aggregateByStationAndPlan(String stationCode, AggregationRangePlan plan) {
+        List<WeatherAggregationTotals> totals = aggregateByStationsAndPlan(List.of(stationCode), plan);
+        return totals.isEmpty() ? null : totals.get(0);
+    }
+
+    /**
+     * Collapses the buckets of a plan for every given station in one grouped query. Stations without data in the
+     * planned range are left out of the result.
+     */
+    default List<WeatherAggregationTotals> aggregateByStationsAndPlan(Collection<String> stationCodes,
+                                                                      AggregationRangePlan plan) {
+        if (stationCodes.isEmpty() || plan.isEmpty()) {
+            return List.of();
+        }
+        Interval month = plan.intervalOrEmpty(Level.MONTH, 0);
+        Interval day1 = plan.intervalOrEmpty(Level.DAY, 0);
+        Interval day2 = plan.intervalOrEmpty(Level.DAY, 1);
+        Interval hour1 = plan.intervalOrEmpty(Level.HOUR, 0);
+        Interval hour2 = plan.intervalOrEmpty(Level.HOUR, 1);
+        Interval minute1 = plan.intervalOrEmpty(Level.MINUTE, 0);
+        Interval minute2 = plan.intervalOrEmpty(Level.MINUTE, 1);
+        return aggregateByStationsAndBuckets(stationCodes,
+                month.from(), month.to(),
+                day1.from(), day1.to(), day2.from(), day2.to(),
+                hour1.from(), hour1.to(), hour2.from(), hour2.to(),
+                minute1.from(), minute1.to(), minute2.from(), minute2.to());
+    }
+
+    /**
+     * Reads each level only within its intervals; unused intervals are empty ({@code from == to}) and match nothing.
+     * Each level is read through its {@code (station_code, bucket_start)} index for all stations at once. The deltas
+     * not yet drained into the rollups are added over the month, day and hour intervals.
+     */
+    @Query(value = "SELECT station_code AS \"stationCode\", " +
+            "       SUM(total_records) AS \"totalRecords\", " +
+            "       SUM(sum_temperature) / SUM(total_records) AS \"temperatureAvg\", " +
+            "       MIN(min_temperature) AS \"temperatureMin\", " +
+            "       MAX(max_temperature) AS \"temperatureMax\", " +
+            "       SUM(sum_humidity) / SUM(total_records) AS \"humidityAvg\", " +
+            "       MIN(min_humidity) AS \"humidityMin\", " +
+            "       MAX(max_humidity) AS \"humidityMax\", " +
+            "       SUM(sum_wind_speed) / SUM(total_records) AS \"windSpeedAvg\", " +
+            "       MIN(min_wind_speed) AS \"windSpeedMin\", " +
+            "       MAX(max_wind_speed) AS \"windSpeedMax\" " +
+            "FROM (" +
+            "    SELECT station_code, total_records, sum_temperature, min_temperature, max_temperature, " +
+            "           sum_humidity, min_humidity, max_humidity, sum_wind_speed, min_wind_speed, max_wind_speed " +
+            "    FROM weather_aggregation_month " +
+            "    WHERE station_code IN (:stationCodes) " +
+            "      AND bucket_start >= :monthFrom AND bucket_start < :monthTo " +
+            "    UNION ALL " +
+            "    SELECT station_code, total_records, sum_temperature, min_temperature, max_temperature, " +
+            "           sum_humidity, min_humidity, max_humidity, sum_wind_speed, min_wind_speed, max_wind_speed " +
+            "    FROM weather_aggregation_day " +
+            "    WHERE station_code IN (:stationCodes) " +
+            "      AND ((bucket_start >= :dayFrom1 AND bucket_start < :dayTo1) " +
+            "        OR (bucket_start >= :dayFrom2 AND bucket_start < :dayTo2)) " +
+            "    UNION ALL " +
+            "    SELECT station_code, total_records, sum_temperature, min_temperature, max_temperature, " +
+            "           sum_humidity, min_humidity, max_humidity, sum_wind_speed, min_wind_speed, max_wind_speed " +
+            "    FROM weather_aggregation_hour " +
+            "    WHERE station_code IN (:stationCodes) " +
+            "      AND ((bucket_start >= :hourFrom1 AND bucket_start < :hourTo1) " +
+            "        OR (bucket_start >= :hourFrom2 AND bucket_start < :hourTo2)) " +
+            "    UNION ALL " +
+            "    SELECT station_code, total_records, sum_temperature, min_temperature, max_temperature, " +
+            "           sum_humidity, min_humidity, max_humidity, sum_wind_speed, min_wind_speed, max_wind_speed " +
+            "    FROM weather_rollup_delta " +
+            "    WHERE station_code IN (:stationCodes) " +
+            "      AND ((minute_window >= :monthFrom AND minute_window < :monthTo) " +
+            "        OR (minute_window >= :dayFrom1 AND minute_window < :dayTo1) " +
+            "        OR (minute_window >= :dayFrom2 AND minute_window < :dayTo2) " +
+            "        OR (minute_window >= :hourFrom1 AND minute_window < :hourTo1) " +
+            "        OR (minute_window >= :hourFrom2 AND minute_window < :hourTo2)) " +
+            "    UNION ALL " +
+            "    SELECT station_code, total_records, avg_temperature * total_records, min_temperature, max_temperature, " +
+            "           avg_humidity * total_records, min_humidity, max_humidity, " +
+            "           avg_wind_speed * total_records, min_wind_speed, max_wind_speed " +
+            "    FROM weather_aggregation " +
+            "    WHERE station_code IN (:stationCodes) " +
+            "      AND ((minute_window >= :minuteFrom1 AND minute_window < :minuteTo1) " +
+            "        OR (minute_window >= :minuteFrom2 AND minute_window < :minuteTo2)) " +
+            ") buckets " +
+            "GROUP BY station_code",
+            nativeQuery = true)
+    List<WeatherAggregationTotals> aggregateByStationsAndBuckets(@Param("stationCodes") Collection<String> stationCodes,
+                                                                 @Param("monthFrom") LocalDateTime monthFrom,
+                                                                 @Param("monthTo") LocalDateTime monthTo,
+                                                                 @Param("dayFrom1") LocalDateTime dayFrom1,
+                                                                 @Param("dayTo1") LocalDateTime dayTo1,
+                                                                 @Param("dayFrom2") LocalDateTime dayFrom2,
+                                                                 @Param("dayTo2") LocalDateTime dayTo2,
+                                                                 @Param("hourFrom1") LocalDateTime hourFrom1,
+                                                                 @Param("hourTo1") LocalDateTime hourTo1,
+                                                                 @Param("hourFrom2") LocalDateTime hourFrom2,
+                                                                 @Param("hourTo2") LocalDateTime hourTo2,
+                                                                 @Param("minuteFrom1") LocalDateTime minuteFrom1,
+                                                                 @Param("minuteTo1") LocalDateTime minuteTo1,
+                                                                 @Param("minuteFrom2") LocalDateTime minuteFrom2,
+                                                                 @Param("minuteTo2") LocalDateTime minuteTo2);
 }
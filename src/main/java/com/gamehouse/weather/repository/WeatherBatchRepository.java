@@ -0,0 +1,66 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.model.Weather;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Plain JDBC writer for bulk inserts into {@code weather}.
+ * <p>
+ * Identifiers are reserved from the identity sequence in a single round-trip and the rows are then sent as one JDBC
+ * batch, which the driver rewrites into multi-row {@code INSERT} statements ({@code reWriteBatchedInserts}). Entities
+ * that already carry an identifier reserved with {@link #reserveIds(int)} keep it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherBatchRepository {
+
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('weather', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO weather (id, station_code, collected_at, received_at, temperature, humidity, wind_speed) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Draws {@code count} identifiers from the identity sequence. They are never handed out again, whether or not a row
+     * is ever inserted with them.
+     */
+    public List<Long> reserveIds(int count) {
+        return jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, count);
+    }
+
+    /**
+     * Inserts all entities in one batch, assigning generated identifiers to those without one.
+     * Must be called inside a transaction so the batch commits or rolls back as a whole.
+     */
+    public List<Weather> insertAll(List<Weather> entities) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+
+        List<Weather> unassigned = entities.stream().filter(entity -> entity.getId() == null).toList();
+        if (!unassigned.isEmpty()) {
+            Iterator<Long> idIterator = reserveIds(unassigned.size()).iterator();
+            unassigned.forEach(entity -> entity.setId(idIterator.next()));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, entities, entities.size(), (PreparedStatement ps, Weather entity) -> {
+            ps.setLong(1, entity.getId());
+            ps.setString(2, entity.getStationCode());
+            ps.setObject(3, entity.getCollectedAt());
+            ps.setObject(4, entity.getReceivedAt());
+            ps.setDouble(5, entity.getTemperature());
+            ps.setDouble(6, entity.getHumidity());
+            ps.setDouble(7, entity.getWindSpeed());
+        });
+        return entities;
+    }
+}
@@ -0,0 +1,122 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.model.Weather;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Bulk writer for {@code weather} on top of {@code COPY ... FROM STDIN}.
+ * <p>
+ * Rows are encoded as CSV straight into the driver's copy buffer, so a copy costs one round-trip per
+ * {@code weather.import.copy.buffer.bytes} instead of one per row or batch. They are copied into a temporary staging
+ * table dropped at commit, from which {@link WeatherAggregationBatchRepository#mergeStaged()} moves them into
+ * {@code weather}; identifiers come from the column default there. All methods must be called inside a transaction,
+ * and no other statement can run on it while a copy is open.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherCopyRepository {
+
+    static final String STAGING_TABLE = "weather_import_staging";
+
+    private static final String CREATE_STAGING_TABLE_SQL =
+            "CREATE TEMPORARY TABLE " + STAGING_TABLE + " ON COMMIT DROP AS " +
+                    "SELECT station_code, collected_at, received_at, temperature, humidity, wind_speed " +
+                    "FROM weather WITH NO DATA";
+
+    private static final String COPY_SQL =
+            "COPY " + STAGING_TABLE + " (station_code, collected_at, received_at, temperature, humidity, wind_speed) " +
+                    "FROM STDIN (FORMAT csv)";
+
+    private static final String SKIP_AGGREGATION_TRIGGER_SQL = "SET LOCAL weather.skip_aggregation = 'on'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${weather.import.copy.buffer.bytes:65536}")
+    private int bufferBytes;
+
+    /**
+     * Switches off the aggregation trigger on {@code weather} until the current transaction ends.
+     */
+    public void skipAggregationTrigger() {
+        jdbcTemplate.execute(SKIP_AGGREGATION_TRIGGER_SQL);
+    }
+
+    /**
+     * Creates the empty staging table and opens a copy into it.
+     */
+    public Copy startCopy() {
+        jdbcTemplate.execute(CREATE_STAGING_TABLE_SQL);
+        CopyIn copyIn = jdbcTemplate.execute((ConnectionCallback<CopyIn>) connection ->
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL));
+        return new Copy(new PGCopyOutputStream(copyIn, bufferBytes));
+    }
+
+    /**
+     * An open {@code COPY} into the staging table. It must be either ended or cancelled before the connection is used
+     * again.
+     */
+    public static class Copy {
+
+        private final PGCopyOutputStream stream;
+        private final Writer writer;
+
+        Copy(PGCopyOutputStream stream) {
+            this.stream = stream;
+            this.writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Appends a validated reading. Station codes are plain letters, so no field needs quoting.
+         */
+        public void write(Weather weather) throws IOException {
+            writer.write(weather.getStationCode());
+            writer.write(',');
+            writer.write(weather.getCollectedAt().toInstant().toString());
+            writer.write(',');
+            writer.write(weather.getReceivedAt().toInstant().toString());
+            writer.write(',');
+            writer.write(Double.toString(weather.getTemperature()));
+            writer.write(',');
+            writer.write(Double.toString(weather.getHumidity()));
+            writer.write(',');
+            writer.write(Double.toString(weather.getWindSpeed()));
+            writer.write('\n');
+        }
+
+        /**
+         * @return the number of rows copied
+         */
+        public long end() throws IOException {
+            writer.flush();
+            try {
+                return stream.endCopy();
+            } catch (SQLException e) {
+                throw new IOException("Failed to end COPY", e);
+            }
+        }
+
+        public void cancel() throws IOException {
+            if (stream.isActive()) {
+                try {
+                    stream.cancelCopy();
+                } catch (SQLException e) {
+                    throw new IOException("Failed to cancel COPY", e);
+                }
+            }
+        }
+    }
+}
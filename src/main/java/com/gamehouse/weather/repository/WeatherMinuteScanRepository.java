@@ -0,0 +1,74 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.model.WeatherAggregation;
+import com.gamehouse.weather.model.WeatherAggregationStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Streams minute aggregates of a window in {@code (station_code, minute_window)} order, for the in-memory range
+ * index to be built from.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherMinuteScanRepository {
+
+    private static final String SCAN_SQL =
+            "SELECT station_code, minute_window, total_records, " +
+                    "       avg_temperature, min_temperature, max_temperature, " +
+                    "       avg_humidity, min_humidity, max_humidity, " +
+                    "       avg_wind_speed, min_wind_speed, max_wind_speed " +
+                    "FROM weather_aggregation " +
+                    "WHERE minute_window >= ? AND minute_window < ? %s" +
+                    "ORDER BY station_code, minute_window";
+
+    private static final String SCAN_ALL_SQL = SCAN_SQL.formatted("");
+
+    private static final String SCAN_STATIONS_SQL = SCAN_SQL.formatted("AND station_code = ANY (?) ");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${weather.export.fetch.size:1000}")
+    private int fetchSize;
+
+    /**
+     * Passes the minutes in {@code [from, to)} of the given stations, or of every station when {@code stationCodes}
+     * is null, to the consumer as they are fetched.
+     */
+    @Transactional(readOnly = true)
+    public void scan(Collection<String> stationCodes, LocalDateTime from, LocalDateTime to,
+                     Consumer<WeatherAggregation> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(stationCodes == null ? SCAN_ALL_SQL : SCAN_STATIONS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, from);
+            ps.setObject(2, to);
+            if (stationCodes != null) {
+                ps.setArray(3, connection.createArrayOf("varchar", stationCodes.toArray()));
+            }
+            return ps;
+        }, (ResultSet rs) -> {
+            consumer.accept(new WeatherAggregation(
+                    rs.getString("station_code"),
+                    rs.getObject("minute_window", LocalDateTime.class).atOffset(ZoneOffset.UTC),
+                    rs.getLong("total_records"),
+                    new WeatherAggregationStats(rs.getDouble("avg_temperature"), rs.getDouble("min_temperature"),
+                            rs.getDouble("max_temperature")),
+                    new WeatherAggregationStats(rs.getDouble("avg_humidity"), rs.getDouble("min_humidity"),
+                            rs.getDouble("max_humidity")),
+                    new WeatherAggregationStats(rs.getDouble("avg_wind_speed"), rs.getDouble("min_wind_speed"),
+                            rs.getDouble("max_wind_speed"))));
+        });
+    }
+}
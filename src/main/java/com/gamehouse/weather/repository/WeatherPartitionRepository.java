@@ -0,0 +1,60 @@
+package com.gamehouse.weather.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Creates and drops the daily partitions of {@code weather} through the database functions that own the naming and
+ * bounds conventions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherPartitionRepository {
+
+    private static final String FIND_PARTITION_DAYS_SQL =
+            "SELECT to_date(substr(c.relname, 10), 'YYYYMMDD') AS day " +
+                    "FROM pg_inherits i " +
+                    "JOIN pg_class c ON c.oid = i.inhrelid " +
+                    "WHERE i.inhparent = 'weather'::regclass " +
+                    "  AND c.relname ~ '^weather_p[0-9]{8}$' ";
+
+    private static final String FIND_PARTITION_DAYS_BEFORE_SQL =
+            FIND_PARTITION_DAYS_SQL +
+                    "  AND to_date(substr(c.relname, 10), 'YYYYMMDD') < ? " +
+                    "ORDER BY day";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return whether the partition of the UTC day was created, {@code false} if it already existed
+     */
+    public boolean createPartition(LocalDate day) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT create_weather_partition(?)", Boolean.class, day));
+    }
+
+    /**
+     * @return the number of daily partitions dropped, all of them for UTC days before {@code cutoffDay}
+     */
+    public int dropPartitionsBefore(LocalDate cutoffDay) {
+        Integer dropped = jdbcTemplate.queryForObject("SELECT drop_weather_partitions_before(?)", Integer.class, cutoffDay);
+        return dropped == null ? 0 : dropped;
+    }
+
+    /**
+     * @return the UTC days before {@code cutoffDay} that still have a partition, oldest first
+     */
+    public List<LocalDate> findPartitionDaysBefore(LocalDate cutoffDay) {
+        return jdbcTemplate.queryForList(FIND_PARTITION_DAYS_BEFORE_SQL, LocalDate.class, cutoffDay);
+    }
+
+    /**
+     * @return every UTC day that has a partition, oldest first
+     */
+    public List<LocalDate> findPartitionDays() {
+        return jdbcTemplate.queryForList(FIND_PARTITION_DAYS_SQL + "ORDER BY day", LocalDate.class);
+    }
+}
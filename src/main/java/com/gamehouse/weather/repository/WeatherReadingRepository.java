@@ -0,0 +1,97 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.model.ReadingCursor;
+import com.gamehouse.weather.model.Weather;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Keyset reads of a station's raw readings in {@code (collected_at, id)} order, served by the
+ * {@code (station_code, collected_at, id)} index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherReadingRepository {
+
+    private static final String KEYSET_WHERE =
+            "WHERE station_code = ? AND collected_at >= ? AND collected_at <= ? AND (collected_at, id) > (?, ?) ";
+
+    private static final String STREAM_SQL =
+            "SELECT id, station_code, collected_at, received_at, temperature, humidity, wind_speed " +
+                    "FROM weather " + KEYSET_WHERE +
+                    "AND (collected_at, id) <= (?, ?) " +
+                    "ORDER BY collected_at, id";
+
+    // Index-only: skips at most one page of index entries to find where the next page starts.
+    private static final String FIND_PAGE_END_SQL =
+            "SELECT collected_at, id " +
+                    "FROM weather " + KEYSET_WHERE +
+                    "ORDER BY collected_at, id " +
+                    "OFFSET ? LIMIT 2";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${weather.export.fetch.size:1000}")
+    private int fetchSize;
+
+    /**
+     * Passes the readings after {@code after} up to and including {@code until} to the consumer as they are fetched.
+     * The statement is forward-only with a fetch size, so the driver holds one fetch of rows at a time; it must run
+     * inside a transaction for PostgreSQL to use a server-side cursor.
+     */
+    public void stream(String stationCode, OffsetDateTime start, OffsetDateTime end, ReadingCursor after,
+                       ReadingCursor until, Consumer<Weather> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STREAM_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            bindKeyset(ps, stationCode, start, end, after);
+            ps.setObject(6, until.collectedAt());
+            ps.setLong(7, until.id());
+            return ps;
+        }, (ResultSet rs) -> {
+            consumer.accept(new Weather(
+                    rs.getLong("id"),
+                    rs.getString("station_code"),
+                    rs.getObject("collected_at", OffsetDateTime.class),
+                    rs.getObject("received_at", OffsetDateTime.class),
+                    rs.getDouble("temperature"),
+                    rs.getDouble("humidity"),
+                    rs.getDouble("wind_speed")));
+        });
+    }
+
+    /**
+     * @return the cursor of the last reading of a page of {@code limit} readings after {@code after}, if more readings
+     * follow that page
+     */
+    public Optional<ReadingCursor> findPageEnd(String stationCode, OffsetDateTime start, OffsetDateTime end,
+                                               ReadingCursor after, long limit) {
+        List<ReadingCursor> boundary = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(FIND_PAGE_END_SQL);
+            bindKeyset(ps, stationCode, start, end, after);
+            ps.setLong(6, limit - 1);
+            return ps;
+        }, (rs, rowNum) -> new ReadingCursor(rs.getObject("collected_at", OffsetDateTime.class), rs.getLong("id")));
+        return boundary.size() == 2 ? Optional.of(boundary.get(0)) : Optional.empty();
+    }
+
+    private static void bindKeyset(PreparedStatement ps, String stationCode, OffsetDateTime start, OffsetDateTime end,
+                                   ReadingCursor after) throws SQLException {
+        ps.setString(1, stationCode);
+        ps.setObject(2, start);
+        ps.setObject(3, end);
+        ps.setObject(4, after.collectedAt());
+        ps.setLong(5, after.id());
+    }
+}
@@ -14,8 +14,7 @@ import java.util.Optional;
 public interface WeatherRepository extends JpaRepository<Weather, Long> {
     Optional<Weather> findFirstByStationCodeOrderByReceivedAtDesc(String stationCode);
 
-    @Query("SELECT DISTINCT w.stationCode FROM Weather w")
-    List<String> findAllDistinctStationCodes();
+    List<Weather> findAllByCollectedAtGreaterThanEqual(OffsetDateTime collectedAt);
 
     @Query(value = "SELECT AVG(temperature) FROM weather " +
             "WHERE station_code = :stationCode AND collected_at BETWEEN :start AND :end",
@@ -0,0 +1,63 @@
+package com.gamehouse.weather.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Moves the minute deltas appended to {@code weather_rollup_delta} by the {@code weather_aggregation} triggers into the
+ * hour, day and month rollups.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherRollupRepository {
+
+    private static final String ROLLUP_SQL =
+            "%1$s AS (" +
+                    "    INSERT INTO %2$s AS r " +
+                    "    SELECT station_code, date_trunc('%3$s', minute_window), sum(total_records), " +
+                    "           sum(sum_temperature), min(min_temperature), max(max_temperature), " +
+                    "           sum(sum_humidity), min(min_humidity), max(max_humidity), " +
+                    "           sum(sum_wind_speed), min(min_wind_speed), max(max_wind_speed) " +
+                    "    FROM drained " +
+                    "    GROUP BY 1, 2 " +
+                    "    ORDER BY 1, 2 " +
+                    "    ON CONFLICT (station_code, bucket_start) DO UPDATE SET " +
+                    "        total_records = r.total_records + EXCLUDED.total_records, " +
+                    "        sum_temperature = r.sum_temperature + EXCLUDED.sum_temperature, " +
+                    "        min_temperature = LEAST(r.min_temperature, EXCLUDED.min_temperature), " +
+                    "        max_temperature = GREATEST(r.max_temperature, EXCLUDED.max_temperature), " +
+                    "        sum_humidity = r.sum_humidity + EXCLUDED.sum_humidity, " +
+                    "        min_humidity = LEAST(r.min_humidity, EXCLUDED.min_humidity), " +
+                    "        max_humidity = GREATEST(r.max_humidity, EXCLUDED.max_humidity), " +
+                    "        sum_wind_speed = r.sum_wind_speed + EXCLUDED.sum_wind_speed, " +
+                    "        min_wind_speed = LEAST(r.min_wind_speed, EXCLUDED.min_wind_speed), " +
+                    "        max_wind_speed = GREATEST(r.max_wind_speed, EXCLUDED.max_wind_speed)" +
+                    ")";
+
+    /**
+     * One statement, so a chunk is removed from the deltas and added to every level atomically and readers adding the
+     * pending deltas to the rollups never count it twice. Buckets are upserted in key order, so concurrent drains
+     * lock them in the same order.
+     */
+    private static final String DRAIN_CHUNK_SQL =
+            "WITH drained AS (" +
+                    "    DELETE FROM weather_rollup_delta WHERE ctid = ANY(ARRAY(" +
+                    "        SELECT ctid FROM weather_rollup_delta LIMIT ?)) " +
+                    "    RETURNING *" +
+                    "), " +
+                    ROLLUP_SQL.formatted("hour_rollup", "weather_aggregation_hour", "hour") + ", " +
+                    ROLLUP_SQL.formatted("day_rollup", "weather_aggregation_day", "day") + ", " +
+                    ROLLUP_SQL.formatted("month_rollup", "weather_aggregation_month", "month") + " " +
+                    "SELECT count(*) FROM drained";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Drains at most {@code limit} deltas into the rollups and returns how many were drained.
+     */
+    public int drainChunk(int limit) {
+        Integer drained = jdbcTemplate.queryForObject(DRAIN_CHUNK_SQL, Integer.class, limit);
+        return drained == null ? 0 : drained;
+    }
+}
@@ -0,0 +1,85 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.model.AggregationRangePlan.Level;
+import com.gamehouse.weather.model.SeriesBucket;
+import com.gamehouse.weather.model.WeatherSeries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Time-bucketed aggregates of a station, grouped with {@code date_bin} in one pass over the aggregate level picked by
+ * the {@link SeriesBucket}. Averages are weighted by record count, as in the range queries. Hour and day series add
+ * the deltas not yet drained into their rollup.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherSeriesRepository {
+
+    private static final String SERIES_SQL =
+            "SELECT date_bin(CAST(? AS interval), %1$s, TIMESTAMP '1970-01-01') AS bucket, " +
+                    "       SUM(total_records), " +
+                    "       SUM(%2$s) / SUM(total_records), MIN(min_temperature), MAX(max_temperature), " +
+                    "       SUM(%3$s) / SUM(total_records), MIN(min_humidity), MAX(max_humidity), " +
+                    "       SUM(%4$s) / SUM(total_records), MIN(min_wind_speed), MAX(max_wind_speed) " +
+                    "FROM %5$s " +
+                    "WHERE station_code = ? AND %1$s >= ? AND %1$s < ? " +
+                    "GROUP BY 1 " +
+                    "ORDER BY 1";
+
+    private static final String MINUTE_SERIES_SQL = SERIES_SQL.formatted("minute_window",
+            "avg_temperature * total_records", "avg_humidity * total_records", "avg_wind_speed * total_records",
+            "weather_aggregation");
+
+    private static final String ROLLUP_WITH_DELTAS_SQL =
+            "(SELECT station_code, bucket_start, total_records, " +
+                    "        sum_temperature, min_temperature, max_temperature, sum_humidity, min_humidity, " +
+                    "        max_humidity, sum_wind_speed, min_wind_speed, max_wind_speed " +
+                    " FROM %s " +
+                    " UNION ALL " +
+                    " SELECT station_code, minute_window, total_records, " +
+                    "        sum_temperature, min_temperature, max_temperature, sum_humidity, min_humidity, " +
+                    "        max_humidity, sum_wind_speed, min_wind_speed, max_wind_speed " +
+                    " FROM weather_rollup_delta) buckets";
+
+    private static final String HOUR_SERIES_SQL = SERIES_SQL.formatted("bucket_start",
+            "sum_temperature", "sum_humidity", "sum_wind_speed",
+            ROLLUP_WITH_DELTAS_SQL.formatted("weather_aggregation_hour"));
+
+    private static final String DAY_SERIES_SQL = SERIES_SQL.formatted("bucket_start",
+            "sum_temperature", "sum_humidity", "sum_wind_speed",
+            ROLLUP_WITH_DELTAS_SQL.formatted("weather_aggregation_day"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads the buckets starting in {@code [from, to)}, UTC wall-clock values aligned to the bucket width.
+     *
+     * @param capacity expected number of buckets, used to size the series
+     */
+    public WeatherSeries findSeries(String stationCode, SeriesBucket bucket, LocalDateTime from, LocalDateTime to,
+                                    int capacity) {
+        WeatherSeries series = new WeatherSeries(capacity);
+        jdbcTemplate.query(sqlFor(bucket.source()), rs -> {
+                    series.add(rs.getObject(1, LocalDateTime.class).toInstant(ZoneOffset.UTC).toEpochMilli(),
+                            rs.getLong(2),
+                            rs.getDouble(3), rs.getDouble(4), rs.getDouble(5),
+                            rs.getDouble(6), rs.getDouble(7), rs.getDouble(8),
+                            rs.getDouble(9), rs.getDouble(10), rs.getDouble(11));
+                },
+                bucket.width().getSeconds() + " seconds", stationCode, from, to);
+        return series;
+    }
+
+    private static String sqlFor(Level source) {
+        return switch (source) {
+            case DAY -> DAY_SERIES_SQL;
+            case HOUR -> HOUR_SERIES_SQL;
+            case MINUTE -> MINUTE_SERIES_SQL;
+            case MONTH -> throw new IllegalArgumentException("Series are not read from monthly rollups");
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.Alert;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * De-duplicates alerts and hands the rest to every {@link AlertSink}.
+ * <p>
+ * An alert is active from the time it is raised until its rule clears it for the station. While it stays active,
+ * raising it again is suppressed, except that it is sent again every {@code alert.repeat.seconds} (never when 0).
+ * Sent alerts are counted in {@code weather.alert.raised}, tagged by {@code type} and {@code station}, and suppressed
+ * ones in {@code weather.alert.suppressed}, tagged by {@code type}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlertDispatcher {
+
+    private final List<AlertSink> sinks;
+    private final MeterRegistry meterRegistry;
+
+    // Time each active alert was last sent.
+    private final Map<Key, OffsetDateTime> active = new ConcurrentHashMap<>();
+
+    @Value("${alert.repeat.seconds:300}")
+    private long repeatSeconds;
+
+    /**
+     * Sends the alert unless the same alert is active and was sent less than {@code alert.repeat.seconds} ago.
+     *
+     * @return whether the alert was sent
+     */
+    public boolean raise(Alert alert) {
+        OffsetDateTime raisedAt = alert.getRaisedAt();
+        boolean[] send = new boolean[1];
+        active.compute(new Key(alert.getType(), alert.getStationCode()), (key, sentAt) -> {
+            send[0] = sentAt == null
+                    || (repeatSeconds > 0 && !raisedAt.isBefore(sentAt.plusSeconds(repeatSeconds)));
+            return send[0] ? raisedAt : sentAt;
+        });
+        if (!send[0]) {
+            meterRegistry.counter("weather.alert.suppressed", "type", tagOf(alert.getType())).increment();
+            return false;
+        }
+        meterRegistry.counter("weather.alert.raised", "type", tagOf(alert.getType()),
+                "station", alert.getStationCode()).increment();
+        for (AlertSink sink : sinks) {
+            sink.accept(alert);
+        }
+        return true;
+    }
+
+    /**
+     * Clears an active alert, so the next time it is raised it is sent right away.
+     */
+    public void clear(Alert.Type type, String stationCode) {
+        active.remove(new Key(type, stationCode));
+    }
+
+    private static String tagOf(Alert.Type type) {
+        return type.name().toLowerCase();
+    }
+
+    private record Key(Alert.Type type, String stationCode) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.AlertRule;
+import com.gamehouse.weather.model.AlertRule.Condition;
+import com.gamehouse.weather.model.AlertRule.Metric;
+import com.gamehouse.weather.model.AlertRuleSet;
+import com.gamehouse.weather.model.AlertStationGroup;
+import com.gamehouse.weather.repository.AlertRuleRepository;
+import com.gamehouse.weather.repository.AlertStationGroupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the {@link AlertRuleSet} compiled from the {@code alert_rule} and {@code alert_station_group} tables.
+ * <p>
+ * The tables are re-read every {@code alert.rules.refresh.seconds} and the new set replaces the old one in a single
+ * write, so rule changes apply without a restart and evaluation never waits on a reload. When a reload fails, the
+ * previous set stays in place. {@code alert.missing.data.window.seconds} and {@code ALERT_TEMPERATURE_THRESHOLD} act as
+ * global rules that the tables can override. The number of active rules is published as {@code weather.alert.rules}.
+ */
+@Slf4j
+@Lazy(false)
+@Service
+@RequiredArgsConstructor
+public class AlertRuleRegistry {
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final AlertStationGroupRepository alertStationGroupRepository;
+    private final MeterRegistry meterRegistry;
+
+    private volatile AlertRuleSet current = AlertRuleSet.of();
+
+    @Value("${alert.missing.data.window.seconds:30}")
+    private long missingDataWindowSeconds;
+
+    @Value("${ALERT_TEMPERATURE_THRESHOLD:#{null}}")
+    private Double temperatureThreshold;
+
+    @PostConstruct
+    public void load() {
+        meterRegistry.gauge("weather.alert.rules", this, registry -> registry.current().size());
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${alert.rules.refresh.seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void reload() {
+        try {
+            Map<String, String> groupByStation = alertStationGroupRepository.findAll().stream()
+                    .collect(Collectors.toMap(AlertStationGroup::getStationCode, AlertStationGroup::getGroupName));
+            current = AlertRuleSet.compile(fallbacks(), alertRuleRepository.findAll(), groupByStation);
+        } catch (RuntimeException ex) {
+            log.warn("Could not reload the alert rules, keeping the previous ones", ex);
+        }
+    }
+
+    public AlertRuleSet current() {
+        return current;
+    }
+
+    private List<AlertRule> fallbacks() {
+        List<AlertRule> fallbacks = new ArrayList<>();
+        if (missingDataWindowSeconds > 0) {
+            fallbacks.add(AlertRule.global(Metric.MISSING_DATA, Condition.ABOVE, missingDataWindowSeconds));
+        }
+        if (temperatureThreshold != null) {
+            fallbacks.add(AlertRule.global(Metric.TEMPERATURE, Condition.ABOVE, temperatureThreshold));
+        }
+        return fallbacks;
+    }
+}
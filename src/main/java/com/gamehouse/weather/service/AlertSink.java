@@ -0,0 +1,12 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.Alert;
+
+/**
+ * Destination of the alerts that pass {@link AlertDispatcher}'s de-duplication. Every {@code AlertSink} bean receives
+ * every alert on the thread that raised it, so implementations must not block.
+ */
+public interface AlertSink {
+
+    void accept(Alert alert);
+}
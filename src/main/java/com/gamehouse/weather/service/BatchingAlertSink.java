@@ -0,0 +1,112 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.Alert;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sink that queues alerts and writes them in batches from a writer thread of its own, so raising an alert never waits
+ * on I/O. When the queue is full the alert is dropped for this sink and counted in {@code weather.alert.dropped},
+ * tagged by {@code sink}; the queue depth is published as {@code weather.alert.queue.depth}. Alerts still queued when
+ * the service stops are written before shutdown completes.
+ */
+@Slf4j
+public abstract class BatchingAlertSink implements AlertSink {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final String name;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<Alert> queue;
+    private final int batchSize;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    protected BatchingAlertSink(String name, MeterRegistry meterRegistry, int capacity, int batchSize) {
+        this.name = name;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Writes a batch of alerts, oldest first. Failures are logged and the batch is not retried.
+     */
+    protected abstract void write(List<Alert> alerts) throws Exception;
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("weather.alert.queue.depth", queue, BlockingQueue::size)
+                .description("Alerts waiting to be written by a sink")
+                .tag("sink", name)
+                .register(meterRegistry);
+        running = true;
+        writer = new Thread(this::drain, "alert-sink-" + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (writer.isAlive()) {
+            log.warn("Alert sink {} did not finish in time, {} alerts were not written", name, queue.size());
+            writer.interrupt();
+        }
+    }
+
+    @Override
+    public void accept(Alert alert) {
+        if (!queue.offer(alert)) {
+            meterRegistry.counter("weather.alert.dropped", "sink", name).increment();
+        }
+    }
+
+    /**
+     * Runs until the sink is stopped and the queue is empty. If the thread is interrupted, the alerts that fit in one
+     * more batch are written without waiting and the rest are left behind.
+     */
+    private void drain() {
+        List<Alert> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Alert first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch, batchSize);
+                flush(batch);
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            flush(batch);
+        }
+    }
+
+    private void flush(List<Alert> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(batch);
+        } catch (Exception ex) {
+            meterRegistry.counter("weather.alert.dropped", "sink", name).increment(batch.size());
+            log.error("Alert sink {} failed to write {} alerts", name, batch.size(), ex);
+        }
+        batch.clear();
+    }
+}
@@ -0,0 +1,53 @@
+package com.gamehouse.weather.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamehouse.weather.dto.mapper.AlertMapper;
+import com.gamehouse.weather.model.Alert;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends alerts to {@code alert.sink.file.path} as NDJSON, one object per line in the {@code GET /alerts} format.
+ * Enabled when the path is set. Each batch is flushed once it is written, so a tailing consumer sees whole lines.
+ */
+@Lazy(false)
+@Component
+@ConditionalOnProperty(name = "alert.sink.file.path")
+public class FileAlertSink extends BatchingAlertSink {
+
+    private final ObjectMapper objectMapper;
+    private final AlertMapper alertMapper;
+    private final Path path;
+
+    public FileAlertSink(MeterRegistry meterRegistry, ObjectMapper objectMapper, AlertMapper alertMapper,
+                         @Value("${alert.sink.file.path}") Path path,
+                         @Value("${alert.sink.queue.capacity:10000}") int capacity,
+                         @Value("${alert.sink.batch.size:500}") int batchSize) {
+        super("file", meterRegistry, capacity, batchSize);
+        this.objectMapper = objectMapper;
+        this.alertMapper = alertMapper;
+        this.path = path;
+    }
+
+    @Override
+    protected void write(List<Alert> alerts) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Alert alert : alerts) {
+                writer.write(objectMapper.writeValueAsString(alertMapper.toDto(alert)));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.dto.WeatherResponse;
+import com.gamehouse.weather.dto.mapper.WeatherMapper;
+import com.gamehouse.weather.event.WeatherImportedEvent;
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.StationCodes;
+import com.gamehouse.weather.model.Weather;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Latest committed reading per station, held in a fixed array with one slot per possible station code.
+ * <p>
+ * Slots are written through when readings commit and filled from the repository on a miss. Updates only replace a
+ * slot with a reading received later (or, for equal receive times, with a higher id), so a slow repository read racing
+ * with a commit can't roll the slot back.
+ */
+@Component
+@RequiredArgsConstructor
+public class LatestWeatherCache {
+
+    private final WeatherMapper mapper;
+
+    private final AtomicReferenceArray<WeatherResponse> slots = new AtomicReferenceArray<>(StationCodes.SLOTS);
+
+    public Optional<WeatherResponse> get(String stationCode) {
+        int index = StationCodes.indexOf(stationCode);
+        return index < 0 ? Optional.empty() : Optional.ofNullable(slots.get(index));
+    }
+
+    public void update(WeatherResponse candidate) {
+        int index = StationCodes.indexOf(candidate.getStationCode());
+        if (index < 0) {
+            return;
+        }
+        WeatherResponse current;
+        do {
+            current = slots.get(index);
+            if (current != null && !isNewer(candidate, current)) {
+                return;
+            }
+        } while (!slots.compareAndSet(index, current, candidate));
+    }
+
+    public void evict(String stationCode) {
+        int index = StationCodes.indexOf(stationCode);
+        if (index >= 0) {
+            slots.set(index, null);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onWeatherSaved(WeatherSavedEvent event) {
+        for (Weather weather : event.getReadings()) {
+            update(mapper.toDto(weather));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onWeatherImported(WeatherImportedEvent event) {
+        event.getStationCodes().forEach(this::evict);
+    }
+
+    private static boolean isNewer(WeatherResponse candidate, WeatherResponse current) {
+        int byReceivedAt = candidate.getReceivedAt().compareTo(current.getReceivedAt());
+        return byReceivedAt > 0 || byReceivedAt == 0 && candidate.getId() > current.getId();
+    }
+}
@@ -0,0 +1,38 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.Alert;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Logs alerts at WARN on the {@code alerts} logger, one line each, from the sink's writer thread. Enabled unless
+ * {@code alert.sink.log.enabled=false}.
+ */
+@Lazy(false)
+@Component
+@ConditionalOnProperty(name = "alert.sink.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LogAlertSink extends BatchingAlertSink {
+
+    private static final Logger ALERTS = LoggerFactory.getLogger("alerts");
+
+    public LogAlertSink(MeterRegistry meterRegistry,
+                        @Value("${alert.sink.queue.capacity:10000}") int capacity,
+                        @Value("${alert.sink.batch.size:500}") int batchSize) {
+        super("log", meterRegistry, capacity, batchSize);
+    }
+
+    @Override
+    protected void write(List<Alert> alerts) {
+        for (Alert alert : alerts) {
+            ALERTS.warn("ALERT {} station={} raised_at={} {}", alert.getType(), alert.getStationCode(),
+                    alert.getRaisedAt(), alert.getMessage());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.model.WeatherAggregationAccumulator;
+import com.gamehouse.weather.repository.WeatherAggregationBatchRepository;
+import com.gamehouse.weather.repository.StationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application-side write-behind aggregation of minute windows, enabled with {@code weather.aggregation.mode=application}.
+ * <p>
+ * Committed readings are folded into per-(station, minute) accumulators and closed minutes are merged into
+ * {@code weather_aggregation} with one batched upsert per flush, so the insert path no longer runs the aggregation
+ * trigger. Aggregates of a minute become visible once the minute is closed and flushed, and cached range
+ * aggregations covering it are invalidated then. Flush time is recorded in the {@code weather.aggregation.flush} timer
+ * and flushed minutes are counted in {@code weather.aggregation.minutes.flushed}.
+ */
+@Slf4j
+@Lazy(false)
+@Service
+@ConditionalOnProperty(name = "weather.aggregation.mode", havingValue = "application")
+@RequiredArgsConstructor
+public class MinuteAggregator {
+
+    private final StationRepository stationRepository;
+    private final WeatherAggregationBatchRepository aggregationBatchRepository;
+    private final RangeAggregationCache rangeAggregationCache;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Key, WeatherAggregationAccumulator> accumulators = new ConcurrentHashMap<>();
+
+    @Value("${weather.aggregation.flush.grace.seconds:5}")
+    private long flushGraceSeconds;
+
+    @Value("${weather.aggregation.recovery.minutes:60}")
+    private long recoveryMinutes;
+
+    /**
+     * Rebuilds the minutes whose readings may not have been flushed by the previous run. The window is anchored at the
+     * latest received reading, so it doesn't depend on how long the service was down.
+     */
+    @PostConstruct
+    public void recover() {
+        stationRepository.findLatestReceivedAt().ifPresent(latestReceivedAt -> {
+            int rebuilt = aggregationBatchRepository.rebuildReceivedSince(latestReceivedAt.minusMinutes(recoveryMinutes));
+            log.info("Rebuilt {} minute aggregates from readings received in the last {} minutes", rebuilt, recoveryMinutes);
+        });
+    }
+
+    @TransactionalEventListener
+    public void onWeatherSaved(WeatherSavedEvent event) {
+        for (Weather weather : event.getReadings()) {
+            OffsetDateTime minuteWindow = WeatherAggregationAccumulator.minuteWindowOf(weather.getCollectedAt());
+            accumulators.compute(new Key(weather.getStationCode(), minuteWindow.toEpochSecond()), (key, accumulator) ->
+                    (accumulator == null ? new WeatherAggregationAccumulator(key.stationCode(), minuteWindow) : accumulator)
+                            .add(weather));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${weather.aggregation.flush.interval.seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void flush() {
+        flush(OffsetDateTime.now(ZoneOffset.UTC).minusSeconds(flushGraceSeconds).minusMinutes(1));
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(OffsetDateTime.MAX);
+    }
+
+    /**
+     * Flushes every minute window that started before the given time. Accumulators that fail to be written are merged
+     * back so their readings are retried on the next flush.
+     */
+    void flush(OffsetDateTime closedBefore) {
+        long closedBeforeEpochSecond = closedBefore.toEpochSecond();
+        List<WeatherAggregationAccumulator> closed = new ArrayList<>();
+        for (Key key : accumulators.keySet()) {
+            if (key.minuteEpochSecond() < closedBeforeEpochSecond) {
+                WeatherAggregationAccumulator accumulator = accumulators.remove(key);
+                if (accumulator != null) {
+                    closed.add(accumulator);
+                }
+            }
+        }
+        if (closed.isEmpty()) {
+            return;
+        }
+
+        try {
+            meterRegistry.timer("weather.aggregation.flush").record(() -> aggregationBatchRepository.mergeAll(closed));
+        } catch (RuntimeException ex) {
+            log.error("Failed to flush {} minute aggregates, retrying on next flush", closed.size(), ex);
+            closed.forEach(accumulator -> accumulators.merge(
+                    new Key(accumulator.getStationCode(), accumulator.getMinuteWindow().toEpochSecond()),
+                    accumulator,
+                    WeatherAggregationAccumulator::merge));
+            return;
+        }
+        meterRegistry.counter("weather.aggregation.minutes.flushed").increment(closed.size());
+
+        Map<String, NavigableSet<LocalDateTime>> flushedMinutes = new HashMap<>();
+        for (WeatherAggregationAccumulator accumulator : closed) {
+            flushedMinutes.computeIfAbsent(accumulator.getStationCode(), code -> new TreeSet<>())
+                    .add(accumulator.getMinuteWindow().toLocalDateTime());
+        }
+        flushedMinutes.forEach(rangeAggregationCache::invalidate);
+    }
+
+    int pendingMinutes() {
+        return accumulators.size();
+    }
+
+    private record Key(String stationCode, long minuteEpochSecond) {
+    }
+}
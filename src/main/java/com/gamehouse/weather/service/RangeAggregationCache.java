@@ -0,0 +1,163 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.dto.WeatherAggregationResponse;
+import com.gamehouse.weather.event.WeatherImportedEvent;
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.model.WeatherAggregationAccumulator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of single-station range aggregations, keyed on the station and the minutes the range covers, so
+ * requests whose bounds fall within the same minutes share an entry. Once {@code weather.range.cache.max.entries} is
+ * reached, entries are evicted by Caffeine's W-TinyLFU policy.
+ * <p>
+ * Invalidation is per (station, minute): when readings of a minute commit, or in application aggregation mode when
+ * the minute is flushed, only the entries of that station whose range covers the minute are dropped. Keys are indexed
+ * per station for that lookup. The index is only changed inside Caffeine's per-key atomic operations, so a load racing
+ * with an invalidation is either waited for and dropped, or started after the write committed. Imports drop every
+ * entry of their stations, retention runs drop everything, and entries expire after
+ * {@code weather.range.cache.ttl.minutes} to bound changes made outside the service.
+ * <p>
+ * Hits, misses, evictions and size are published as the {@code cache.*} meters tagged {@code cache=weather.range},
+ * and the approximate heap footprint as {@code weather.range.cache.estimated.bytes}.
+ */
+@Component
+public class RangeAggregationCache {
+
+    /**
+     * Rough heap footprint of one entry: the key, the response with its boxed values, the cache node and the index slot.
+     */
+    static final long ESTIMATED_ENTRY_BYTES = 600;
+
+    /**
+     * Station and minutes {@code [from, to)} of a range, as planned by
+     * {@link com.gamehouse.weather.model.AggregationRangePlan}.
+     */
+    public record Key(String stationCode, LocalDateTime from, LocalDateTime to) {
+
+        boolean covers(NavigableSet<LocalDateTime> minutes) {
+            LocalDateTime first = minutes.ceiling(from);
+            return first != null && first.isBefore(to);
+        }
+    }
+
+    private final Cache<Key, WeatherAggregationResponse> cache;
+    private final Map<String, Set<Key>> keysByStation = new ConcurrentHashMap<>();
+
+    public RangeAggregationCache(MeterRegistry meterRegistry,
+                                 @Value("${weather.range.cache.max.entries:10000}") long maxEntries,
+                                 @Value("${weather.range.cache.ttl.minutes:60}") long ttlMinutes) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .<Key, WeatherAggregationResponse>evictionListener((key, value, cause) -> unindex(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "weather.range");
+        Gauge.builder("weather.range.cache.estimated.bytes", cache, c -> c.estimatedSize() * ESTIMATED_ENTRY_BYTES)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached aggregation of the range, loading it on a miss. Exceptions thrown by the loader propagate and
+     * nothing is cached for the key.
+     */
+    public WeatherAggregationResponse get(Key key, Supplier<WeatherAggregationResponse> loader) {
+        return cache.get(key, k -> {
+            Set<Key> keys = keysByStation.computeIfAbsent(k.stationCode(), code -> ConcurrentHashMap.newKeySet());
+            keys.add(k);
+            try {
+                WeatherAggregationResponse response = loader.get();
+                if (response == null) {
+                    keys.remove(k);
+                }
+                return response;
+            } catch (RuntimeException ex) {
+                keys.remove(k);
+                throw ex;
+            }
+        });
+    }
+
+    /**
+     * Drops the entries of the station whose range covers any of the minutes.
+     */
+    public void invalidate(String stationCode, NavigableSet<LocalDateTime> minutes) {
+        Set<Key> keys = keysByStation.get(stationCode);
+        if (keys == null || minutes.isEmpty()) {
+            return;
+        }
+        for (Key key : keys) {
+            if (key.covers(minutes)) {
+                invalidate(key);
+            }
+        }
+    }
+
+    public void invalidateStation(String stationCode) {
+        Set<Key> keys = keysByStation.get(stationCode);
+        if (keys != null) {
+            keys.forEach(this::invalidate);
+        }
+    }
+
+    public void invalidateAll() {
+        keysByStation.keySet().forEach(this::invalidateStation);
+    }
+
+    @TransactionalEventListener
+    public void onWeatherSaved(WeatherSavedEvent event) {
+        Map<String, NavigableSet<LocalDateTime>> minutesByStation = new HashMap<>();
+        for (Weather weather : event.getReadings()) {
+            minutesByStation.computeIfAbsent(weather.getStationCode(), code -> new TreeSet<>())
+                    .add(WeatherAggregationAccumulator.minuteWindowOf(weather.getCollectedAt()).toLocalDateTime());
+        }
+        minutesByStation.forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener
+    public void onWeatherImported(WeatherImportedEvent event) {
+        event.getStationCodes().forEach(this::invalidateStation);
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Removes the key under its lock, waiting for a load in progress so the loaded value is dropped too.
+     */
+    private void invalidate(Key key) {
+        cache.asMap().compute(key, (k, value) -> {
+            unindex(k);
+            return null;
+        });
+    }
+
+    private void unindex(Key key) {
+        Set<Key> keys = keysByStation.get(key.stationCode());
+        if (keys != null) {
+            keys.remove(key);
+        }
+    }
+}
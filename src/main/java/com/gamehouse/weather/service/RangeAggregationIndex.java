@@ -0,0 +1,287 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.event.WeatherImportedEvent;
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.StationMinuteIndex;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.model.WeatherAggregation;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import com.gamehouse.weather.repository.WeatherAggregationRepository;
+import com.gamehouse.weather.repository.WeatherMinuteScanRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory range index over the minute aggregates of the last {@code weather.range.index.window.days}, enabled with
+ * {@code weather.range.index.enabled=true}. Single-station ranges starting inside the window are answered by a
+ * {@link StationMinuteIndex} per station up to the last indexed minute; only the minutes after it, at most a lag and a
+ * refresh interval's worth, are read from {@code weather_aggregation}. Other ranges fall back to the rollups.
+ * <p>
+ * The index is loaded from {@code weather_aggregation} once the application is ready and extended every
+ * {@code weather.range.index.refresh.seconds} with the minutes that closed more than
+ * {@code weather.range.index.lag.seconds} ago. The lag must exceed the delay before minutes are written, which matters
+ * in application aggregation mode. A station whose indexed minutes change, through a late reading or an import, is
+ * dropped until it is reloaded one lag later; readings committed while a scan runs keep the scan's rows of their
+ * station out of the index.
+ * <p>
+ * Each station costs {@link StationMinuteIndex#BYTES_PER_MINUTE} bytes per minute of window whatever it reports, and
+ * stations are indexed only while the total stays under {@code weather.range.index.max.bytes}. Indexed stations and
+ * their footprint are published as {@code weather.range.index.stations} and {@code weather.range.index.bytes}, and
+ * lookups as {@code weather.range.index.lookups} tagged {@code result=indexed|tail|fallback}, {@code tail} meaning
+ * the minutes after the index were read from the database.
+ */
+@Slf4j
+@Lazy(false)
+@Service
+@ConditionalOnProperty(name = "weather.range.index.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class RangeAggregationIndex {
+
+    private final WeatherMinuteScanRepository scanRepository;
+    private final WeatherAggregationRepository aggregationRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, StationMinuteIndex> indexes = new ConcurrentHashMap<>();
+    // Watermark at which each dropped station went stale.
+    private final Map<String, Long> staleSince = new ConcurrentHashMap<>();
+    private final Map<String, Long> writtenMinutes = new HashMap<>();
+    private final Object lock = new Object();
+
+    private volatile long watermark;
+
+    @Value("${weather.range.index.window.days:7}")
+    private int windowDays;
+
+    @Value("${weather.range.index.max.bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${weather.range.index.lag.seconds:120}")
+    private long lagSeconds;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        meterRegistry.gauge("weather.range.index.stations", indexes, Map::size);
+        meterRegistry.gauge("weather.range.index.bytes", indexes,
+                map -> (double) map.size() * windowMinutes() * StationMinuteIndex.BYTES_PER_MINUTE);
+        load(OffsetDateTime.now(ZoneOffset.UTC));
+    }
+
+    @Scheduled(fixedDelayString = "${weather.range.index.refresh.seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        if (watermark > 0) {
+            refresh(OffsetDateTime.now(ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * Totals of the minutes {@code [from, to)} of a station, or empty when the station is not indexed or the range
+     * doesn't start inside the indexed minutes. Minutes after the last indexed one are read from
+     * {@code weather_aggregation}. Totals of zero records mean the range holds no data.
+     */
+    public Optional<WeatherAggregationTotals> aggregate(String stationCode, LocalDateTime from, LocalDateTime to) {
+        StationMinuteIndex index = indexes.get(stationCode);
+        long toMinute = epochMinuteOf(to);
+        long indexedTo = index == null ? toMinute : Math.min(toMinute, index.getEndMinute());
+        Optional<WeatherAggregationTotals> totals = index == null ? Optional.empty()
+                : index.aggregate(epochMinuteOf(from), indexedTo);
+        String result = totals.isEmpty() ? "fallback" : indexedTo == toMinute ? "indexed" : "tail";
+        if (totals.isPresent() && indexedTo < toMinute) {
+            WeatherAggregationTotals tail = aggregationRepository.aggregateByStationAndMinuteRange(stationCode,
+                    toLocalDateTime(indexedTo), toLocalDateTime(toMinute - 1));
+            totals = Optional.of(StationMinuteIndex.combine(totals.get(), tail));
+        }
+        meterRegistry.counter("weather.range.index.lookups", "result", result).increment();
+        return totals;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onWeatherSaved(WeatherSavedEvent event) {
+        synchronized (lock) {
+            for (Weather weather : event.getReadings()) {
+                written(weather.getStationCode(), epochMinuteOf(weather.getCollectedAt()));
+            }
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onWeatherImported(WeatherImportedEvent event) {
+        synchronized (lock) {
+            event.getStationCodes().forEach(stationCode -> written(stationCode, Long.MIN_VALUE));
+        }
+    }
+
+    void load(OffsetDateTime now) {
+        long target = closedMinuteOf(now);
+        long from = target - windowMinutes();
+        synchronized (lock) {
+            writtenMinutes.clear();
+        }
+        Map<String, List<WeatherAggregation>> rows = scan(null, from, target);
+        synchronized (lock) {
+            rows.forEach((stationCode, minutes) -> install(stationCode, from, target, minutes));
+            watermark = target;
+        }
+        log.info("Indexed the minute aggregates of {} stations since {}", indexes.size(), toLocalDateTime(from));
+    }
+
+    /**
+     * Appends the minutes closed since the last refresh, then reloads the stations that went stale at least one lag
+     * ago.
+     */
+    void refresh(OffsetDateTime now) {
+        long target = closedMinuteOf(now);
+        long from = watermark;
+        if (target > from) {
+            synchronized (lock) {
+                writtenMinutes.clear();
+            }
+            Map<String, List<WeatherAggregation>> rows = scan(null, from, target);
+            synchronized (lock) {
+                for (StationMinuteIndex index : List.copyOf(indexes.values())) {
+                    String stationCode = index.getStationCode();
+                    if (isWrittenBefore(stationCode, target)) {
+                        markStale(stationCode);
+                    } else {
+                        rows.getOrDefault(stationCode, List.of()).forEach(index::append);
+                        index.advanceTo(target);
+                    }
+                }
+                rows.forEach((stationCode, minutes) -> {
+                    if (!indexes.containsKey(stationCode) && !staleSince.containsKey(stationCode)) {
+                        install(stationCode, from, target, minutes);
+                    }
+                });
+                watermark = target;
+            }
+        }
+        reloadStale();
+    }
+
+    private void reloadStale() {
+        long target = watermark;
+        long readyBefore = target - lagMinutes();
+        List<String> ready = new ArrayList<>();
+        synchronized (lock) {
+            staleSince.forEach((stationCode, since) -> {
+                if (since <= readyBefore) {
+                    ready.add(stationCode);
+                    writtenMinutes.remove(stationCode);
+                }
+            });
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+        long from = target - windowMinutes();
+        Map<String, List<WeatherAggregation>> rows = scan(ready, from, target);
+        synchronized (lock) {
+            for (String stationCode : ready) {
+                if (staleSince.remove(stationCode) != null) {
+                    install(stationCode, from, target, rows.getOrDefault(stationCode, List.of()));
+                }
+            }
+        }
+    }
+
+    private Map<String, List<WeatherAggregation>> scan(List<String> stationCodes, long from, long to) {
+        Map<String, List<WeatherAggregation>> rows = new HashMap<>();
+        scanRepository.scan(stationCodes, toLocalDateTime(from), toLocalDateTime(to), aggregate ->
+                rows.computeIfAbsent(aggregate.getStationCode(), code -> new ArrayList<>()).add(aggregate));
+        return rows;
+    }
+
+    private void install(String stationCode, long from, long target, List<WeatherAggregation> minutes) {
+        if (isWrittenBefore(stationCode, target)) {
+            staleSince.put(stationCode, watermark);
+            return;
+        }
+        if (indexes.size() >= maxStations()) {
+            return;
+        }
+        StationMinuteIndex index = new StationMinuteIndex(stationCode, windowMinutes(), from);
+        minutes.forEach(index::append);
+        index.advanceTo(target);
+        indexes.put(stationCode, index);
+    }
+
+    /**
+     * Records a committed write. An indexed station whose write falls in an indexed minute is dropped, and a scan in
+     * flight skips the station when the write falls in the minutes it reads.
+     */
+    private void written(String stationCode, long minute) {
+        writtenMinutes.merge(stationCode, minute, Math::min);
+        StationMinuteIndex index = indexes.get(stationCode);
+        if (index != null && minute < index.getEndMinute()) {
+            markStale(stationCode);
+        } else if (minute == Long.MIN_VALUE) {
+            staleSince.put(stationCode, watermark);
+        }
+    }
+
+    private void markStale(String stationCode) {
+        indexes.remove(stationCode);
+        staleSince.put(stationCode, watermark);
+    }
+
+    private boolean isWrittenBefore(String stationCode, long minute) {
+        Long written = writtenMinutes.get(stationCode);
+        return written != null && written < minute;
+    }
+
+    private int windowMinutes() {
+        return windowDays * 24 * 60;
+    }
+
+    private long lagMinutes() {
+        return (lagSeconds + 59) / 60;
+    }
+
+    private long maxStations() {
+        return maxBytes / ((long) windowMinutes() * StationMinuteIndex.BYTES_PER_MINUTE);
+    }
+
+    private long closedMinuteOf(OffsetDateTime now) {
+        return epochMinuteOf(now.minusSeconds(lagSeconds));
+    }
+
+    private static long epochMinuteOf(OffsetDateTime time) {
+        return StationMinuteIndex.epochMinuteOf(time);
+    }
+
+    private static long epochMinuteOf(LocalDateTime utc) {
+        return Math.floorDiv(utc.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    Set<String> indexedStations() {
+        return Set.copyOf(indexes.keySet());
+    }
+}
@@ -0,0 +1,132 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.repository.WeatherRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding-window average temperature, humidity and wind speed per station, kept in memory from the ingest path by
+ * {@link WeatherAlertService}.
+ * <p>
+ * Each station has a ring of one-second buckets (a sum per metric and a count) covering
+ * {@code alert.temperature.window.seconds}, which despite its name is the window of all three metrics, keyed by the
+ * second the reading was collected in. Each average over the window is the same as
+ * {@code AVG(metric) WHERE collected_at BETWEEN now - window AND now} at one-second resolution; the ring is seeded from
+ * the database on startup so the first evaluations after a restart see the same readings as the query would.
+ */
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class ReadingWindowEngine {
+
+    static final int TEMPERATURE = 0;
+    static final int HUMIDITY = 1;
+    static final int WIND_SPEED = 2;
+    private static final int METRICS = 3;
+
+    private final WeatherRepository weatherRepository;
+
+    private final Map<String, StationWindow> windows = new ConcurrentHashMap<>();
+
+    @Value("${alert.temperature.window.seconds:30}")
+    private long windowSeconds;
+
+    @PostConstruct
+    public void warmUp() {
+        weatherRepository.findAllByCollectedAtGreaterThanEqual(OffsetDateTime.now().minusSeconds(windowSeconds))
+                .forEach(this::record);
+    }
+
+    public void record(Weather weather) {
+        long second = weather.getCollectedAt().toEpochSecond();
+        windows.compute(weather.getStationCode(), (stationCode, window) -> {
+            StationWindow target = window == null ? new StationWindow((int) windowSeconds + 1) : window;
+            target.add(second, weather.getTemperature(), weather.getHumidity(), weather.getWindSpeed());
+            return target;
+        });
+    }
+
+    /**
+     * Averages of a station over {@code [currentTime - window, currentTime]}, indexed by {@link #TEMPERATURE},
+     * {@link #HUMIDITY} and {@link #WIND_SPEED}, or null when it has no readings in the window. Costs one pass over the
+     * station's ring, whatever the number of stations.
+     */
+    public double[] averagesAt(String stationCode, OffsetDateTime currentTime) {
+        StationWindow window = windows.get(stationCode);
+        if (window == null) {
+            return null;
+        }
+        double[] sumsAndCount = window.sumsAndCount(currentTime.minusSeconds(windowSeconds).toEpochSecond(),
+                currentTime.toEpochSecond());
+        double count = sumsAndCount[METRICS];
+        if (count == 0) {
+            return null;
+        }
+        double[] averages = new double[METRICS];
+        for (int metric = 0; metric < METRICS; metric++) {
+            averages[metric] = sumsAndCount[metric] / count;
+        }
+        return averages;
+    }
+
+    /**
+     * Ring of per-second buckets. A bucket is reset when it's reused for a later second; readings older than the
+     * second currently held by their bucket fell out of the ring and are ignored.
+     */
+    static final class StationWindow {
+
+        private final long[] seconds;
+        private final double[][] sums;
+        private final long[] counts;
+
+        StationWindow(int size) {
+            seconds = new long[size];
+            sums = new double[METRICS][size];
+            counts = new long[size];
+            Arrays.fill(seconds, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long second, double temperature, double humidity, double windSpeed) {
+            int i = Math.floorMod(second, seconds.length);
+            if (seconds[i] != second) {
+                if (seconds[i] > second) {
+                    return;
+                }
+                seconds[i] = second;
+                for (double[] metricSums : sums) {
+                    metricSums[i] = 0;
+                }
+                counts[i] = 0;
+            }
+            sums[TEMPERATURE][i] += temperature;
+            sums[HUMIDITY][i] += humidity;
+            sums[WIND_SPEED][i] += windSpeed;
+            counts[i]++;
+        }
+
+        /**
+         * Sums of each metric followed by the reading count, over the buckets of {@code [fromSecond, toSecond]}.
+         */
+        synchronized double[] sumsAndCount(long fromSecond, long toSecond) {
+            double[] sumsAndCount = new double[METRICS + 1];
+            for (int i = 0; i < seconds.length; i++) {
+                if (seconds[i] >= fromSecond && seconds[i] <= toSecond) {
+                    for (int metric = 0; metric < METRICS; metric++) {
+                        sumsAndCount[metric] += sums[metric][i];
+                    }
+                    sumsAndCount[METRICS] += counts[i];
+                }
+            }
+            return sumsAndCount;
+        }
+    }
+}
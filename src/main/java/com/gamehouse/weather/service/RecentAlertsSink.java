@@ -0,0 +1,41 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.Alert;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the last {@code alert.sink.recent.capacity} alerts in a ring buffer for {@code GET /alerts}. Adding an alert
+ * only stores a reference, so the lock is held for a few nanoseconds.
+ */
+@Component
+public class RecentAlertsSink implements AlertSink {
+
+    private final Alert[] ring;
+    private long added;
+
+    public RecentAlertsSink(@Value("${alert.sink.recent.capacity:1000}") int capacity) {
+        this.ring = new Alert[capacity];
+    }
+
+    @Override
+    public synchronized void accept(Alert alert) {
+        ring[(int) (added % ring.length)] = alert;
+        added++;
+    }
+
+    /**
+     * Up to {@code limit} of the kept alerts, newest first.
+     */
+    public synchronized List<Alert> latest(int limit) {
+        int count = (int) Math.min(Math.min(limit, ring.length), added);
+        List<Alert> alerts = new ArrayList<>(Math.max(count, 0));
+        for (long i = added - 1; i >= added - count; i--) {
+            alerts.add(ring[(int) (i % ring.length)]);
+        }
+        return alerts;
+    }
+}
@@ -0,0 +1,165 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.repository.RetentionRepository;
+import com.gamehouse.weather.repository.RetentionRepository.AggregateTable;
+import com.gamehouse.weather.repository.StationRepository;
+import com.gamehouse.weather.repository.WeatherAggregationBatchRepository;
+import com.gamehouse.weather.repository.WeatherPartitionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Scheduled pruning of raw readings and of each aggregate level, each with its own retention in days (0 keeps
+ * everything). Retentions are applied at UTC day boundaries.
+ * <p>
+ * Before raw readings are removed, {@code weather_aggregation} is checked to cover them, chunk by chunk, except for
+ * minutes already past {@code retention.minute.days}: those were rolled up when they were first written, and writing
+ * them back would add them to the hour, day and month rollups a second time. Whole expired
+ * days are then dropped as partitions, and readings left in the default partition are deleted in bounded chunks.
+ * Aggregate levels are pruned station by station in bounded chunks. Rows pruned per level are counted in
+ * {@code weather.retention.rows.pruned}, dropped partitions in {@code weather.retention.partitions.dropped}, and each
+ * run is timed in {@code weather.retention.run}. Runs that prune anything clear the {@link RangeAggregationCache}, as
+ * raw pruning may recompute minutes and aggregate pruning removes rows under cached ranges.
+ */
+@Slf4j
+@Lazy(false)
+@Service
+@RequiredArgsConstructor
+public class RetentionService {
+
+    private final RetentionRepository retentionRepository;
+    private final WeatherPartitionRepository partitionRepository;
+    private final WeatherAggregationBatchRepository aggregationBatchRepository;
+    private final StationRepository stationRepository;
+    private final MeterRegistry meterRegistry;
+    private final RangeAggregationCache rangeAggregationCache;
+
+    @Value("${retention.raw.days:0}")
+    private int rawDays;
+
+    @Value("${retention.minute.days:0}")
+    private int minuteDays;
+
+    @Value("${retention.hour.days:0}")
+    private int hourDays;
+
+    @Value("${retention.day.days:0}")
+    private int dayDays;
+
+    @Value("${retention.month.days:0}")
+    private int monthDays;
+
+    @Value("${retention.chunk.size:10000}")
+    private int chunkSize;
+
+    @Value("${retention.coverage.chunk.minutes:60}")
+    private int coverageChunkMinutes;
+
+    @Scheduled(cron = "${retention.cron:0 15 * * * *}")
+    public void prune() {
+        prune(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    void prune(LocalDate today) {
+        meterRegistry.timer("weather.retention.run").record(() -> {
+            boolean pruned = false;
+            if (rawDays > 0) {
+                OffsetDateTime coverageFloor =
+                        minuteDays > 0 ? startOf(today.minusDays(minuteDays)) : OffsetDateTime.MIN;
+                pruned = pruneRaw(today.minusDays(rawDays), coverageFloor);
+            }
+            Map<AggregateTable, Integer> aggregateDays = new EnumMap<>(AggregateTable.class);
+            aggregateDays.put(AggregateTable.MINUTE, minuteDays);
+            aggregateDays.put(AggregateTable.HOUR, hourDays);
+            aggregateDays.put(AggregateTable.DAY, dayDays);
+            aggregateDays.put(AggregateTable.MONTH, monthDays);
+            for (Map.Entry<AggregateTable, Integer> entry : aggregateDays.entrySet()) {
+                if (entry.getValue() > 0) {
+                    pruned |= pruneAggregates(entry.getKey(), today.minusDays(entry.getValue()).atStartOfDay());
+                }
+            }
+            if (pruned) {
+                rangeAggregationCache.invalidateAll();
+            }
+        });
+    }
+
+    private boolean pruneRaw(LocalDate cutoffDay, OffsetDateTime coverageFloor) {
+        int droppedPartitions = 0;
+        for (LocalDate day : partitionRepository.findPartitionDaysBefore(cutoffDay)) {
+            ensureCoverage(max(startOf(day), coverageFloor), startOf(day.plusDays(1)));
+            droppedPartitions += partitionRepository.dropPartitionsBefore(day.plusDays(1));
+        }
+        meterRegistry.counter("weather.retention.partitions.dropped").increment(droppedPartitions);
+
+        OffsetDateTime cutoff = startOf(cutoffDay);
+        Optional<OffsetDateTime> oldest = retentionRepository.findOldestRawBefore(cutoff);
+        long deleted = 0;
+        if (oldest.isPresent()) {
+            OffsetDateTime coverageFrom = max(oldest.get(), coverageFloor);
+            if (coverageFrom.isBefore(cutoff)) {
+                aggregationBatchRepository.ensureCoverage(coverageFrom, cutoff);
+            }
+            int chunk;
+            do {
+                chunk = retentionRepository.deleteRawChunkBefore(cutoff, chunkSize);
+                deleted += chunk;
+            } while (chunk == chunkSize);
+        }
+        meterRegistry.counter("weather.retention.rows.pruned", "level", "raw").increment(deleted);
+
+        if (droppedPartitions > 0 || deleted > 0) {
+            log.info("Pruned raw readings before {}: {} partitions dropped, {} rows deleted", cutoffDay,
+                    droppedPartitions, deleted);
+            return true;
+        }
+        return false;
+    }
+
+    private void ensureCoverage(OffsetDateTime from, OffsetDateTime to) {
+        for (OffsetDateTime chunkStart = from; chunkStart.isBefore(to); chunkStart = chunkStart.plusMinutes(coverageChunkMinutes)) {
+            OffsetDateTime chunkEnd = chunkStart.plusMinutes(coverageChunkMinutes);
+            aggregationBatchRepository.ensureCoverage(chunkStart, chunkEnd.isBefore(to) ? chunkEnd : to);
+        }
+    }
+
+    private boolean pruneAggregates(AggregateTable table, LocalDateTime cutoff) {
+        List<String> stationCodes = stationRepository.findAllCodes();
+        long deleted = 0;
+        for (String stationCode : stationCodes) {
+            int chunk;
+            do {
+                chunk = retentionRepository.deleteAggregateChunkBefore(table, stationCode, cutoff, chunkSize);
+                deleted += chunk;
+            } while (chunk == chunkSize);
+        }
+        meterRegistry.counter("weather.retention.rows.pruned", "level", table.name().toLowerCase()).increment(deleted);
+
+        if (deleted > 0) {
+            log.info("Pruned {} {} aggregates before {}", deleted, table.name().toLowerCase(), cutoff);
+        }
+        return deleted > 0;
+    }
+
+    private static OffsetDateTime max(OffsetDateTime first, OffsetDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static OffsetDateTime startOf(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,38 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.repository.WeatherRollupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the hour, day and month rollups off the ingest path: every {@code weather.rollup.drain.interval.seconds} the
+ * minute deltas left by ingest are moved into the rollups in chunks of {@code weather.rollup.drain.chunk.size}, each
+ * chunk in its own statement, until none are left. Range reads add the deltas still pending, so the interval only
+ * bounds how many they have to add. Drained deltas are counted in {@code weather.rollup.drained}.
+ */
+@Lazy(false)
+@Service
+@RequiredArgsConstructor
+public class RollupDrainer {
+
+    private final WeatherRollupRepository rollupRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${weather.rollup.drain.chunk.size:10000}")
+    private int chunkSize;
+
+    @Scheduled(fixedDelayString = "${weather.rollup.drain.interval.seconds:1}", timeUnit = TimeUnit.SECONDS)
+    public void drain() {
+        int drained;
+        do {
+            drained = rollupRepository.drainChunk(chunkSize);
+            meterRegistry.counter("weather.rollup.drained").increment(drained);
+        } while (drained >= chunkSize);
+    }
+}
@@ -1,77 +1,309 @@
 package com.gamehouse.weather.service;
 
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.Alert;
+import com.gamehouse.weather.model.AlertRule;
+import com.gamehouse.weather.model.AlertRuleSet;
+import com.gamehouse.weather.model.Station;
 import com.gamehouse.weather.model.Weather;
-import com.gamehouse.weather.repository.WeatherRepository;
+import com.gamehouse.weather.repository.StationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.env.Environment;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Evaluates the alert rules as readings arrive instead of polling the database.
+ * <p>
+ * Rules come from {@link AlertRuleRegistry}. Committed readings are recorded in {@link ReadingWindowEngine} and the
+ * threshold rules are evaluated right away for each station they belong to: the station is alerted while the window
+ * average of its temperature, humidity or wind speed is above or below the threshold that applies to it, and its alert
+ * is cleared once a reading brings the average back. Rules are looked up in the station's flat threshold array, so a
+ * station costs the same whatever the number of rules.
+ * <p>
+ * Missing data is detected with a heap of deadlines, one per reporting station with a missing data rule, at its last
+ * reception plus the rule's seconds. A single watcher thread sleeps until the earliest deadline; a station that
+ * reported in the meantime is pushed back to its new deadline, and one that didn't is alerted within milliseconds of
+ * the deadline. An alerted station is pushed back {@code alert.repeat.seconds} later and alerted again each time until
+ * it reports; with a repeat of 0 it is alerted once and leaves the heap until it reports again. A rule change
+ * applies at the station's next report or pending deadline. Deadlines are seeded from the {@code station} table once
+ * the application is ready.
+ * <p>
+ * Evaluation time is recorded in the {@code weather.alert.evaluation} timer tagged by {@code rule}, and the pending
+ * deadlines are published as {@code weather.alert.deadlines}.
+ */
+@Slf4j
+@Lazy(false)
 @Service
 @RequiredArgsConstructor
 public class WeatherAlertService {
 
-    private static final String ALERT_TEMPERATURE_THRESHOLD_ENV_VARIABLE_NAME = "ALERT_TEMPERATURE_THRESHOLD";
-    private static final String EVERY_TEN_SECONDS_CRON = "0/10 * * * * *";
-    private static final String EVERY_THIRTY_SECONDS_CRON = "0,30 * * * * *";
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String MISSING_DATA_RULE = "missing_data";
+    private static final String THRESHOLD_RULE = "threshold";
+    private static final long UNSCHEDULED = Long.MIN_VALUE;
 
-    private final Environment env;
-    private final WeatherRepository weatherRepository;
+    // Metrics averaged by ReadingWindowEngine, in the order of its averages, and the alerts they raise.
+    private static final AlertRule.Metric[] WINDOW_METRICS = {
+            AlertRule.Metric.TEMPERATURE, AlertRule.Metric.HUMIDITY, AlertRule.Metric.WIND_SPEED};
+    private static final Alert.Type[] THRESHOLD_ALERTS = {
+            Alert.Type.TEMPERATURE_THRESHOLD, Alert.Type.HUMIDITY_THRESHOLD, Alert.Type.WIND_SPEED_THRESHOLD};
+    private static final String[] METRIC_NAMES = {"temperature", "humidity", "wind speed"};
 
-    @Value("${alert.missing.data.window.seconds:30}")
-    private long missingDataWindowSeconds;
+    private final StationRepository stationRepository;
+    private final ReadingWindowEngine readingWindowEngine;
+    private final AlertDispatcher alertDispatcher;
+    private final AlertRuleRegistry alertRuleRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, StationDeadline> stations = new ConcurrentHashMap<>();
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>(Comparator.comparingLong(Deadline::at));
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition earlierDeadline = lock.newCondition();
+
+    private Thread watcher;
+    private volatile boolean running;
 
     @Value("${alert.temperature.window.seconds:30}")
     private long temperatureWindowSeconds;
 
-    @Scheduled(cron = EVERY_THIRTY_SECONDS_CRON)
-    public void alertMissingData() {
-        List<String> stationCodes = weatherRepository.findAllDistinctStationCodes();
-        OffsetDateTime currentTime = OffsetDateTime.now();
-        List<String> missingStations = new ArrayList<>();
-
-        for (String stationCode : stationCodes) {
-            Optional<Weather> latestEntry = weatherRepository.findFirstByStationCodeOrderByReceivedAtDesc(stationCode);
-            if (latestEntry.isPresent() && latestEntry.get().getReceivedAt() != null &&
-                    latestEntry.get().getReceivedAt().isBefore(currentTime.minusSeconds(missingDataWindowSeconds))) {
-                missingStations.add(stationCode);
+    @Value("${alert.repeat.seconds:300}")
+    private long repeatSeconds;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Gauge.builder("weather.alert.deadlines", this, service -> service.pendingDeadlines())
+                .description("Stations waiting for their next report")
+                .register(meterRegistry);
+        for (Station station : stationRepository.findAll()) {
+            received(station.getCode(), station.getLastReceivedAt().toInstant().toEpochMilli());
+        }
+        running = true;
+        watcher = new Thread(this::watch, "alert-deadlines");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onWeatherSaved(WeatherSavedEvent event) {
+        Set<String> stationCodes = new LinkedHashSet<>();
+        for (Weather weather : event.getReadings()) {
+            readingWindowEngine.record(weather);
+            received(weather.getStationCode(), weather.getReceivedAt().toInstant().toEpochMilli());
+            stationCodes.add(weather.getStationCode());
+        }
+        AlertRuleSet rules = alertRuleRegistry.current();
+        OffsetDateTime currentTime = OffsetDateTime.now(ZoneOffset.UTC);
+        evaluationTimer(THRESHOLD_RULE).record(() ->
+                stationCodes.forEach(stationCode -> evaluateThresholds(rules, stationCode, currentTime)));
+    }
+
+    private void evaluateThresholds(AlertRuleSet rules, String stationCode, OffsetDateTime currentTime) {
+        double[] thresholds = rules.thresholdsOf(stationCode);
+        double[] averages = readingWindowEngine.averagesAt(stationCode, currentTime);
+        for (int i = 0; i < WINDOW_METRICS.length; i++) {
+            double above = thresholds[AlertRuleSet.slot(WINDOW_METRICS[i], AlertRule.Condition.ABOVE)];
+            double below = thresholds[AlertRuleSet.slot(WINDOW_METRICS[i], AlertRule.Condition.BELOW)];
+            // Comparisons with a NaN threshold are false, so metrics without rules are cleared.
+            if (averages != null && averages[i] > above) {
+                raiseThreshold(i, stationCode, currentTime, averages[i], above, "above");
+            } else if (averages != null && averages[i] < below) {
+                raiseThreshold(i, stationCode, currentTime, averages[i], below, "below");
+            } else {
+                alertDispatcher.clear(THRESHOLD_ALERTS[i], stationCode);
             }
         }
+    }
+
+    private void raiseThreshold(int metric, String stationCode, OffsetDateTime currentTime, double average,
+                                double threshold, String condition) {
+        alertDispatcher.raise(new Alert(THRESHOLD_ALERTS[metric], stationCode, currentTime, average, threshold,
+                "Station " + stationCode + " had a " + temperatureWindowSeconds + "-second average "
+                        + METRIC_NAMES[metric] + " of " + average + " (" + condition + " " + threshold + ")"));
+    }
 
-        if (!missingStations.isEmpty()) {
-            System.out.println(FORMATTER.format(currentTime) + " ALERT Missing data from stations:");
-            missingStations.forEach(code -> System.out.println("  - " + code));
+    /**
+     * Records the station's reception, clearing its missing data alert. The station is pushed on the heap at the end of
+     * its missing data window unless it already has an entry due no later; otherwise the watcher picks up the later
+     * deadline when the earlier entry comes due. An entry replaced by an earlier one is skipped when it comes due.
+     * Stations without a missing data rule are not scheduled.
+     */
+    private void received(String stationCode, long receivedAtMillis) {
+        long windowMillis = alertRuleRegistry.current().missingDataMillis(stationCode);
+        StationDeadline station = windowMillis == Long.MAX_VALUE ? stations.get(stationCode)
+                : stations.computeIfAbsent(stationCode, code -> new StationDeadline());
+        if (station == null) {
+            return;
+        }
+        long deadline;
+        boolean wasMissing;
+        boolean schedule;
+        synchronized (station) {
+            station.lastReceived = Math.max(station.lastReceived, receivedAtMillis);
+            wasMissing = station.missing;
+            station.missing = false;
+            deadline = windowMillis == Long.MAX_VALUE ? Long.MAX_VALUE : station.lastReceived + windowMillis;
+            schedule = deadline != Long.MAX_VALUE
+                    && (station.scheduledAt == UNSCHEDULED || station.scheduledAt > deadline);
+            if (schedule) {
+                station.scheduledAt = deadline;
+            }
+        }
+        if (schedule) {
+            schedule(new Deadline(stationCode, deadline));
+        }
+        if (wasMissing) {
+            alertDispatcher.clear(Alert.Type.MISSING_DATA, stationCode);
+        }
+    }
+
+    private void schedule(Deadline deadline) {
+        lock.lock();
+        try {
+            deadlines.add(deadline);
+            if (deadlines.peek() == deadline) {
+                earlierDeadline.signal();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    @Scheduled(cron = EVERY_TEN_SECONDS_CRON)
-    public void alertTemperatureThreshold() {
-        String thresholdProp = env.getProperty(ALERT_TEMPERATURE_THRESHOLD_ENV_VARIABLE_NAME);
-        if (thresholdProp != null) {
-            double temperatureThreshold = Double.parseDouble(thresholdProp);
-
-            OffsetDateTime currentTime = OffsetDateTime.now();
-            List<String> stationCodes = weatherRepository.findAllDistinctStationCodes();
-
-            for (String stationCode : stationCodes) {
-                Double averageTemperature = weatherRepository.findStationAverageTemperatureBetween(
-                        stationCode,
-                        currentTime.minusSeconds(temperatureWindowSeconds),
-                        currentTime
-                );
-                if (averageTemperature != null && averageTemperature > temperatureThreshold) {
-                    System.out.println(FORMATTER.format(currentTime) + " ALERT Station " + stationCode
-                            + " had a 30-second average of " + averageTemperature + "ºC");
+    private void watch() {
+        while (running) {
+            fireDue(System.currentTimeMillis());
+            lock.lock();
+            try {
+                Deadline next = deadlines.peek();
+                long waitMillis = next == null ? Long.MAX_VALUE : next.at() - System.currentTimeMillis();
+                if (waitMillis > 0) {
+                    earlierDeadline.await(waitMillis, TimeUnit.MILLISECONDS);
                 }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
             }
         }
     }
+
+    /**
+     * Pops the deadlines due at {@code nowMillis}, alerting the stations that haven't reported within their current
+     * missing data window and pushing the others back to their new deadline. Alerted stations are pushed back
+     * {@code alert.repeat.seconds} later, and stations whose rule was removed leave the heap.
+     */
+    void fireDue(long nowMillis) {
+        List<Deadline> due = new ArrayList<>();
+        lock.lock();
+        try {
+            while (!deadlines.isEmpty() && deadlines.peek().at() <= nowMillis) {
+                due.add(deadlines.poll());
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        AlertRuleSet rules = alertRuleRegistry.current();
+        evaluationTimer(MISSING_DATA_RULE).record(() -> {
+            for (Deadline deadline : due) {
+                String stationCode = deadline.stationCode();
+                long windowMillis = rules.missingDataMillis(stationCode);
+                StationDeadline station = stations.get(stationCode);
+                long current;
+                long next;
+                synchronized (station) {
+                    if (station.scheduledAt != deadline.at()) {
+                        continue;
+                    }
+                    current = windowMillis == Long.MAX_VALUE ? Long.MAX_VALUE : station.lastReceived + windowMillis;
+                    if (current == Long.MAX_VALUE) {
+                        next = UNSCHEDULED;
+                    } else if (current > nowMillis) {
+                        next = current;
+                    } else {
+                        station.missing = true;
+                        next = repeatSeconds > 0 ? nowMillis + TimeUnit.SECONDS.toMillis(repeatSeconds) : UNSCHEDULED;
+                    }
+                    station.scheduledAt = next;
+                }
+                if (current <= nowMillis) {
+                    raiseMissingData(stationCode, nowMillis, windowMillis);
+                }
+                if (next != UNSCHEDULED) {
+                    schedule(new Deadline(stationCode, next));
+                }
+            }
+        });
+    }
+
+    private void raiseMissingData(String stationCode, long nowMillis, long windowMillis) {
+        OffsetDateTime currentTime = OffsetDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), ZoneOffset.UTC);
+        alertDispatcher.raise(new Alert(Alert.Type.MISSING_DATA, stationCode, currentTime, null, null,
+                "No data from station " + stationCode + " in the last "
+                        + TimeUnit.MILLISECONDS.toSeconds(windowMillis) + " seconds"));
+        // Its metric windows have emptied unless they are longer than the missing data window.
+        for (Alert.Type type : THRESHOLD_ALERTS) {
+            alertDispatcher.clear(type, stationCode);
+        }
+    }
+
+    private Timer evaluationTimer(String rule) {
+        return Timer.builder("weather.alert.evaluation")
+                .description("Time spent evaluating an alert rule")
+                .tag("rule", rule)
+                .register(meterRegistry);
+    }
+
+    int pendingDeadlines() {
+        lock.lock();
+        try {
+            return deadlines.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Deadline(String stationCode, long at) {
+    }
+
+    private static final class StationDeadline {
+        private long lastReceived = Long.MIN_VALUE;
+        // Time of the station's live heap entry; other entries of the station are stale.
+        private long scheduledAt = UNSCHEDULED;
+        private boolean missing;
+    }
 }
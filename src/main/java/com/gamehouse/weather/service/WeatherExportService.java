@@ -0,0 +1,117 @@
+package com.gamehouse.weather.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gamehouse.weather.dto.ReadingsExport;
+import com.gamehouse.weather.dto.ReadingsFormat;
+import com.gamehouse.weather.dto.mapper.WeatherMapper;
+import com.gamehouse.weather.model.ReadingCursor;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.repository.WeatherReadingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Streams a station's raw readings as NDJSON or CSV. Rows are written as they are fetched from a server-side cursor,
+ * so heap use doesn't depend on the size of the export. With a limit, the export is one keyset page and the token of
+ * the next page, if any, is resolved before streaming starts so it can be sent as a header.
+ * <p>
+ * The stream is bounded by the token's own position rather than by a row count, so it always ends exactly where the
+ * next page resumes, even when readings are committed inside the page between the two queries: such readings make the
+ * page longer instead of pushing a row past the token. Without a next page, the stream runs to the end of the range.
+ */
+@Service
+@RequiredArgsConstructor
+public class WeatherExportService {
+
+    private static final String CSV_HEADER = "id,station_code,collected_at,received_at,temperature,humidity,wind_speed\n";
+
+    private final WeatherReadingRepository readingRepository;
+    private final WeatherMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${weather.export.page.max.size:100000}")
+    private long maxPageSize;
+
+    public ReadingsExport export(String stationCode, OffsetDateTime start, OffsetDateTime end,
+                                 ReadingsFormat format, Long limit, String pageToken) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End must not be before start");
+        }
+        if (limit != null && (limit < 1 || limit > maxPageSize)) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        ReadingCursor after = pageToken == null ? new ReadingCursor(start, 0) : ReadingCursor.decode(pageToken);
+        Optional<ReadingCursor> pageEnd = limit == null ? Optional.empty()
+                : readingRepository.findPageEnd(stationCode, start, end, after, limit);
+        ReadingCursor until = pageEnd.orElse(new ReadingCursor(end, Long.MAX_VALUE));
+        String nextPageToken = pageEnd.map(ReadingCursor::encode).orElse(null);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        StreamingResponseBody body = outputStream -> transactionTemplate.executeWithoutResult(status ->
+                write(format, outputStream, sink -> readingRepository.stream(stationCode, start, end, after, until, sink)));
+        return new ReadingsExport(format, nextPageToken, body);
+    }
+
+    private void write(ReadingsFormat format, OutputStream outputStream, Consumer<Consumer<Weather>> source) {
+        try {
+            switch (format) {
+                case NDJSON -> writeNdjson(outputStream, source);
+                case CSV -> writeCsv(outputStream, source);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeNdjson(OutputStream outputStream, Consumer<Consumer<Weather>> source) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        source.accept(weather -> {
+            try {
+                writer.writeValue(generator, mapper.toDto(weather));
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private void writeCsv(OutputStream outputStream, Consumer<Consumer<Weather>> source) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        source.accept(weather -> {
+            try {
+                writer.write(weather.getId() + "," + weather.getStationCode() + ","
+                        + weather.getCollectedAt().toInstant() + ","
+                        + weather.getReceivedAt().toInstant() + ","
+                        + weather.getTemperature() + "," + weather.getHumidity() + "," + weather.getWindSpeed() + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+}
@@ -0,0 +1,57 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.dto.ReadingsFormat;
+import com.gamehouse.weather.dto.WeatherImportResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import: started with {@code --weather.import.file=<path>}, the application imports the file without
+ * starting the web server and exits. The format is taken from {@code weather.import.format}, or from the file extension
+ * when unset.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = WeatherImportRunner.FILE_PROPERTY)
+@RequiredArgsConstructor
+public class WeatherImportRunner implements ApplicationRunner {
+
+    public static final String FILE_PROPERTY = "weather.import.file";
+
+    private final WeatherImportService importService;
+
+    @Value("${" + FILE_PROPERTY + "}")
+    private String file;
+
+    @Value("${weather.import.format:}")
+    private String format;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path path = Path.of(file);
+        ReadingsFormat readingsFormat = format.isBlank() ? formatOf(path) : ReadingsFormat.from(format);
+        log.info("Importing {} as {}", path, readingsFormat);
+
+        WeatherImportResponse response;
+        try (InputStream input = Files.newInputStream(path)) {
+            response = importService.importReadings(input, readingsFormat);
+        }
+        response.getErrors().forEach(error -> log.warn("Rejected {}", error));
+        log.info("Import of {} finished: {} imported, {} rejected", path, response.getImported(),
+                response.getRejected());
+    }
+
+    static ReadingsFormat formatOf(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith(".csv") ? ReadingsFormat.CSV : ReadingsFormat.NDJSON;
+    }
+}
@@ -0,0 +1,292 @@
+package com.gamehouse.weather.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.gamehouse.weather.dto.ReadingsFormat;
+import com.gamehouse.weather.dto.WeatherImportResponse;
+import com.gamehouse.weather.dto.WeatherRequest;
+import com.gamehouse.weather.event.WeatherImportedEvent;
+import com.gamehouse.weather.repository.WeatherAggregationBatchRepository;
+import com.gamehouse.weather.repository.WeatherCopyRepository;
+import com.gamehouse.weather.repository.WeatherPartitionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bulk import of readings from CSV or NDJSON, for backfills far larger than {@code POST /weather/batch} takes.
+ * <p>
+ * The input is read in two passes. The first one, outside any transaction, checks every record against the same
+ * constraints as {@code POST /weather} and spools the valid ones to a temporary file; rejected records are counted and
+ * reported without failing the import. Days without a partition then get one, each in its own short transaction, so
+ * the locks {@code create_weather_partition} takes on {@code weather} and {@code weather_default} are never held for
+ * the length of the copy and backfilled history doesn't land in {@code weather_default}. The second pass streams the
+ * spooled readings through {@code COPY} into a staging table in one transaction with the aggregation trigger switched
+ * off, then moves them into {@code weather} and merges their minute aggregates into the stored ones set-based, in one
+ * statement. Only the imported readings are aggregated, so live readings stored meanwhile and minutes whose readings
+ * retention already removed keep their counts.
+ * <p>
+ * Imported readings are stored as received at the time they were collected, so a backfill never outranks the live
+ * readings in {@code GET /weather/{stationCode}/last} or moves a station's {@code last_received_at} past its last live
+ * report. They don't feed the in-memory window engine; the imported stations are evicted from
+ * {@link LatestWeatherCache} instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WeatherImportService {
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("station_code", "collected_at", "temperature", "humidity", "wind_speed");
+
+    private final WeatherCopyRepository copyRepository;
+    private final WeatherPartitionRepository partitionRepository;
+    private final WeatherAggregationBatchRepository aggregationBatchRepository;
+    private final WeatherService weatherService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${weather.import.max.reported.errors:100}")
+    private int maxReportedErrors;
+
+    public WeatherImportResponse importReadings(InputStream input, ReadingsFormat format) {
+        long startNanos = System.nanoTime();
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("weather-import-", ".csv");
+            Validated validated = validate(input, format, spool);
+
+            Set<LocalDate> partitionDays = new HashSet<>(partitionRepository.findPartitionDays());
+            validated.days().stream()
+                    .filter(day -> !partitionDays.contains(day))
+                    .sorted()
+                    .forEach(partitionRepository::createPartition);
+
+            Path spooled = spool;
+            long[] importedAndRebuilt = validated.valid() == 0 ? new long[2]
+                    : new TransactionTemplate(transactionManager).execute(status ->
+                    copyAndRebuild(spooled, validated.stationCodes()));
+            long imported = importedAndRebuilt[0];
+
+            meterRegistry.counter("weather.import.records", "result", "imported").increment(imported);
+            meterRegistry.counter("weather.import.records", "result", "rejected").increment(validated.rejected());
+            log.info("Imported {} readings ({} rejected) and merged {} minute aggregates in {} ms", imported,
+                    validated.rejected(), importedAndRebuilt[1], (System.nanoTime() - startNanos) / 1_000_000);
+            return new WeatherImportResponse(imported, validated.rejected(), validated.errors());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            delete(spool);
+        }
+    }
+
+    /**
+     * First pass: validates every record and writes the valid ones to {@code spool}, one
+     * {@code station_code,collected_at,temperature,humidity,wind_speed} line each.
+     */
+    private Validated validate(InputStream input, ReadingsFormat format, Path spool) throws IOException {
+        OffsetDateTime importedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        Set<LocalDate> days = new HashSet<>();
+        Set<String> stationCodes = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+        long valid = 0;
+        long rejected = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             Writer writer = Files.newBufferedWriter(spool, StandardCharsets.UTF_8)) {
+            RecordParser parser = format == ReadingsFormat.CSV ? csvParser(reader.readLine()) : jsonParser();
+            long lineNumber = format == ReadingsFormat.CSV ? 1 : 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                WeatherRequest request = null;
+                List<String> lineErrors;
+                try {
+                    request = parser.parse(line);
+                    lineErrors = weatherService.validate(request, importedAt);
+                } catch (IllegalArgumentException e) {
+                    lineErrors = List.of(e.getMessage());
+                }
+                if (!lineErrors.isEmpty()) {
+                    rejected++;
+                    if (errors.size() < maxReportedErrors) {
+                        errors.add("Line " + lineNumber + ": " + String.join(", ", lineErrors));
+                    }
+                    continue;
+                }
+
+                writer.write(request.getStationCode() + "," + request.getCollectedAt() + ","
+                        + request.getTemperature() + "," + request.getHumidity() + "," + request.getWindSpeed() + "\n");
+                days.add(request.getCollectedAt().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate());
+                stationCodes.add(request.getStationCode());
+                valid++;
+            }
+        }
+        return new Validated(valid, rejected, errors, days, stationCodes);
+    }
+
+    /**
+     * Second pass, in the import transaction.
+     *
+     * @return the number of readings copied and of minute aggregates merged
+     */
+    private long[] copyAndRebuild(Path spool, Set<String> stationCodes) {
+        copyRepository.skipAggregationTrigger();
+        long imported = copy(spool);
+        long rebuilt = imported > 0 ? aggregationBatchRepository.mergeStaged() : 0;
+        eventPublisher.publishEvent(new WeatherImportedEvent(stationCodes));
+        return new long[]{imported, rebuilt};
+    }
+
+    /**
+     * Copies the spooled readings, received at the time they were collected.
+     */
+    private long copy(Path spool) {
+        WeatherCopyRepository.Copy copy = copyRepository.startCopy();
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                OffsetDateTime collectedAt = OffsetDateTime.parse(fields[1]);
+                WeatherRequest request = new WeatherRequest(fields[0], collectedAt, Double.valueOf(fields[2]),
+                        Double.valueOf(fields[3]), Double.valueOf(fields[4]));
+                copy.write(weatherService.toEntity(request, collectedAt));
+            }
+            long copied = copy.end();
+            copy = null;
+            return copied;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            cancel(copy);
+        }
+    }
+
+    private static void delete(Path spool) {
+        if (spool == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Failed to delete import spool {}", spool, e);
+        }
+    }
+
+    private static void cancel(WeatherCopyRepository.Copy copy) {
+        if (copy == null) {
+            return;
+        }
+        try {
+            copy.cancel();
+        } catch (IOException e) {
+            log.warn("Failed to cancel import copy", e);
+        }
+    }
+
+    private RecordParser jsonParser() {
+        ObjectReader reader = objectMapper.readerFor(WeatherRequest.class);
+        return line -> {
+            try {
+                return reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed record: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    /**
+     * Columns are matched by header name and unknown ones are ignored, so files written by the CSV export import as
+     * they are.
+     */
+    private static RecordParser csvParser(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input must start with a header row");
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        String[] names = header.split(",", -1);
+        for (int i = 0; i < names.length; i++) {
+            indexes.put(names[i].trim().toLowerCase(), i);
+        }
+        if (!indexes.keySet().containsAll(CSV_COLUMNS)) {
+            throw new IllegalArgumentException("CSV header must contain the columns " + String.join(", ", CSV_COLUMNS));
+        }
+        int stationCode = indexes.get("station_code");
+        int collectedAt = indexes.get("collected_at");
+        int temperature = indexes.get("temperature");
+        int humidity = indexes.get("humidity");
+        int windSpeed = indexes.get("wind_speed");
+
+        return line -> {
+            String[] fields = line.split(",", -1);
+            if (fields.length != names.length) {
+                throw new IllegalArgumentException("Expected " + names.length + " fields but found " + fields.length);
+            }
+            return new WeatherRequest(
+                    emptyToNull(fields[stationCode]),
+                    parseField(fields[collectedAt], "collected_at", OffsetDateTime::parse),
+                    parseField(fields[temperature], "temperature", Double::valueOf),
+                    parseField(fields[humidity], "humidity", Double::valueOf),
+                    parseField(fields[windSpeed], "wind_speed", Double::valueOf));
+        };
+    }
+
+    private static <T> T parseField(String value, String column, Function<String, T> parser) {
+        String trimmed = emptyToNull(value);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            return parser.apply(trimmed);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + trimmed);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record Validated(long valid, long rejected, List<String> errors, Set<LocalDate> days,
+                             Set<String> stationCodes) {
+    }
+
+    @FunctionalInterface
+    private interface RecordParser {
+        WeatherRequest parse(String line);
+    }
+}
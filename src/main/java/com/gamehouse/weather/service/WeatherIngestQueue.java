@@ -0,0 +1,215 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.dto.WeatherRequest;
+import com.gamehouse.weather.exception.IngestQueueFullException;
+import com.gamehouse.weather.model.Weather;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory queue behind {@code POST /weather/async}, enabled with {@code weather.ingest.async.enabled=true}.
+ * <p>
+ * Requests are validated and timestamped on the calling thread and then queued. A small pool of writer threads drains
+ * the queue in group commits of up to {@code weather.ingest.async.batch.size} readings, waiting at most
+ * {@code weather.ingest.async.batch.wait.millis} for a group to fill. A group that fails to commit is retried up to
+ * {@code weather.ingest.async.commit.attempts} times in all, backing off from
+ * {@code weather.ingest.async.commit.backoff.millis} and doubling after each failure. After the last attempt its
+ * readings are committed one by one, so a single bad reading doesn't take the group down with it; only the readings
+ * that still fail are counted in {@code weather.ingest.failed} and dropped. Readings still queued when the service
+ * stops are committed before shutdown completes; readings queued at the time of a crash are lost.
+ * <p>
+ * Each reading is given its {@code weather} id when it is queued, from blocks of
+ * {@code weather.ingest.async.batch.size} ids reserved from the table's sequence, and is stored under that id.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "weather.ingest.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class WeatherIngestQueue {
+
+    private final WeatherService weatherService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${weather.ingest.async.capacity:10000}")
+    private int capacity;
+
+    @Value("${weather.ingest.async.writers:2}")
+    private int writers;
+
+    @Value("${weather.ingest.async.batch.size:500}")
+    private int batchSize;
+
+    @Value("${weather.ingest.async.batch.wait.millis:50}")
+    private long batchWaitMillis;
+
+    @Value("${weather.ingest.async.retry.after.seconds:1}")
+    private long retryAfterSeconds;
+
+    @Value("${weather.ingest.async.commit.attempts:5}")
+    private int commitAttempts;
+
+    @Value("${weather.ingest.async.commit.backoff.millis:100}")
+    private long commitBackoffMillis;
+
+    private final Deque<Long> reservedIds = new ArrayDeque<>();
+
+    private BlockingQueue<Weather> queue;
+    private ExecutorService executor;
+    private DistributionSummary commitBatchSize;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder("weather.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Readings waiting to be committed")
+                .register(meterRegistry);
+        commitBatchSize = DistributionSummary.builder("weather.ingest.commit.batch.size")
+                .description("Readings per group commit")
+                .register(meterRegistry);
+
+        running = true;
+        executor = Executors.newFixedThreadPool(writers, new CustomizableThreadFactory("weather-ingest-"));
+        for (int i = 0; i < writers; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Ingest writers did not finish in time, {} readings were not committed", queue.size());
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues a reading for asynchronous persistence.
+     *
+     * @return the id the reading is stored under once it commits
+     * @throws IngestQueueFullException if the queue has no free capacity
+     */
+    public long submit(WeatherRequest request) {
+        Weather entity = weatherService.toEntity(request, OffsetDateTime.now(ZoneOffset.UTC));
+        if (queue.remainingCapacity() == 0) {
+            throw rejected();
+        }
+        entity.setId(nextId());
+        if (!queue.offer(entity)) {
+            throw rejected();
+        }
+        return entity.getId();
+    }
+
+    private IngestQueueFullException rejected() {
+        meterRegistry.counter("weather.ingest.rejected").increment();
+        return new IngestQueueFullException(retryAfterSeconds);
+    }
+
+    private synchronized long nextId() {
+        if (reservedIds.isEmpty()) {
+            reservedIds.addAll(weatherService.reserveIds(batchSize));
+        }
+        return reservedIds.removeFirst();
+    }
+
+    private void drain() {
+        List<Weather> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                fill(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private void fill(List<Weather> batch) throws InterruptedException {
+        Weather first = queue.poll(batchWaitMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWaitMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Weather next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<Weather> batch) {
+        long backoffMillis = commitBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                weatherService.saveAll(batch);
+                commitBatchSize.record(batch.size());
+                return;
+            } catch (RuntimeException ex) {
+                if (attempt >= commitAttempts) {
+                    log.error("Failed to commit {} queued readings after {} attempts, committing them one by one",
+                            batch.size(), attempt, ex);
+                    commitEach(batch);
+                    return;
+                }
+                meterRegistry.counter("weather.ingest.commit.retries").increment();
+                log.warn("Failed to commit {} queued readings, retrying in {} ms", batch.size(), backoffMillis, ex);
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            backoffMillis *= 2;
+        }
+    }
+
+    private void commitEach(List<Weather> batch) {
+        for (Weather reading : batch) {
+            try {
+                weatherService.saveAll(List.of(reading));
+                commitBatchSize.record(1);
+            } catch (RuntimeException ex) {
+                meterRegistry.counter("weather.ingest.failed").increment();
+                log.error("Failed to commit queued reading {}, dropping it", reading.getId(), ex);
+            }
+        }
+    }
+}
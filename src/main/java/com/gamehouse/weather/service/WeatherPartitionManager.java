@@ -0,0 +1,46 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.repository.WeatherPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the daily partitions of {@code weather} ahead of incoming readings. Runs once at startup and then every
+ * {@code weather.partition.maintenance.interval.minutes}. Expired partitions are dropped by {@link RetentionService}.
+ */
+@Slf4j
+@Lazy(false)
+@Service
+@RequiredArgsConstructor
+public class WeatherPartitionManager {
+
+    private final WeatherPartitionRepository partitionRepository;
+
+    @Value("${weather.partition.premake.days:7}")
+    private int premakeDays;
+
+    @Scheduled(fixedDelayString = "${weather.partition.maintenance.interval.minutes:60}", timeUnit = TimeUnit.MINUTES)
+    public void maintain() {
+        maintain(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    void maintain(LocalDate today) {
+        int created = 0;
+        for (LocalDate day = today.minusDays(1); !day.isAfter(today.plusDays(premakeDays)); day = day.plusDays(1)) {
+            if (partitionRepository.createPartition(day)) {
+                created++;
+            }
+        }
+        if (created > 0) {
+            log.info("Created {} weather partitions up to {}", created, today.plusDays(premakeDays));
+        }
+    }
+}
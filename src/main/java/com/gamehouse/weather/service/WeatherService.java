@@ -2,57 +2,283 @@ package com.gamehouse.weather.service;
 
 
 import com.gamehouse.weather.dto.WeatherAggregationResponse;
+import com.gamehouse.weather.dto.WeatherBatchItemResponse;
+import com.gamehouse.weather.dto.WeatherBatchResponse;
 import com.gamehouse.weather.dto.WeatherRequest;
 import com.gamehouse.weather.dto.WeatherResponse;
+import com.gamehouse.weather.dto.WeatherSeriesResponse;
 import com.gamehouse.weather.dto.mapper.WeatherAggregationMapper;
 import com.gamehouse.weather.dto.mapper.WeatherMapper;
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.AggregationRangePlan;
+import com.gamehouse.weather.model.SeriesBucket;
 import com.gamehouse.weather.model.Weather;
-import com.gamehouse.weather.model.WeatherAggregation;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import com.gamehouse.weather.model.WeatherSeries;
 import com.gamehouse.weather.repository.WeatherAggregationRepository;
+import com.gamehouse.weather.repository.WeatherBatchRepository;
 import com.gamehouse.weather.repository.WeatherRepository;
+import com.gamehouse.weather.repository.WeatherSeriesRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+/**
+ * Ingest and query paths. Database time is recorded in {@code weather.db} timers tagged by {@code operation}, and saved
+ * readings are counted in {@code weather.readings.saved}, tagged by {@code station} when station tags are enabled.
+ */
 @Service
 @RequiredArgsConstructor
 public class WeatherService {
 
+    private static final String FUTURE_COLLECTED_AT_MESSAGE = "Collected time must not be in the future.";
+    private static final int SERIES_INITIAL_CAPACITY = 1024;
+
     private final WeatherRepository repository;
     private final WeatherMapper mapper;
     private final WeatherAggregationRepository weatherAggregationRepository;
     private final WeatherAggregationMapper weatherAggregationMapper;
+    private final WeatherSeriesRepository weatherSeriesRepository;
+    private final WeatherBatchRepository batchRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LatestWeatherCache latestWeatherCache;
+    private final RangeAggregationCache rangeAggregationCache;
+    private final ObjectProvider<RangeAggregationIndex> rangeAggregationIndex;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${weather.batch.max.size:1000}")
+    private int batchMaxSize;
+
+    @Value("${weather.range.max.stations:250}")
+    private int rangeMaxStations;
+
+    @Value("${weather.series.max.points:10000}")
+    private int seriesMaxPoints;
 
     @Transactional
     public WeatherResponse save(WeatherRequest request) {
+        Weather entity = toEntity(request, OffsetDateTime.now(ZoneOffset.UTC));
+        Weather savedEntity = timeDb("save", () -> repository.save(entity));
+        countSaved(savedEntity.getStationCode(), 1);
+        eventPublisher.publishEvent(new WeatherSavedEvent(List.of(savedEntity)));
+        return mapper.toDto(savedEntity);
+    }
+
+    /**
+     * Validates every reading on its own and persists the valid ones in a single JDBC batch, so one bad reading
+     * doesn't reject the rest of the upload.
+     */
+    @Transactional
+    public WeatherBatchResponse saveBatch(List<WeatherRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one reading.");
+        }
+        if (requests.size() > batchMaxSize) {
+            throw new IllegalArgumentException("Batch must not contain more than " + batchMaxSize + " readings.");
+        }
+
         OffsetDateTime currentDateUtc = OffsetDateTime.now(ZoneOffset.UTC);
-        if (request.getCollectedAt().isAfter(currentDateUtc)) {
-            throw new IllegalArgumentException("Collected time must not be in the future.");
+        List<WeatherBatchItemResponse> results = new ArrayList<>(requests.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(requests.size());
+        List<Weather> entities = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            WeatherRequest request = requests.get(i);
+            List<String> errors = validate(request, currentDateUtc);
+            if (errors.isEmpty()) {
+                entities.add(toEntity(request, currentDateUtc));
+                acceptedIndexes.add(i);
+                results.add(null);
+            } else {
+                results.add(WeatherBatchItemResponse.rejected(i, errors));
+            }
+        }
+
+        List<Weather> savedEntities = saveAll(entities);
+        for (int i = 0; i < savedEntities.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results.set(index, WeatherBatchItemResponse.created(index, mapper.toDto(savedEntities.get(i))));
+        }
+
+        return new WeatherBatchResponse(savedEntities.size(), requests.size() - savedEntities.size(), results);
+    }
+
+    /**
+     * Persists already validated readings in a single JDBC batch.
+     */
+    @Transactional
+    public List<Weather> saveAll(List<Weather> entities) {
+        List<Weather> savedEntities = timeDb("save_batch", () -> batchRepository.insertAll(entities));
+        if (!savedEntities.isEmpty()) {
+            savedEntities.stream()
+                    .collect(Collectors.groupingBy(Weather::getStationCode, Collectors.counting()))
+                    .forEach(this::countSaved);
+            eventPublisher.publishEvent(new WeatherSavedEvent(savedEntities));
+        }
+        return savedEntities;
+    }
+
+    /**
+     * Reserves identifiers for readings that are stored later, so callers can hand them out before the insert.
+     */
+    public List<Long> reserveIds(int count) {
+        return timeDb("reserve_ids", () -> batchRepository.reserveIds(count));
+    }
+
+    /**
+     * Maps a validated request to an entity received at the given time, rejecting readings collected in the future.
+     */
+    public Weather toEntity(WeatherRequest request, OffsetDateTime receivedAt) {
+        if (request.getCollectedAt().isAfter(receivedAt)) {
+            throw new IllegalArgumentException(FUTURE_COLLECTED_AT_MESSAGE);
         }
 
         Weather entity = mapper.toEntity(request);
-        entity.setReceivedAt(currentDateUtc);
-        Weather savedEntity = repository.save(entity);
-        return mapper.toDto(savedEntity);
+        entity.setReceivedAt(receivedAt);
+        return entity;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link LatestWeatherCache}; the repository is only queried on a miss, so this method deliberately
+     * doesn't open a transaction of its own.
+     */
     public WeatherResponse getLastByStation(String stationCode) {
-        Weather weather = repository.findFirstByStationCodeOrderByReceivedAtDesc(stationCode)
-                .orElseThrow(() -> new EntityNotFoundException("No weather entry found for station: " + stationCode));
-        return mapper.toDto(weather);
+        return latestWeatherCache.get(stationCode).orElseGet(() -> {
+            Weather weather = timeDb("last", () -> repository.findFirstByStationCodeOrderByReceivedAtDesc(stationCode))
+                    .orElseThrow(() -> new EntityNotFoundException("No weather entry found for station: " + stationCode));
+            WeatherResponse response = mapper.toDto(weather);
+            latestWeatherCache.update(response);
+            return response;
+        });
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link RangeAggregationCache} or the in-memory index when they can answer; only the repository call
+     * on a miss opens a transaction, so cache hits never take a connection.
+     */
     public WeatherAggregationResponse getAggregationByStationAndDateRange(String stationCode, OffsetDateTime start, OffsetDateTime end) {
-        WeatherAggregation aggregation = weatherAggregationRepository.aggregateByStationAndRange(stationCode, start, end);
-        if (aggregation == null) {
-            throw new EntityNotFoundException("No aggregated weather data found for station: " + stationCode + " in range " + start + " to " + end);
+        AggregationRangePlan plan = AggregationRangePlan.of(start, end);
+        return rangeAggregationCache.get(new RangeAggregationCache.Key(stationCode, plan.from(), plan.to()), () -> {
+            RangeAggregationIndex index = rangeAggregationIndex.getIfAvailable();
+            WeatherAggregationTotals aggregation = Optional.ofNullable(index)
+                    .flatMap(indexed -> indexed.aggregate(stationCode, plan.from(), plan.to()))
+                    .orElseGet(() -> timeDb("range",
+                            () -> weatherAggregationRepository.aggregateByStationAndPlan(stationCode, plan)));
+            if (aggregation == null || aggregation.getTotalRecords() == 0) {
+                throw new EntityNotFoundException("No aggregated weather data found for station: " + stationCode + " in range " + start + " to " + end);
+            }
+            return weatherAggregationMapper.toDto(aggregation);
+        });
+    }
+
+    /**
+     * Aggregates several stations over the same range with one grouped query instead of one query per station.
+     * Stations without data in the range are left out of the result, which is ordered by station code.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, WeatherAggregationResponse> getAggregationsByStationsAndDateRange(Collection<String> stationCodes,
+                                                                                      OffsetDateTime start,
+                                                                                      OffsetDateTime end) {
+        Set<String> codes = new TreeSet<>();
+        if (stationCodes != null) {
+            stationCodes.stream().filter(code -> code != null && !code.isBlank()).map(String::trim).forEach(codes::add);
+        }
+        if (codes.isEmpty()) {
+            throw new IllegalArgumentException("At least one station code is required.");
+        }
+        if (codes.size() > rangeMaxStations) {
+            throw new IllegalArgumentException("Must not request more than " + rangeMaxStations + " stations.");
+        }
+
+        AggregationRangePlan plan = AggregationRangePlan.of(start, end);
+        Map<String, WeatherAggregationResponse> aggregations = new TreeMap<>();
+        for (WeatherAggregationTotals totals : timeDb("ranges",
+                () -> weatherAggregationRepository.aggregateByStationsAndPlan(codes, plan))) {
+            aggregations.put(totals.getStationCode(), weatherAggregationMapper.toDto(totals));
+        }
+        return aggregations;
+    }
+
+    /**
+     * Aggregates a station per bucket in one grouped query. The series spans the buckets holding {@code start} through
+     * {@code end}, so the first and last buckets cover their whole width; buckets without data are left out.
+     */
+    @Transactional(readOnly = true)
+    public WeatherSeriesResponse getSeriesByStationAndDateRange(String stationCode, OffsetDateTime start,
+                                                                OffsetDateTime end, String bucket) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End must not be before start.");
+        }
+        SeriesBucket seriesBucket = SeriesBucket.parse(bucket);
+        Instant from = seriesBucket.floor(start.toInstant());
+        Instant to = seriesBucket.floor(end.toInstant()).plus(seriesBucket.width());
+        long points = Duration.between(from, to).dividedBy(seriesBucket.width());
+        if (points > seriesMaxPoints) {
+            throw new IllegalArgumentException("Range holds " + points + " buckets of " + seriesBucket.label()
+                    + "; at most " + seriesMaxPoints + " are allowed.");
+        }
+
+        WeatherSeries series = timeDb("series", () -> weatherSeriesRepository.findSeries(stationCode, seriesBucket,
+                LocalDateTime.ofInstant(from, ZoneOffset.UTC), LocalDateTime.ofInstant(to, ZoneOffset.UTC),
+                (int) Math.min(points, SERIES_INITIAL_CAPACITY)));
+        return weatherAggregationMapper.toDto(series, seriesBucket.label());
+    }
+
+    /**
+     * Checks a reading against the {@link WeatherRequest} constraints and rejects readings collected after
+     * {@code currentDateUtc}.
+     *
+     * @return the validation messages, empty when the reading is valid
+     */
+    public List<String> validate(WeatherRequest request, OffsetDateTime currentDateUtc) {
+        if (request == null) {
+            return List.of("Reading is required");
+        }
+        List<String> errors = new ArrayList<>(validator.validate(request).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .toList());
+        if (request.getCollectedAt() != null && request.getCollectedAt().isAfter(currentDateUtc)) {
+            errors.add(FUTURE_COLLECTED_AT_MESSAGE);
         }
-        return weatherAggregationMapper.toDto(aggregation);
+        return errors;
+    }
+
+    private <T> T timeDb(String operation, Supplier<T> query) {
+        return Timer.builder("weather.db")
+                .description("Time spent in the database by a weather request")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(query);
+    }
+
+    private void countSaved(String stationCode, long readings) {
+        meterRegistry.counter("weather.readings.saved", "station", stationCode).increment(readings);
     }
 }
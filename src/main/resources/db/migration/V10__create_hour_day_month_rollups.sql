@@ -0,0 +1,145 @@
+-- Coarser rollups of weather_aggregation, so long ranges read a few hundred buckets instead of every minute.
+-- They store sums instead of averages, which makes merging deltas exact and cheap.
+CREATE TABLE weather_aggregation_hour
+(
+    station_code    VARCHAR(3)       NOT NULL,
+    bucket_start    TIMESTAMP        NOT NULL,
+    total_records   BIGINT           NOT NULL,
+    sum_temperature DOUBLE PRECISION NOT NULL,
+    min_temperature DOUBLE PRECISION NOT NULL,
+    max_temperature DOUBLE PRECISION NOT NULL,
+    sum_humidity    DOUBLE PRECISION NOT NULL,
+    min_humidity    DOUBLE PRECISION NOT NULL,
+    max_humidity    DOUBLE PRECISION NOT NULL,
+    sum_wind_speed  DOUBLE PRECISION NOT NULL,
+    min_wind_speed  DOUBLE PRECISION NOT NULL,
+    max_wind_speed  DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (station_code, bucket_start)
+);
+
+CREATE TABLE weather_aggregation_day (LIKE weather_aggregation_hour INCLUDING ALL);
+
+CREATE TABLE weather_aggregation_month (LIKE weather_aggregation_hour INCLUDING ALL);
+
+INSERT INTO weather_aggregation_hour
+SELECT station_code,
+       date_trunc('hour', minute_window),
+       sum(total_records),
+       sum(avg_temperature * total_records),
+       min(min_temperature),
+       max(max_temperature),
+       sum(avg_humidity * total_records),
+       min(min_humidity),
+       max(max_humidity),
+       sum(avg_wind_speed * total_records),
+       min(min_wind_speed),
+       max(max_wind_speed)
+FROM weather_aggregation
+GROUP BY 1, 2;
+
+INSERT INTO weather_aggregation_day
+SELECT station_code,
+       date_trunc('day', bucket_start),
+       sum(total_records),
+       sum(sum_temperature),
+       min(min_temperature),
+       max(max_temperature),
+       sum(sum_humidity),
+       min(min_humidity),
+       max(max_humidity),
+       sum(sum_wind_speed),
+       min(min_wind_speed),
+       max(max_wind_speed)
+FROM weather_aggregation_hour
+GROUP BY 1, 2;
+
+INSERT INTO weather_aggregation_month
+SELECT station_code,
+       date_trunc('month', bucket_start),
+       sum(total_records),
+       sum(sum_temperature),
+       min(min_temperature),
+       max(max_temperature),
+       sum(sum_humidity),
+       min(min_humidity),
+       max(max_humidity),
+       sum(sum_wind_speed),
+       min(min_wind_speed),
+       max(max_wind_speed)
+FROM weather_aggregation_day
+GROUP BY 1, 2;
+
+-- Applies the change made by a statement on weather_aggregation to every rollup level. Inserted minutes are added
+-- as they are; updated minutes contribute the difference between their new and old counts and sums, while min/max
+-- are widened with the new values (minute rows only ever absorb more readings, so they never narrow). Deleting
+-- minutes does not touch the rollups, which lets raw minutes expire while the coarser history is kept.
+CREATE
+OR REPLACE FUNCTION rollup_weather_aggregation()
+RETURNS trigger AS $$
+
+DECLARE
+    delta_query TEXT;
+    level       TEXT;
+
+BEGIN
+
+IF TG_OP = 'INSERT' THEN
+    delta_query := 'SELECT station_code, minute_window, total_records, '
+        || '       avg_temperature * total_records AS sum_temperature, min_temperature, max_temperature, '
+        || '       avg_humidity * total_records AS sum_humidity, min_humidity, max_humidity, '
+        || '       avg_wind_speed * total_records AS sum_wind_speed, min_wind_speed, max_wind_speed '
+        || 'FROM new_rows';
+ELSE
+    delta_query := 'SELECT n.station_code, n.minute_window, n.total_records - o.total_records AS total_records, '
+        || '       n.avg_temperature * n.total_records - o.avg_temperature * o.total_records AS sum_temperature, '
+        || '       n.min_temperature, n.max_temperature, '
+        || '       n.avg_humidity * n.total_records - o.avg_humidity * o.total_records AS sum_humidity, '
+        || '       n.min_humidity, n.max_humidity, '
+        || '       n.avg_wind_speed * n.total_records - o.avg_wind_speed * o.total_records AS sum_wind_speed, '
+        || '       n.min_wind_speed, n.max_wind_speed '
+        || 'FROM new_rows n JOIN old_rows o USING (station_code, minute_window)';
+END IF;
+
+FOREACH level IN ARRAY ARRAY['hour', 'day', 'month'] LOOP
+    EXECUTE format(
+        'INSERT INTO %1$I AS r '
+        || 'SELECT station_code, date_trunc(%2$L, minute_window), sum(total_records), '
+        || '       sum(sum_temperature), min(min_temperature), max(max_temperature), '
+        || '       sum(sum_humidity), min(min_humidity), max(max_humidity), '
+        || '       sum(sum_wind_speed), min(min_wind_speed), max(max_wind_speed) '
+        || 'FROM (%3$s) d '
+        || 'GROUP BY 1, 2 '
+        || 'ON CONFLICT (station_code, bucket_start) DO UPDATE SET '
+        || '    total_records = r.total_records + EXCLUDED.total_records, '
+        || '    sum_temperature = r.sum_temperature + EXCLUDED.sum_temperature, '
+        || '    min_temperature = LEAST(r.min_temperature, EXCLUDED.min_temperature), '
+        || '    max_temperature = GREATEST(r.max_temperature, EXCLUDED.max_temperature), '
+        || '    sum_humidity = r.sum_humidity + EXCLUDED.sum_humidity, '
+        || '    min_humidity = LEAST(r.min_humidity, EXCLUDED.min_humidity), '
+        || '    max_humidity = GREATEST(r.max_humidity, EXCLUDED.max_humidity), '
+        || '    sum_wind_speed = r.sum_wind_speed + EXCLUDED.sum_wind_speed, '
+        || '    min_wind_speed = LEAST(r.min_wind_speed, EXCLUDED.min_wind_speed), '
+        || '    max_wind_speed = GREATEST(r.max_wind_speed, EXCLUDED.max_wind_speed)',
+        'weather_aggregation_' || level, level, delta_query);
+END LOOP;
+
+RETURN NULL;
+
+END;
+
+$$
+LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_rollup_inserted_weather_aggregation
+    AFTER INSERT
+    ON weather_aggregation
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION rollup_weather_aggregation();
+
+CREATE TRIGGER trg_rollup_updated_weather_aggregation
+    AFTER UPDATE
+    ON weather_aggregation
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION rollup_weather_aggregation();
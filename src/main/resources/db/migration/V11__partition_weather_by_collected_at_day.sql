@@ -0,0 +1,128 @@
+-- Rebuilds weather as a table range-partitioned by collected_at into UTC days, so queries bounded by collected_at
+-- only touch the days they need and expired days are dropped as whole partitions instead of deleted row by row.
+ALTER TABLE weather RENAME TO weather_legacy;
+ALTER TABLE weather_legacy RENAME CONSTRAINT weather_pkey TO weather_legacy_pkey;
+ALTER INDEX idx_weather_station_received_at RENAME TO idx_weather_legacy_station_received_at;
+ALTER INDEX idx_weather_station_collected_at RENAME TO idx_weather_legacy_station_collected_at;
+DROP TRIGGER trg_merge_weather_aggregation ON weather_legacy;
+DROP TRIGGER trg_upsert_station_last_seen ON weather_legacy;
+
+-- The partition key has to be part of the primary key; ids stay unique on their own since they come from one sequence.
+CREATE TABLE weather
+(
+    id           BIGINT           NOT NULL,
+    station_code VARCHAR(3)       NOT NULL,
+    collected_at TIMESTAMPTZ      NOT NULL,
+    received_at  TIMESTAMPTZ      NOT NULL DEFAULT now(),
+    temperature  DOUBLE PRECISION,
+    humidity     DOUBLE PRECISION,
+    wind_speed   DOUBLE PRECISION,
+    PRIMARY KEY (id, collected_at),
+    CONSTRAINT chk_weather_timestamps CHECK (collected_at <= received_at),
+    CONSTRAINT chk_station_code CHECK (station_code ~ '^[A-Z]{3}$')
+) PARTITION BY RANGE (collected_at);
+
+CREATE INDEX idx_weather_station_received_at
+    ON weather (station_code, received_at);
+
+CREATE INDEX idx_weather_station_collected_at
+    ON weather (station_code, collected_at);
+
+-- Catches readings for days without a partition (late data for old days, or if maintenance falls behind).
+CREATE TABLE weather_default PARTITION OF weather DEFAULT;
+
+-- Creates the partition of a UTC day, named weather_pYYYYMMDD. Rows already routed to the default partition for that
+-- day are moved into it before it is attached, which attaching would otherwise refuse. Returns whether it was created.
+CREATE
+OR REPLACE FUNCTION create_weather_partition(partition_day DATE)
+RETURNS BOOLEAN AS $$
+
+DECLARE
+    partition_name TEXT        := 'weather_p' || to_char(partition_day, 'YYYYMMDD');
+    lower_bound    TIMESTAMPTZ := partition_day::timestamp AT TIME ZONE 'UTC';
+    upper_bound    TIMESTAMPTZ := (partition_day + 1)::timestamp AT TIME ZONE 'UTC';
+
+BEGIN
+
+IF to_regclass(partition_name) IS NOT NULL THEN
+    RETURN FALSE;
+END IF;
+
+EXECUTE format('CREATE TABLE %I (LIKE weather INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+EXECUTE format('WITH moved AS (DELETE FROM weather_default WHERE collected_at >= %L AND collected_at < %L RETURNING *) '
+                   || 'INSERT INTO %I SELECT * FROM moved',
+               lower_bound, upper_bound, partition_name);
+EXECUTE format('ALTER TABLE weather ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+               partition_name, lower_bound, upper_bound);
+
+RETURN TRUE;
+
+END;
+
+$$
+LANGUAGE plpgsql;
+
+-- Drops the daily partitions of days before the given one. Returns how many were dropped.
+CREATE
+OR REPLACE FUNCTION drop_weather_partitions_before(cutoff_day DATE)
+RETURNS INTEGER AS $$
+
+DECLARE
+    partition_name TEXT;
+    dropped        INTEGER := 0;
+
+BEGIN
+
+FOR partition_name IN
+SELECT c.relname
+FROM pg_inherits i
+         JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = 'weather'::regclass
+  AND c.relname ~ '^weather_p[0-9]{8}$'
+  AND to_date(substr(c.relname, 10), 'YYYYMMDD') < cutoff_day
+ORDER BY c.relname
+    LOOP
+    EXECUTE format('DROP TABLE %I', partition_name);
+    dropped := dropped + 1;
+END LOOP;
+
+RETURN dropped;
+
+END;
+
+$$
+LANGUAGE plpgsql;
+
+SELECT create_weather_partition(partition_day)
+FROM (SELECT DISTINCT (collected_at AT TIME ZONE 'UTC')::date AS partition_day
+      FROM weather_legacy
+      UNION
+      SELECT generate_series((now() AT TIME ZONE 'UTC')::date - 1,
+                             (now() AT TIME ZONE 'UTC')::date + 7,
+                             interval '1 day')::date) days
+ORDER BY partition_day;
+
+INSERT INTO weather (id, station_code, collected_at, received_at, temperature, humidity, wind_speed)
+SELECT id, station_code, collected_at, received_at, temperature, humidity, wind_speed
+FROM weather_legacy;
+
+DROP TABLE weather_legacy;
+
+CREATE SEQUENCE weather_id_seq OWNED BY weather.id;
+SELECT setval('weather_id_seq', COALESCE((SELECT max(id) FROM weather), 0) + 1, false);
+ALTER TABLE weather ALTER COLUMN id SET DEFAULT nextval('weather_id_seq');
+
+CREATE TRIGGER trg_merge_weather_aggregation
+    AFTER INSERT
+    ON weather
+    REFERENCING NEW TABLE AS new_weather
+    FOR EACH STATEMENT
+    WHEN (current_setting('weather.skip_aggregation', true) IS DISTINCT FROM 'on')
+    EXECUTE FUNCTION merge_weather_aggregation();
+
+CREATE TRIGGER trg_upsert_station_last_seen
+    AFTER INSERT
+    ON weather
+    REFERENCING NEW TABLE AS new_weather
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION upsert_station_last_seen();
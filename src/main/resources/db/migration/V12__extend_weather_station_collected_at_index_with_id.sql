@@ -0,0 +1,6 @@
+-- Orders readings of a station by (collected_at, id), the keyset used to page exports, so pages are read straight off
+-- the index without sorting and the page boundary is found with an index-only scan.
+DROP INDEX idx_weather_station_collected_at;
+
+CREATE INDEX idx_weather_station_collected_at_id
+    ON weather (station_code, collected_at, id);
@@ -0,0 +1,26 @@
+-- Optional grouping of stations for alert rules; a station belongs to at most one group.
+CREATE TABLE alert_station_group
+(
+    station_code VARCHAR(3)  PRIMARY KEY,
+    group_name   VARCHAR(64) NOT NULL,
+    CONSTRAINT chk_alert_station_group_station_code CHECK (station_code ~ '^[A-Z]{3}$')
+);
+
+-- Alert thresholds for one station, for a group of stations, or for every station when neither is set. For each
+-- metric and condition the most specific rule applies. MISSING_DATA rules hold the seconds a station may stay silent.
+CREATE TABLE alert_rule
+(
+    id           BIGSERIAL PRIMARY KEY,
+    station_code VARCHAR(3),
+    group_name   VARCHAR(64),
+    metric       VARCHAR(16)      NOT NULL,
+    condition    VARCHAR(8)       NOT NULL,
+    threshold    DOUBLE PRECISION NOT NULL,
+    CONSTRAINT chk_alert_rule_scope CHECK (station_code IS NULL OR group_name IS NULL),
+    CONSTRAINT chk_alert_rule_metric CHECK (metric IN ('TEMPERATURE', 'HUMIDITY', 'WIND_SPEED', 'MISSING_DATA')),
+    CONSTRAINT chk_alert_rule_condition CHECK (condition IN ('ABOVE', 'BELOW')),
+    CONSTRAINT chk_alert_rule_missing_data CHECK (metric <> 'MISSING_DATA' OR (condition = 'ABOVE' AND threshold > 0))
+);
+
+CREATE UNIQUE INDEX uq_alert_rule_scope_metric_condition
+    ON alert_rule (COALESCE(station_code, ''), COALESCE(group_name, ''), metric, condition);
@@ -0,0 +1,103 @@
+-- Takes the hour, day and month rollups off the ingest path. The triggers on weather_aggregation now only append the
+-- change made by each statement to weather_rollup_delta, which takes no row lock, so writers of one station no longer
+-- queue on its hour, day and month rows. The scheduled RollupDrainer moves the deltas into the rollups, and range
+-- reads add the pending deltas to the rollups, so answers never lag behind the minutes.
+-- Deleting minutes still leaves the rollups untouched: minute retention relies on it to keep the coarser history
+-- once the minutes are gone. Readings are never deleted outside retention, so no other delete needs to be undone.
+DROP TRIGGER trg_rollup_inserted_weather_aggregation ON weather_aggregation;
+DROP TRIGGER trg_rollup_updated_weather_aggregation ON weather_aggregation;
+DROP FUNCTION rollup_weather_aggregation();
+
+-- Same sums as the rollups, keyed by minute so any level can group them.
+CREATE TABLE weather_rollup_delta
+(
+    station_code    VARCHAR(3)       NOT NULL,
+    minute_window   TIMESTAMP        NOT NULL,
+    total_records   BIGINT           NOT NULL,
+    sum_temperature DOUBLE PRECISION NOT NULL,
+    min_temperature DOUBLE PRECISION NOT NULL,
+    max_temperature DOUBLE PRECISION NOT NULL,
+    sum_humidity    DOUBLE PRECISION NOT NULL,
+    min_humidity    DOUBLE PRECISION NOT NULL,
+    max_humidity    DOUBLE PRECISION NOT NULL,
+    sum_wind_speed  DOUBLE PRECISION NOT NULL,
+    min_wind_speed  DOUBLE PRECISION NOT NULL,
+    max_wind_speed  DOUBLE PRECISION NOT NULL
+);
+
+CREATE INDEX idx_weather_rollup_delta_station_minute
+    ON weather_rollup_delta (station_code, minute_window);
+
+-- Inserted minutes are added as they are.
+CREATE
+OR REPLACE FUNCTION append_inserted_weather_rollup_delta()
+RETURNS trigger AS $$
+
+BEGIN
+
+INSERT INTO weather_rollup_delta
+SELECT station_code,
+       minute_window,
+       total_records,
+       avg_temperature * total_records,
+       min_temperature,
+       max_temperature,
+       avg_humidity * total_records,
+       min_humidity,
+       max_humidity,
+       avg_wind_speed * total_records,
+       min_wind_speed,
+       max_wind_speed
+FROM new_rows;
+
+RETURN NULL;
+
+END;
+
+$$
+LANGUAGE plpgsql;
+
+-- Updated minutes contribute the difference between their new and old counts and sums, while min/max are widened
+-- with the new values (minute rows only ever absorb more readings, so they never narrow).
+CREATE
+OR REPLACE FUNCTION append_updated_weather_rollup_delta()
+RETURNS trigger AS $$
+
+BEGIN
+
+INSERT INTO weather_rollup_delta
+SELECT n.station_code,
+       n.minute_window,
+       n.total_records - o.total_records,
+       n.avg_temperature * n.total_records - o.avg_temperature * o.total_records,
+       n.min_temperature,
+       n.max_temperature,
+       n.avg_humidity * n.total_records - o.avg_humidity * o.total_records,
+       n.min_humidity,
+       n.max_humidity,
+       n.avg_wind_speed * n.total_records - o.avg_wind_speed * o.total_records,
+       n.min_wind_speed,
+       n.max_wind_speed
+FROM new_rows n
+         JOIN old_rows o USING (station_code, minute_window);
+
+RETURN NULL;
+
+END;
+
+$$
+LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_append_inserted_weather_rollup_delta
+    AFTER INSERT
+    ON weather_aggregation
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION append_inserted_weather_rollup_delta();
+
+CREATE TRIGGER trg_append_updated_weather_rollup_delta
+    AFTER UPDATE
+    ON weather_aggregation
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION append_updated_weather_rollup_delta();
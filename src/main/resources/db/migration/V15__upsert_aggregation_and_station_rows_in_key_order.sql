@@ -0,0 +1,90 @@
+-- Upserts the minute and station rows of a statement in key order. Two statements inserting readings for the same
+-- stations in a different order used to lock their rows in a different order too, and could deadlock; now the one
+-- that locks second waits for the other to finish instead. The triggers keep calling the functions by name.
+CREATE
+OR REPLACE FUNCTION merge_weather_aggregation()
+RETURNS trigger AS $$
+
+BEGIN
+
+INSERT INTO weather_aggregation (station_code,
+                                 minute_window,
+                                 total_records,
+                                 avg_temperature,
+                                 min_temperature,
+                                 max_temperature,
+                                 avg_humidity,
+                                 min_humidity,
+                                 max_humidity,
+                                 avg_wind_speed,
+                                 min_wind_speed,
+                                 max_wind_speed)
+SELECT n.station_code,
+       date_trunc('minute', n.collected_at AT TIME ZONE 'UTC') AS minute_window,
+       count(*)                                                AS total_records,
+       avg(n.temperature)                                      AS avg_temperature,
+       min(n.temperature)                                      AS min_temperature,
+       max(n.temperature)                                      AS max_temperature,
+       avg(n.humidity)                                         AS avg_humidity,
+       min(n.humidity)                                         AS min_humidity,
+       max(n.humidity)                                         AS max_humidity,
+       avg(n.wind_speed)                                       AS avg_wind_speed,
+       min(n.wind_speed)                                       AS min_wind_speed,
+       max(n.wind_speed)                                       AS max_wind_speed
+
+FROM new_weather n
+GROUP BY n.station_code, minute_window
+ORDER BY n.station_code, minute_window
+
+ON CONFLICT (station_code, minute_window) DO
+UPDATE SET
+    total_records = weather_aggregation.total_records + EXCLUDED.total_records,
+    avg_temperature = (weather_aggregation.avg_temperature * weather_aggregation.total_records +
+                       EXCLUDED.avg_temperature * EXCLUDED.total_records) /
+                      (weather_aggregation.total_records + EXCLUDED.total_records),
+    min_temperature = LEAST(weather_aggregation.min_temperature, EXCLUDED.min_temperature),
+    max_temperature = GREATEST(weather_aggregation.max_temperature, EXCLUDED.max_temperature),
+    avg_humidity = (weather_aggregation.avg_humidity * weather_aggregation.total_records +
+                    EXCLUDED.avg_humidity * EXCLUDED.total_records) /
+                   (weather_aggregation.total_records + EXCLUDED.total_records),
+    min_humidity = LEAST(weather_aggregation.min_humidity, EXCLUDED.min_humidity),
+    max_humidity = GREATEST(weather_aggregation.max_humidity, EXCLUDED.max_humidity),
+    avg_wind_speed = (weather_aggregation.avg_wind_speed * weather_aggregation.total_records +
+                      EXCLUDED.avg_wind_speed * EXCLUDED.total_records) /
+                     (weather_aggregation.total_records + EXCLUDED.total_records),
+    min_wind_speed = LEAST(weather_aggregation.min_wind_speed, EXCLUDED.min_wind_speed),
+    max_wind_speed = GREATEST(weather_aggregation.max_wind_speed, EXCLUDED.max_wind_speed);
+
+RETURN NULL;
+
+END;
+
+$$
+LANGUAGE plpgsql;
+
+CREATE
+OR REPLACE FUNCTION upsert_station_last_seen()
+RETURNS trigger AS $$
+
+BEGIN
+
+INSERT INTO station (code, first_received_at, last_received_at, last_collected_at)
+SELECT n.station_code,
+       min(n.received_at),
+       max(n.received_at),
+       max(n.collected_at)
+FROM new_weather n
+GROUP BY n.station_code
+ORDER BY n.station_code
+
+ON CONFLICT (code) DO
+UPDATE SET
+    last_received_at = GREATEST(station.last_received_at, EXCLUDED.last_received_at),
+    last_collected_at = GREATEST(station.last_collected_at, EXCLUDED.last_collected_at);
+
+RETURN NULL;
+
+END;
+
+$$
+LANGUAGE plpgsql;
@@ -0,0 +1,7 @@
+-- Range reads only touch minutes at the unaligned edges of a plan, at most two hours of them, which the primary key
+-- finds just as well. The covering index repeated the key and included every aggregate column, so each merge into a
+-- minute wrote a second index entry and could never be a HOT update. Without it, merges only change unindexed columns;
+-- leaving free space on each page lets them stay on it as HOT updates.
+DROP INDEX idx_weather_aggregation_station_minute_covering;
+
+ALTER TABLE weather_aggregation SET (fillfactor = 90);
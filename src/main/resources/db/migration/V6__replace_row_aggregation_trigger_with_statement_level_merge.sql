@@ -0,0 +1,74 @@
+DROP TRIGGER IF EXISTS trg_upsert_weather_aggregation ON weather;
+DROP FUNCTION IF EXISTS trigger_upsert_weather_aggregation();
+DROP FUNCTION IF EXISTS upsert_weather_aggregation(VARCHAR, TIMESTAMPTZ);
+
+-- Folds every row inserted by a statement into weather_aggregation with one set-based upsert.
+-- The rows of the statement are grouped per station and minute, and each group is merged into the existing
+-- minute row incrementally (counts and weighted averages are combined, min/max are widened), so the cost of
+-- an insert no longer depends on how many readings the minute already holds.
+CREATE
+OR REPLACE FUNCTION merge_weather_aggregation()
+RETURNS trigger AS $$
+
+BEGIN
+
+INSERT INTO weather_aggregation (station_code,
+                                 minute_window,
+                                 total_records,
+                                 avg_temperature,
+                                 min_temperature,
+                                 max_temperature,
+                                 avg_humidity,
+                                 min_humidity,
+                                 max_humidity,
+                                 avg_wind_speed,
+                                 min_wind_speed,
+                                 max_wind_speed)
+SELECT n.station_code,
+       date_trunc('minute', n.collected_at AT TIME ZONE 'UTC') AS minute_window,
+       count(*)                                                AS total_records,
+       avg(n.temperature)                                      AS avg_temperature,
+       min(n.temperature)                                      AS min_temperature,
+       max(n.temperature)                                      AS max_temperature,
+       avg(n.humidity)                                         AS avg_humidity,
+       min(n.humidity)                                         AS min_humidity,
+       max(n.humidity)                                         AS max_humidity,
+       avg(n.wind_speed)                                       AS avg_wind_speed,
+       min(n.wind_speed)                                       AS min_wind_speed,
+       max(n.wind_speed)                                       AS max_wind_speed
+
+FROM new_weather n
+GROUP BY n.station_code, minute_window
+
+ON CONFLICT (station_code, minute_window) DO
+UPDATE SET
+    total_records = weather_aggregation.total_records + EXCLUDED.total_records,
+    avg_temperature = (weather_aggregation.avg_temperature * weather_aggregation.total_records +
+                       EXCLUDED.avg_temperature * EXCLUDED.total_records) /
+                      (weather_aggregation.total_records + EXCLUDED.total_records),
+    min_temperature = LEAST(weather_aggregation.min_temperature, EXCLUDED.min_temperature),
+    max_temperature = GREATEST(weather_aggregation.max_temperature, EXCLUDED.max_temperature),
+    avg_humidity = (weather_aggregation.avg_humidity * weather_aggregation.total_records +
+                    EXCLUDED.avg_humidity * EXCLUDED.total_records) /
+                   (weather_aggregation.total_records + EXCLUDED.total_records),
+    min_humidity = LEAST(weather_aggregation.min_humidity, EXCLUDED.min_humidity),
+    max_humidity = GREATEST(weather_aggregation.max_humidity, EXCLUDED.max_humidity),
+    avg_wind_speed = (weather_aggregation.avg_wind_speed * weather_aggregation.total_records +
+                      EXCLUDED.avg_wind_speed * EXCLUDED.total_records) /
+                     (weather_aggregation.total_records + EXCLUDED.total_records),
+    min_wind_speed = LEAST(weather_aggregation.min_wind_speed, EXCLUDED.min_wind_speed),
+    max_wind_speed = GREATEST(weather_aggregation.max_wind_speed, EXCLUDED.max_wind_speed);
+
+RETURN NULL;
+
+END;
+
+$$
+LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_merge_weather_aggregation
+    AFTER INSERT
+    ON weather
+    REFERENCING NEW TABLE AS new_weather
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION merge_weather_aggregation();
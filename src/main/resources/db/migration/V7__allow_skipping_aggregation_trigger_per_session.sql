@@ -0,0 +1,10 @@
+-- Sessions that aggregate minute windows themselves (weather.aggregation.mode=application) or rebuild them in bulk
+-- set weather.skip_aggregation to 'on' to bypass the trigger.
+DROP TRIGGER IF EXISTS trg_merge_weather_aggregation ON weather;
+CREATE TRIGGER trg_merge_weather_aggregation
+    AFTER INSERT
+    ON weather
+    REFERENCING NEW TABLE AS new_weather
+    FOR EACH STATEMENT
+    WHEN (current_setting('weather.skip_aggregation', true) IS DISTINCT FROM 'on')
+    EXECUTE FUNCTION merge_weather_aggregation();
@@ -0,0 +1,51 @@
+CREATE TABLE station
+(
+    code              VARCHAR(3)  PRIMARY KEY,
+    first_received_at TIMESTAMPTZ NOT NULL,
+    last_received_at  TIMESTAMPTZ NOT NULL,
+    last_collected_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT chk_station_code CHECK (code ~ '^[A-Z]{3}$')
+);
+
+CREATE INDEX idx_station_last_received_at
+    ON station (last_received_at);
+
+INSERT INTO station (code, first_received_at, last_received_at, last_collected_at)
+SELECT station_code, min(received_at), max(received_at), max(collected_at)
+FROM weather
+GROUP BY station_code;
+
+-- Registers new stations and advances the last-seen timestamps of known ones with one upsert per station and
+-- statement, so freshness checks never have to read the weather table.
+CREATE
+OR REPLACE FUNCTION upsert_station_last_seen()
+RETURNS trigger AS $$
+
+BEGIN
+
+INSERT INTO station (code, first_received_at, last_received_at, last_collected_at)
+SELECT n.station_code,
+       min(n.received_at),
+       max(n.received_at),
+       max(n.collected_at)
+FROM new_weather n
+GROUP BY n.station_code
+
+ON CONFLICT (code) DO
+UPDATE SET
+    last_received_at = GREATEST(station.last_received_at, EXCLUDED.last_received_at),
+    last_collected_at = GREATEST(station.last_collected_at, EXCLUDED.last_collected_at);
+
+RETURN NULL;
+
+END;
+
+$$
+LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_upsert_station_last_seen
+    AFTER INSERT
+    ON weather
+    REFERENCING NEW TABLE AS new_weather
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION upsert_station_last_seen();
@@ -0,0 +1,15 @@
+-- Carries every column the range query reads, so range aggregation is answered by an index-only scan.
+CREATE INDEX idx_weather_aggregation_station_minute_covering
+    ON weather_aggregation (station_code, minute_window)
+    INCLUDE (total_records,
+             avg_temperature, min_temperature, max_temperature,
+             avg_humidity, min_humidity, max_humidity,
+             avg_wind_speed, min_wind_speed, max_wind_speed);
+
+-- Index-only scans skip the heap only for all-visible pages; vacuum more eagerly to keep the visibility map current
+-- on a table that is mostly appended to and updated within the current minute.
+ALTER TABLE weather_aggregation SET (
+    autovacuum_vacuum_scale_factor = 0.02,
+    autovacuum_vacuum_insert_scale_factor = 0.02,
+    autovacuum_analyze_scale_factor = 0.02
+);
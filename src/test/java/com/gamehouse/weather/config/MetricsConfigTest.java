@@ -0,0 +1,27 @@
+package com.gamehouse.weather.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsConfigTest {
+
+    @Test
+    void limitStationTag_OverMaxStations_ShouldCountLaterStationsAsOther() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new MetricsConfig().limitStationTag(2));
+
+        for (String station : new String[]{"ABC", "DEF", "GHI", "ABC", "JKL"}) {
+            meterRegistry.counter("weather.readings.saved", "station", station).increment();
+        }
+        meterRegistry.counter("http.server.requests", "station", "XYZ").increment();
+
+        assertThat(meterRegistry.get("weather.readings.saved").tag("station", "ABC").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("weather.readings.saved").tag("station", "DEF").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("weather.readings.saved").tag("station", "other").counter().count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("http.server.requests").tag("station", "XYZ").counter().count()).isEqualTo(1.0);
+    }
+}
@@ -2,20 +2,32 @@ package com.gamehouse.weather.controller;
 
 import com.gamehouse.weather.BaseIT;
 import com.gamehouse.weather.dto.WeatherAggregationResponse;
+import com.gamehouse.weather.dto.WeatherBatchItemResponse;
+import com.gamehouse.weather.dto.WeatherBatchResponse;
+import com.gamehouse.weather.dto.WeatherImportResponse;
 import com.gamehouse.weather.dto.WeatherRequest;
 import com.gamehouse.weather.dto.WeatherResponse;
+import com.gamehouse.weather.dto.WeatherSeriesResponse;
 import com.gamehouse.weather.repository.WeatherAggregationRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
@@ -62,6 +74,23 @@ class WeatherControllerIT extends BaseIT {
                 .toUriString();
     }
 
+    private String buildReadingsUri(String stationCode, OffsetDateTime start, OffsetDateTime end, String format,
+                                    Long limit, String pageToken) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(buildBaseUri())
+                .pathSegment(stationCode, "readings")
+                .queryParam("start", start.withOffsetSameInstant(ZoneOffset.UTC).format(formatter))
+                .queryParam("end", end.withOffsetSameInstant(ZoneOffset.UTC).format(formatter))
+                .queryParam("format", format);
+        if (limit != null) {
+            builder.queryParam("limit", limit);
+        }
+        if (pageToken != null) {
+            builder.queryParam("page_token", pageToken);
+        }
+        return builder.build(true).toUriString();
+    }
+
     @Test
     void save_Valid_ShouldReturn201() {
         WeatherResponse validDto = new WeatherResponse(
@@ -104,6 +133,35 @@ class WeatherControllerIT extends BaseIT {
         assertThat(response.getBody()).contains("Collected time must not be in the future.");
     }
 
+    @Test
+    void saveBatch_MixedReadings_ShouldReturnPerItemResults() {
+        WeatherRequest valid1 = new WeatherRequest("BAT", OffsetDateTime.now().minusMinutes(2), 20.0, 50.0, 5.0);
+        WeatherRequest invalid = new WeatherRequest("bat", OffsetDateTime.now().minusMinutes(2), 20.0, 50.0, 5.0);
+        WeatherRequest valid2 = new WeatherRequest("BAT", OffsetDateTime.now().minusMinutes(1), 22.0, 55.0, 6.0);
+
+        ResponseEntity<WeatherBatchResponse> response = restTemplate.postForEntity(
+                buildBaseUri() + "/batch", List.of(valid1, invalid, valid2), WeatherBatchResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        WeatherBatchResponse body = response.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.getAccepted()).isEqualTo(2);
+        assertThat(body.getRejected()).isEqualTo(1);
+        assertThat(body.getResults()).extracting(WeatherBatchItemResponse::getStatus).containsExactly(
+                WeatherBatchItemResponse.Status.CREATED,
+                WeatherBatchItemResponse.Status.REJECTED,
+                WeatherBatchItemResponse.Status.CREATED
+        );
+        assertThat(body.getResults().get(0).getWeather().getId()).isNotNull();
+        assertThat(body.getResults().get(2).getWeather().getId()).isGreaterThan(body.getResults().get(0).getWeather().getId());
+
+        ResponseEntity<WeatherResponse> last = restTemplate.getForEntity(buildLatestWeatherUriForStationCode("BAT"), WeatherResponse.class);
+        assertThat(last.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(last.getBody()).isNotNull();
+        assertThat(last.getBody().getTemperature()).isIn(20.0, 22.0);
+    }
+
     @Test
     void getLastByStation_ValidStation_ShouldReturn() {
         String stationCode = "ABC";
@@ -243,4 +301,171 @@ class WeatherControllerIT extends BaseIT {
         assertThat(aggregationDto.getWindSpeed().getMin()).isEqualTo(5.0);
         assertThat(aggregationDto.getWindSpeed().getMax()).isEqualTo(6.0);
     }
+
+    @Test
+    void exportReadings_Ndjson_ShouldPageWithNextPageToken() {
+        OffsetDateTime base = OffsetDateTime.now(ZoneOffset.UTC).minusHours(1).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            restTemplate.postForEntity(buildBaseUri(),
+                    new WeatherRequest("EXP", base.plusMinutes(i), 20.0 + i, 50.0, 5.0), WeatherResponse.class);
+        }
+        OffsetDateTime start = base.minusMinutes(1);
+        OffsetDateTime end = base.plusMinutes(10);
+
+        ResponseEntity<String> firstPage = restTemplate.getForEntity(
+                buildReadingsUri("EXP", start, end, "ndjson", 3L, null), String.class);
+
+        assertThat(firstPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(firstPage.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertThat(firstPage.getBody()).isNotNull();
+        assertThat(firstPage.getBody().split("\n")).hasSize(3)
+                .allSatisfy(line -> assertThat(line).startsWith("{").contains("\"station_code\":\"EXP\""));
+        String token = firstPage.getHeaders().getFirst(WeatherController.NEXT_PAGE_TOKEN_HEADER);
+        assertThat(token).isNotBlank();
+
+        ResponseEntity<String> secondPage = restTemplate.getForEntity(
+                buildReadingsUri("EXP", start, end, "ndjson", 3L, token), String.class);
+
+        assertThat(secondPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(secondPage.getBody()).isNotNull();
+        assertThat(secondPage.getBody().split("\n")).hasSize(2);
+        assertThat(secondPage.getBody()).contains("\"temperature\":23.0").contains("\"temperature\":24.0");
+        assertThat(secondPage.getHeaders().containsKey(WeatherController.NEXT_PAGE_TOKEN_HEADER)).isFalse();
+    }
+
+    @Test
+    void exportReadings_Csv_ShouldReturnHeaderAndRows() {
+        OffsetDateTime collectedAt = OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(30).withNano(0);
+        restTemplate.postForEntity(buildBaseUri(),
+                new WeatherRequest("CSV", collectedAt, 18.5, 40.0, 3.0), WeatherResponse.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                buildReadingsUri("CSV", collectedAt.minusMinutes(1), collectedAt.plusMinutes(1), "csv", null, null),
+                String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isNotNull();
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("text/csv");
+        assertThat(response.getBody()).isNotNull();
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,station_code,collected_at,received_at,temperature,humidity,wind_speed");
+        assertThat(lines[1]).contains(",CSV," + collectedAt.toInstant() + ",").endsWith(",18.5,40.0,3.0");
+    }
+
+    @Test
+    void exportReadings_InvalidPageToken_ShouldReturn400() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                buildReadingsUri("EXP", now.minusHours(1), now, "ndjson", null, "garbage"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("Invalid page token");
+    }
+
+    @Test
+    void importReadings_Ndjson_ShouldImportValidRecordsAndReportRejectedOnes() {
+        OffsetDateTime collectedAt = OffsetDateTime.now(ZoneOffset.UTC).minusDays(3).withNano(0);
+        String ndjson = "{\"station_code\":\"IMN\",\"collected_at\":\"" + collectedAt + "\",\"temperature\":12.0,\"humidity\":30.0,\"wind_speed\":4.0}\n" +
+                "{\"station_code\":\"IMN\",\"collected_at\":\"" + collectedAt + "\",\"temperature\":12.0,\"humidity\":30.0,\"wind_speed\":-1.0}\n";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+
+        ResponseEntity<WeatherImportResponse> response = restTemplate.postForEntity(
+                buildBaseUri() + "/import?format=ndjson", new HttpEntity<>(ndjson, headers), WeatherImportResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getImported()).isEqualTo(1);
+        assertThat(response.getBody().getRejected()).isEqualTo(1);
+        assertThat(response.getBody().getErrors()).containsExactly("Line 2: Wind speed must be at least 0 km/h");
+
+        ResponseEntity<WeatherAggregationResponse> aggregation = restTemplate.getForEntity(
+                buildAggregationUriForStationRange("IMN", collectedAt.minusMinutes(1), collectedAt.plusMinutes(1)),
+                WeatherAggregationResponse.class);
+        assertThat(aggregation.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(aggregation.getBody()).isNotNull();
+        assertThat(aggregation.getBody().getTemperature().getAvg()).isEqualTo(12.0);
+    }
+
+    @Test
+    void importReadings_Backfill_ShouldNotReplaceLastLiveReading() {
+        OffsetDateTime liveCollectedAt = OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(5).withNano(0);
+        WeatherRequest live = new WeatherRequest("IML", liveCollectedAt, 21.0, 45.0, 3.0);
+        restTemplate.postForEntity(buildBaseUri(), live, WeatherResponse.class);
+        assertThat(restTemplate.getForEntity(buildLatestWeatherUriForStationCode("IML"), WeatherResponse.class)
+                .getBody()).isNotNull();
+
+        OffsetDateTime backfilledAt = liveCollectedAt.minusDays(2);
+        String csv = "station_code,collected_at,temperature,humidity,wind_speed\n" +
+                "IML," + backfilledAt + ",5.0,70.0,1.0\n" +
+                "IML," + backfilledAt.plusMinutes(1) + ",6.0,70.0,1.0\n";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        ResponseEntity<WeatherImportResponse> imported = restTemplate.postForEntity(
+                buildBaseUri() + "/import?format=csv", new HttpEntity<>(csv, headers), WeatherImportResponse.class);
+        assertThat(imported.getBody()).isNotNull();
+        assertThat(imported.getBody().getImported()).isEqualTo(2);
+
+        ResponseEntity<WeatherResponse> last = restTemplate.getForEntity(
+                buildLatestWeatherUriForStationCode("IML"), WeatherResponse.class);
+
+        assertThat(last.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(last.getBody()).isNotNull();
+        assertThat(last.getBody().getCollectedAt().toInstant()).isEqualTo(liveCollectedAt.toInstant());
+        assertThat(last.getBody().getTemperature()).isEqualTo(21.0);
+    }
+
+    @Test
+    void getAggregationsByStationsAndDateRange_ShouldReturnMapKeyedByStation() {
+        OffsetDateTime collectedAt = OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(20).withNano(0);
+        restTemplate.postForEntity(buildBaseUri(), new WeatherRequest("MSA", collectedAt, 10.0, 40.0, 2.0), WeatherResponse.class);
+        restTemplate.postForEntity(buildBaseUri(), new WeatherRequest("MSB", collectedAt, 30.0, 60.0, 4.0), WeatherResponse.class);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        String uri = UriComponentsBuilder.fromUriString(buildBaseUri())
+                .pathSegment("range")
+                .queryParam("stations", "MSA,MSB,MSZ")
+                .queryParam("start", collectedAt.minusMinutes(1).format(formatter))
+                .queryParam("end", collectedAt.plusMinutes(1).format(formatter))
+                .build(true)
+                .toUriString();
+
+        ResponseEntity<Map<String, WeatherAggregationResponse>> response = restTemplate.exchange(uri, HttpMethod.GET,
+                null, new ParameterizedTypeReference<>() {
+                });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody()).containsOnlyKeys("MSA", "MSB");
+        assertThat(response.getBody().get("MSA").getTemperature().getAvg()).isEqualTo(10.0);
+        assertThat(response.getBody().get("MSB").getTemperature().getAvg()).isEqualTo(30.0);
+    }
+
+    @Test
+    void getSeriesByStationAndDateRange_ShouldReturnParallelArrays() {
+        OffsetDateTime bucketStart = OffsetDateTime.now(ZoneOffset.UTC).minusHours(3).truncatedTo(ChronoUnit.HOURS);
+        restTemplate.postForEntity(buildBaseUri(), new WeatherRequest("SRS", bucketStart.plusMinutes(5), 10.0, 40.0, 2.0), WeatherResponse.class);
+        restTemplate.postForEntity(buildBaseUri(), new WeatherRequest("SRS", bucketStart.plusMinutes(50), 20.0, 60.0, 4.0), WeatherResponse.class);
+        restTemplate.postForEntity(buildBaseUri(), new WeatherRequest("SRS", bucketStart.plusMinutes(70), 30.0, 50.0, 6.0), WeatherResponse.class);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        String uri = UriComponentsBuilder.fromUriString(buildBaseUri())
+                .pathSegment("SRS", "series")
+                .queryParam("start", bucketStart.format(formatter))
+                .queryParam("end", bucketStart.plusMinutes(119).format(formatter))
+                .queryParam("bucket", "1h")
+                .build(true)
+                .toUriString();
+
+        ResponseEntity<WeatherSeriesResponse> response = restTemplate.getForEntity(uri, WeatherSeriesResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        WeatherSeriesResponse body = response.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.getTimestamps()).containsExactly(bucketStart.toInstant().toEpochMilli(),
+                bucketStart.plusHours(1).toInstant().toEpochMilli());
+        assertThat(body.getRecordCounts()).containsExactly(2L, 1L);
+        assertThat(body.getTemperature().getAvg()).containsExactly(15.0, 30.0);
+        assertThat(body.getHumidity().getMax()).containsExactly(60.0, 50.0);
+    }
 }
@@ -0,0 +1,247 @@
+package com.gamehouse.weather.controller;
+
+import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.dto.WeatherRequest;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a mix of {@code POST /weather}, {@code GET /weather/{station}/last} and {@code GET /weather/{station}/range}
+ * from {@code load.stations} simulated stations at {@code load.rate} requests per second, spread over
+ * {@code load.threads} clients, and reports throughput and latency percentiles per operation. Every knob is a system
+ * property, e.g. {@code mvn test -Dtest=WeatherLoadIT -Dload.rate=2000 -Dload.threads=64 -Dload.duration.seconds=60}.
+ * <p>
+ * The load is open-loop: each request has an intended send time on a fixed schedule, and its latency is measured from
+ * that time rather than from when a client got round to sending it. A slow response therefore also counts against the
+ * requests queued behind it, as it would for real stations that keep reporting, instead of silently lowering the rate
+ * (coordinated omission). Clients must be enough to keep {@code load.rate} going at the expected latency; the
+ * achieved rate is printed next to the target.
+ * <p>
+ * The full HdrHistogram percentile distribution of each operation is printed and written to
+ * {@code target/load/<operation>.hgrm}, in milliseconds, so runs can be plotted and compared between commits.
+ */
+class WeatherLoadIT extends BaseIT {
+
+    private static final DateTimeFormatter UTC_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Path REPORT_DIR = Path.of("target", "load");
+
+    private enum Operation { POST, LAST, RANGE }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Value("${load.stations:50}")
+    private int stations;
+
+    @Value("${load.rate:500}")
+    private int rate;
+
+    @Value("${load.threads:16}")
+    private int threads;
+
+    @Value("${load.warmup.seconds:5}")
+    private int warmUpSeconds;
+
+    @Value("${load.duration.seconds:20}")
+    private int durationSeconds;
+
+    @Value("${load.mix:post:80,last:15,range:5}")
+    private String mix;
+
+    @Test
+    void reportThroughputAndLatency() throws Exception {
+        List<String> stationCodes = stationCodes(stations);
+        Operation[] weightedOperations = parseMix(mix);
+        stationCodes.forEach(this::post);
+
+        Map<Operation, Histogram> histograms = newHistograms();
+        LongAdder errors = new LongAdder();
+        run(stationCodes, weightedOperations, warmUpSeconds, histograms, errors);
+
+        histograms = newHistograms();
+        errors.reset();
+        long startedAt = System.nanoTime();
+        run(stationCodes, weightedOperations, durationSeconds, histograms, errors);
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        histograms.values().removeIf(histogram -> histogram.getTotalCount() == 0);
+        report(histograms, elapsedSeconds);
+        assertThat(histograms).isNotEmpty();
+        assertThat(errors.sum()).as("failed requests").isZero();
+    }
+
+    private void run(List<String> stationCodes, Operation[] weightedOperations, int seconds,
+                     Map<Operation, Histogram> histograms, LongAdder errors) throws Exception {
+        assertThat(rate).as("load.rate").isPositive();
+        long startAt = System.nanoTime();
+        long deadline = startAt + TimeUnit.SECONDS.toNanos(seconds);
+        // Client i sends requests i, i + threads, i + 2 * threads... of one schedule spaced 1 / rate apart.
+        double intervalNanos = 1e9 / rate;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int client = i;
+                clients.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (long request = client; ; request += threads) {
+                        long intendedAt = startAt + (long) (request * intervalNanos);
+                        if (intendedAt >= deadline) {
+                            break;
+                        }
+                        long wait = intendedAt - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+                        String stationCode = stationCodes.get(random.nextInt(stationCodes.size()));
+                        HttpStatusCode status = execute(operation, stationCode);
+                        histograms.get(operation).recordValue(
+                                Math.min((System.nanoTime() - intendedAt) / 1_000, HIGHEST_TRACKABLE_MICROS));
+                        if (!status.is2xxSuccessful()) {
+                            errors.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private HttpStatusCode execute(Operation operation, String stationCode) {
+        return switch (operation) {
+            case POST -> post(stationCode);
+            case LAST -> restTemplate.getForEntity(stationUri(stationCode, "last").toUriString(), String.class)
+                    .getStatusCode();
+            case RANGE -> {
+                OffsetDateTime end = OffsetDateTime.now(ZoneOffset.UTC);
+                String uri = stationUri(stationCode, "range")
+                        .queryParam("start", end.minusHours(1).format(UTC_FORMATTER))
+                        .queryParam("end", end.format(UTC_FORMATTER))
+                        .build(true)
+                        .toUriString();
+                yield restTemplate.getForEntity(uri, String.class).getStatusCode();
+            }
+        };
+    }
+
+    private HttpStatusCode post(String stationCode) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        WeatherRequest request = new WeatherRequest(stationCode,
+                OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS),
+                random.nextDouble(-10.0, 40.0), random.nextDouble(0.0, 100.0), random.nextDouble(0.0, 60.0));
+        return restTemplate.postForEntity(baseUri().toUriString(), request, String.class).getStatusCode();
+    }
+
+    private void report(Map<Operation, Histogram> histograms, double elapsedSeconds) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        long total = histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        System.out.printf("Load test: %d stations, %d threads, mix %s, %.1f s, %.0f req/s of %d targeted%n",
+                stations, threads, mix, elapsedSeconds, total / elapsedSeconds, rate);
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            System.out.printf("  %-5s %8d requests %9.0f req/s  p50 %8.3f ms  p99 %8.3f ms  p999 %8.3f ms  max %8.3f ms%n",
+                    entry.getKey(), histogram.getTotalCount(), histogram.getTotalCount() / elapsedSeconds,
+                    millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0);
+        }
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Path file = REPORT_DIR.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+            System.out.println(entry.getKey() + " latency distribution (ms), also written to " + file);
+            entry.getValue().outputPercentileDistribution(System.out, 1000.0);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Map<Operation, Histogram> newHistograms() {
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+        }
+        return histograms;
+    }
+
+    /**
+     * Expands a mix such as {@code post:80,last:15,range:5} into one entry per unit of weight, so operations are
+     * drawn by picking a random entry.
+     */
+    private static Operation[] parseMix(String mix) {
+        List<Operation> operations = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split(":");
+            Operation operation = Operation.valueOf(weight[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(weight[1].trim()); i > 0; i--) {
+                operations.add(operation);
+            }
+        }
+        assertThat(operations).as("load.mix").isNotEmpty();
+        return operations.toArray(Operation[]::new);
+    }
+
+    /**
+     * Codes {@code LAA} to {@code LZZ}, kept apart from the codes used by the other integration tests.
+     */
+    private static List<String> stationCodes(int count) {
+        assertThat(count).as("load.stations").isBetween(1, 26 * 26);
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add("L" + (char) ('A' + i / 26) + (char) ('A' + i % 26));
+        }
+        return codes;
+    }
+
+    private UriComponentsBuilder baseUri() {
+        return UriComponentsBuilder.newInstance()
+                .scheme("http")
+                .host("localhost")
+                .port(port)
+                .path("/weather");
+    }
+
+    private UriComponentsBuilder stationUri(String stationCode, String resource) {
+        return baseUri().pathSegment(stationCode, resource);
+    }
+}
@@ -2,6 +2,7 @@ package com.gamehouse.weather.exception;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -26,4 +27,13 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(response.getBody()).isEqualTo("Entity not found");
     }
+
+    @Test
+    void handleIngestQueueFullException_ShouldReturnTooManyRequestsWithRetryAfter() {
+        IngestQueueFullException ex = new IngestQueueFullException(5);
+        ResponseEntity<String> response = handler.handleIngestQueueFullException(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        assertThat(response.getBody()).isEqualTo("Ingest queue is full, retry later.");
+    }
 }
@@ -1,15 +1,20 @@
 package com.gamehouse.weather.mapper;
 
 import com.gamehouse.weather.dto.WeatherAggregationResponse;
+import com.gamehouse.weather.dto.WeatherSeriesResponse;
 import com.gamehouse.weather.dto.mapper.WeatherAggregationMapper;
 import com.gamehouse.weather.model.WeatherAggregation;
 import com.gamehouse.weather.model.WeatherAggregationStats;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import com.gamehouse.weather.model.WeatherSeries;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
 import java.time.OffsetDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class WeatherAggregationMapperTest {
 
@@ -33,4 +38,45 @@ class WeatherAggregationMapperTest {
         assertThat(dto.getWindSpeed().getMin()).isEqualTo(windSpeed.getMin());
         assertThat(dto.getWindSpeed().getMax()).isEqualTo(windSpeed.getMax());
     }
+
+    @Test
+    void toDto_shouldMapTotalsToDto() {
+        WeatherAggregationTotals totals = mock(WeatherAggregationTotals.class);
+        when(totals.getTemperatureAvg()).thenReturn(26.5);
+        when(totals.getTemperatureMin()).thenReturn(20.0);
+        when(totals.getTemperatureMax()).thenReturn(30.0);
+        when(totals.getHumidityAvg()).thenReturn(63.0);
+        when(totals.getHumidityMin()).thenReturn(50.0);
+        when(totals.getHumidityMax()).thenReturn(70.0);
+        when(totals.getWindSpeedAvg()).thenReturn(8.25);
+        when(totals.getWindSpeedMin()).thenReturn(5.0);
+        when(totals.getWindSpeedMax()).thenReturn(10.0);
+        WeatherAggregationResponse dto = mapper.toDto(totals);
+        assertThat(dto.getTemperature().getAvg()).isEqualTo(26.5);
+        assertThat(dto.getTemperature().getMin()).isEqualTo(20.0);
+        assertThat(dto.getTemperature().getMax()).isEqualTo(30.0);
+        assertThat(dto.getHumidity().getAvg()).isEqualTo(63.0);
+        assertThat(dto.getHumidity().getMin()).isEqualTo(50.0);
+        assertThat(dto.getHumidity().getMax()).isEqualTo(70.0);
+        assertThat(dto.getWindSpeed().getAvg()).isEqualTo(8.25);
+        assertThat(dto.getWindSpeed().getMin()).isEqualTo(5.0);
+        assertThat(dto.getWindSpeed().getMax()).isEqualTo(10.0);
+    }
+
+    @Test
+    void toDto_shouldMapSeriesToParallelArrays() {
+        WeatherSeries series = new WeatherSeries(1);
+        series.add(1_000L, 3, 20.0, 19.0, 21.0, 50.0, 45.0, 55.0, 5.0, 4.0, 6.0);
+        series.add(2_000L, 2, 22.0, 21.5, 22.5, 60.0, 58.0, 62.0, 7.0, 6.5, 7.5);
+
+        WeatherSeriesResponse dto = mapper.toDto(series, "5m");
+
+        assertThat(dto.getBucket()).isEqualTo("5m");
+        assertThat(dto.getTimestamps()).containsExactly(1_000L, 2_000L);
+        assertThat(dto.getRecordCounts()).containsExactly(3L, 2L);
+        assertThat(dto.getTemperature().getAvg()).containsExactly(20.0, 22.0);
+        assertThat(dto.getTemperature().getMin()).containsExactly(19.0, 21.5);
+        assertThat(dto.getHumidity().getMax()).containsExactly(55.0, 62.0);
+        assertThat(dto.getWindSpeed().getAvg()).containsExactly(5.0, 7.0);
+    }
 }
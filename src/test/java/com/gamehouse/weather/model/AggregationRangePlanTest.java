@@ -0,0 +1,128 @@
+package com.gamehouse.weather.model;
+
+import com.gamehouse.weather.model.AggregationRangePlan.Interval;
+import com.gamehouse.weather.model.AggregationRangePlan.Level;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AggregationRangePlanTest {
+
+    private static OffsetDateTime utc(int year, int month, int day, int hour, int minute, int second) {
+        return OffsetDateTime.of(year, month, day, hour, minute, second, 0, ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime local(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    @Test
+    void of_ShortRange_ShouldUseMinutesOnly() {
+        AggregationRangePlan plan = AggregationRangePlan.of(utc(2024, 3, 5, 10, 12, 0), utc(2024, 3, 5, 10, 40, 0));
+
+        assertThat(plan.intervals(Level.MINUTE)).containsExactly(
+                new Interval(local(2024, 3, 5, 10, 12), local(2024, 3, 5, 10, 41)));
+        assertThat(plan.intervals(Level.HOUR)).isEmpty();
+        assertThat(plan.intervals(Level.DAY)).isEmpty();
+        assertThat(plan.intervals(Level.MONTH)).isEmpty();
+    }
+
+    @Test
+    void of_UnalignedSeconds_ShouldKeepOnlyMinutesInsideRange() {
+        AggregationRangePlan plan = AggregationRangePlan.of(utc(2024, 3, 5, 10, 12, 30), utc(2024, 3, 5, 10, 40, 59));
+
+        assertThat(plan.intervals(Level.MINUTE)).containsExactly(
+                new Interval(local(2024, 3, 5, 10, 13), local(2024, 3, 5, 10, 41)));
+    }
+
+    @Test
+    void of_YearRange_ShouldUseMonthsInTheMiddleAndFinerLevelsAtEdges() {
+        AggregationRangePlan plan = AggregationRangePlan.of(utc(2023, 3, 14, 9, 26, 0), utc(2024, 3, 14, 9, 26, 0));
+
+        assertThat(plan.intervals(Level.MONTH)).containsExactly(
+                new Interval(local(2023, 4, 1, 0, 0), local(2024, 3, 1, 0, 0)));
+        assertThat(plan.intervals(Level.DAY)).containsExactly(
+                new Interval(local(2023, 3, 15, 0, 0), local(2023, 4, 1, 0, 0)),
+                new Interval(local(2024, 3, 1, 0, 0), local(2024, 3, 14, 0, 0)));
+        assertThat(plan.intervals(Level.HOUR)).containsExactly(
+                new Interval(local(2023, 3, 14, 10, 0), local(2023, 3, 15, 0, 0)),
+                new Interval(local(2024, 3, 14, 0, 0), local(2024, 3, 14, 9, 0)));
+        assertThat(plan.intervals(Level.MINUTE)).containsExactly(
+                new Interval(local(2023, 3, 14, 9, 26), local(2023, 3, 14, 10, 0)),
+                new Interval(local(2024, 3, 14, 9, 0), local(2024, 3, 14, 9, 27)));
+    }
+
+    @Test
+    void of_NonUtcOffset_ShouldPlanInUtc() {
+        OffsetDateTime start = OffsetDateTime.of(2024, 3, 5, 12, 0, 0, 0, ZoneOffset.ofHours(2));
+
+        AggregationRangePlan plan = AggregationRangePlan.of(start, start.plusHours(1).minusMinutes(1));
+
+        assertThat(plan.intervals(Level.HOUR)).containsExactly(
+                new Interval(local(2024, 3, 5, 10, 0), local(2024, 3, 5, 11, 0)));
+        assertThat(plan.intervals(Level.MINUTE)).isEmpty();
+    }
+
+    @Test
+    void of_EndBeforeStart_ShouldBeEmpty() {
+        AggregationRangePlan plan = AggregationRangePlan.of(utc(2024, 3, 5, 10, 40, 0), utc(2024, 3, 5, 10, 12, 0));
+
+        assertThat(plan.isEmpty()).isTrue();
+        assertThat(plan.intervalOrEmpty(Level.MINUTE, 0)).isEqualTo(Interval.EMPTY);
+    }
+
+    @Test
+    void of_RandomRanges_ShouldCoverEveryMinuteExactlyOnceWithBoundedBuckets() {
+        Random random = new Random(42);
+        OffsetDateTime origin = utc(2023, 1, 1, 0, 0, 0);
+        for (int i = 0; i < 500; i++) {
+            OffsetDateTime start = origin.plusSeconds(random.nextInt(400 * 24 * 3600));
+            OffsetDateTime end = start.plusSeconds(random.nextInt(400 * 24 * 3600));
+
+            AggregationRangePlan plan = AggregationRangePlan.of(start, end);
+
+            List<Interval> all = new ArrayList<>();
+            long buckets = 0;
+            for (Level level : Level.values()) {
+                assertThat(plan.intervals(level)).hasSizeLessThanOrEqualTo(level == Level.MONTH ? 1 : 2);
+                for (Interval interval : plan.intervals(level)) {
+                    assertThat(AggregationRangePlan.floor(interval.from(), level)).isEqualTo(interval.from());
+                    assertThat(AggregationRangePlan.floor(interval.to(), level)).isEqualTo(interval.to());
+                    buckets += level == Level.MONTH
+                            ? ChronoUnit.MONTHS.between(interval.from(), interval.to())
+                            : ChronoUnit.MINUTES.between(interval.from(), interval.to()) / minutesIn(level);
+                    all.add(interval);
+                }
+            }
+            all.sort((a, b) -> a.from().compareTo(b.from()));
+
+            LocalDateTime expectedFrom = start.toLocalDateTime().truncatedTo(ChronoUnit.MINUTES);
+            if (expectedFrom.isBefore(start.toLocalDateTime())) {
+                expectedFrom = expectedFrom.plusMinutes(1);
+            }
+            LocalDateTime expectedTo = end.toLocalDateTime().truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+            for (Interval interval : all) {
+                assertThat(interval.from()).isEqualTo(expectedFrom);
+                expectedFrom = interval.to();
+            }
+            assertThat(expectedFrom).isEqualTo(expectedTo);
+            assertThat(buckets).isLessThanOrEqualTo(118 + 46 + 60 + 14);
+        }
+    }
+
+    private static long minutesIn(Level level) {
+        return switch (level) {
+            case DAY -> 24 * 60;
+            case HOUR -> 60;
+            default -> 1;
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.gamehouse.weather.model;
+
+import com.gamehouse.weather.model.AlertRule.Condition;
+import com.gamehouse.weather.model.AlertRule.Metric;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertRuleSetTest {
+
+    @Test
+    void compile_ShouldPreferStationOverGroupOverGlobalOverFallback() {
+        AlertRuleSet rules = AlertRuleSet.compile(
+                List.of(AlertRule.global(Metric.TEMPERATURE, Condition.ABOVE, 45.0),
+                        AlertRule.global(Metric.MISSING_DATA, Condition.ABOVE, 30)),
+                List.of(AlertRule.global(Metric.TEMPERATURE, Condition.ABOVE, 40.0),
+                        new AlertRule(null, null, "coast", Metric.TEMPERATURE, Condition.ABOVE, 35.0),
+                        new AlertRule(null, null, "coast", Metric.WIND_SPEED, Condition.ABOVE, 20.0),
+                        new AlertRule(null, "AAA", null, Metric.TEMPERATURE, Condition.ABOVE, 30.0)),
+                Map.of("AAA", "coast", "BBB", "coast"));
+
+        assertThat(rules.threshold("AAA", Metric.TEMPERATURE, Condition.ABOVE)).isEqualTo(30.0);
+        assertThat(rules.threshold("AAA", Metric.WIND_SPEED, Condition.ABOVE)).isEqualTo(20.0);
+        assertThat(rules.threshold("BBB", Metric.TEMPERATURE, Condition.ABOVE)).isEqualTo(35.0);
+        assertThat(rules.threshold("CCC", Metric.TEMPERATURE, Condition.ABOVE)).isEqualTo(40.0);
+        assertThat(rules.threshold("CCC", Metric.WIND_SPEED, Condition.ABOVE)).isNaN();
+        assertThat(rules.missingDataMillis("AAA")).isEqualTo(30_000);
+        assertThat(rules.size()).isEqualTo(6);
+    }
+
+    @Test
+    void compile_StationRule_ShouldNotLeakToTheRestOfItsGroup() {
+        AlertRuleSet rules = AlertRuleSet.compile(List.of(),
+                List.of(new AlertRule(null, null, "coast", Metric.HUMIDITY, Condition.BELOW, 20.0),
+                        new AlertRule(null, "AAA", null, Metric.HUMIDITY, Condition.ABOVE, 90.0)),
+                Map.of("AAA", "coast", "BBB", "coast", "CCC", "coast"));
+
+        assertThat(rules.threshold("AAA", Metric.HUMIDITY, Condition.BELOW)).isEqualTo(20.0);
+        assertThat(rules.threshold("AAA", Metric.HUMIDITY, Condition.ABOVE)).isEqualTo(90.0);
+        assertThat(rules.threshold("BBB", Metric.HUMIDITY, Condition.ABOVE)).isNaN();
+        assertThat(rules.thresholdsOf("BBB")).isSameAs(rules.thresholdsOf("CCC"));
+    }
+
+    @Test
+    void missingDataMillis_WithoutRule_ShouldBeUnbounded() {
+        assertThat(AlertRuleSet.of().missingDataMillis("AAA")).isEqualTo(Long.MAX_VALUE);
+    }
+}
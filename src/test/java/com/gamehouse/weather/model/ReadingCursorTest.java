@@ -0,0 +1,41 @@
+package com.gamehouse.weather.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReadingCursorTest {
+
+    @Test
+    void encode_ShouldRoundTripThroughDecode() {
+        ReadingCursor cursor = new ReadingCursor(OffsetDateTime.of(2025, 3, 1, 10, 15, 30, 123456000, ZoneOffset.UTC), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(ReadingCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_ShouldNormalizeToUtc() {
+        OffsetDateTime collectedAt = OffsetDateTime.of(2025, 3, 1, 12, 0, 0, 0, ZoneOffset.ofHours(2));
+
+        ReadingCursor decoded = ReadingCursor.decode(new ReadingCursor(collectedAt, 7L).encode());
+
+        assertThat(decoded.collectedAt()).isEqualTo(collectedAt.withOffsetSameInstant(ZoneOffset.UTC));
+    }
+
+    @Test
+    void decode_InvalidToken_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> ReadingCursor.decode("not a token!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid page token");
+        assertThatThrownBy(() -> ReadingCursor.decode("bm8tc2VwYXJhdG9y"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid page token");
+    }
+}
@@ -0,0 +1,41 @@
+package com.gamehouse.weather.model;
+
+import com.gamehouse.weather.model.AggregationRangePlan.Level;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeriesBucketTest {
+
+    @Test
+    void parse_ShouldReadFromTheCoarsestLevelThatFitsEvenly() {
+        assertThat(SeriesBucket.parse("5m")).isEqualTo(new SeriesBucket("5m", Duration.ofMinutes(5), Level.MINUTE));
+        assertThat(SeriesBucket.parse("120m").source()).isEqualTo(Level.HOUR);
+        assertThat(SeriesBucket.parse("1h")).isEqualTo(new SeriesBucket("1h", Duration.ofHours(1), Level.HOUR));
+        assertThat(SeriesBucket.parse("48h").source()).isEqualTo(Level.DAY);
+        assertThat(SeriesBucket.parse(" 1d ")).isEqualTo(new SeriesBucket("1d", Duration.ofDays(1), Level.DAY));
+    }
+
+    @Test
+    void parse_UnsupportedValue_ShouldThrowIllegalArgumentException() {
+        for (String value : new String[]{null, "", "0m", "5s", "1w", "h", "-1h", "10000m"}) {
+            assertThatThrownBy(() -> SeriesBucket.parse(value))
+                    .as(value)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void floor_ShouldAlignToTheEpoch() {
+        assertThat(SeriesBucket.parse("5m").floor(Instant.parse("2025-03-01T10:07:59Z")))
+                .isEqualTo(Instant.parse("2025-03-01T10:05:00Z"));
+        assertThat(SeriesBucket.parse("1d").floor(Instant.parse("2025-03-01T23:59:59Z")))
+                .isEqualTo(Instant.parse("2025-03-01T00:00:00Z"));
+        assertThat(SeriesBucket.parse("1h").floor(Instant.parse("1969-12-31T23:30:00Z")))
+                .isEqualTo(Instant.parse("1969-12-31T23:00:00Z"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.gamehouse.weather.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StationCodesTest {
+
+    @Test
+    void indexOf_ShouldEncodeDensely() {
+        assertThat(StationCodes.indexOf("AAA")).isZero();
+        assertThat(StationCodes.indexOf("AAB")).isEqualTo(1);
+        assertThat(StationCodes.indexOf("ABA")).isEqualTo(26);
+        assertThat(StationCodes.indexOf("ZZZ")).isEqualTo(StationCodes.SLOTS - 1);
+    }
+
+    @Test
+    void codeOf_ShouldRoundTrip() {
+        for (int i = 0; i < StationCodes.SLOTS; i++) {
+            assertThat(StationCodes.indexOf(StationCodes.codeOf(i))).isEqualTo(i);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"AB", "ABCD", "abc", "AB1", "A-C"})
+    void indexOf_InvalidCode_ShouldReturnMinusOne(String code) {
+        assertThat(StationCodes.indexOf(code)).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,124 @@
+package com.gamehouse.weather.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class StationMinuteIndexTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final long FIRST = StationMinuteIndex.epochMinuteOf(START);
+
+    @Test
+    void aggregate_ShouldWeightAveragesAndSkipEmptyMinutes() {
+        StationMinuteIndex index = new StationMinuteIndex("ABC", 60, FIRST);
+        index.append(minute(0, 2, 10.0, 5.0, 15.0));
+        index.append(minute(3, 1, 40.0, 40.0, 40.0));
+        index.advanceTo(FIRST + 10);
+
+        WeatherAggregationTotals totals = index.aggregate(FIRST, FIRST + 10).orElseThrow();
+
+        assertThat(totals.getTotalRecords()).isEqualTo(3);
+        assertThat(totals.getTemperatureAvg()).isCloseTo(20.0, within(1e-9));
+        assertThat(totals.getTemperatureMin()).isEqualTo(5.0);
+        assertThat(totals.getTemperatureMax()).isEqualTo(40.0);
+        assertThat(index.aggregate(FIRST + 1, FIRST + 3).orElseThrow().getTotalRecords()).isZero();
+    }
+
+    @Test
+    void aggregate_OutsideWindow_ShouldBeEmpty() {
+        StationMinuteIndex index = new StationMinuteIndex("ABC", 60, FIRST);
+        index.advanceTo(FIRST + 100);
+
+        assertThat(index.aggregate(FIRST - 1, FIRST + 10)).isEmpty();
+        assertThat(index.aggregate(FIRST + 40, FIRST + 50)).isEmpty();
+        assertThat(index.aggregate(FIRST + 90, FIRST + 101)).isEmpty();
+        assertThat(index.aggregate(FIRST + 41, FIRST + 100)).isPresent();
+    }
+
+    @Test
+    void combine_ShouldMatchTheTotalsOfBothRangesTogether() {
+        StationMinuteIndex index = new StationMinuteIndex("ABC", 60, FIRST);
+        index.append(minute(0, 2, 10.0, 5.0, 15.0));
+        index.append(minute(3, 1, 40.0, 40.0, 40.0));
+        WeatherAggregationTotals empty = index.aggregate(FIRST + 1, FIRST + 3).orElseThrow();
+
+        WeatherAggregationTotals combined = StationMinuteIndex.combine(index.aggregate(FIRST, FIRST + 1).orElseThrow(),
+                index.aggregate(FIRST + 1, FIRST + 4).orElseThrow());
+
+        assertThat(combined.getTotalRecords()).isEqualTo(3);
+        assertThat(combined.getTemperatureAvg()).isCloseTo(20.0, within(1e-9));
+        assertThat(combined.getTemperatureMin()).isEqualTo(5.0);
+        assertThat(combined.getTemperatureMax()).isEqualTo(40.0);
+        assertThat(StationMinuteIndex.combine(empty, null)).isSameAs(empty);
+        assertThat(StationMinuteIndex.combine(empty, combined)).isSameAs(combined);
+    }
+
+    @Test
+    void append_MinuteAlreadyIndexed_ShouldThrowException() {
+        StationMinuteIndex index = new StationMinuteIndex("ABC", 60, FIRST);
+        index.append(minute(5, 1, 1.0, 1.0, 1.0));
+
+        assertThatThrownBy(() -> index.append(minute(5, 1, 1.0, 1.0, 1.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void aggregate_RandomRangesAcrossWrappedRing_ShouldMatchBruteForce() {
+        int window = 97;
+        int minutes = 500;
+        Random random = new Random(7);
+        long[] records = new long[minutes];
+        double[] avg = new double[minutes];
+        double[] min = new double[minutes];
+        double[] max = new double[minutes];
+        StationMinuteIndex index = new StationMinuteIndex("ABC", window, FIRST);
+        for (int m = 0; m < minutes; m++) {
+            if (random.nextInt(3) > 0) {
+                records[m] = 1 + random.nextInt(5);
+                min[m] = random.nextDouble() * 40 - 10;
+                max[m] = min[m] + random.nextDouble() * 5;
+                avg[m] = (min[m] + max[m]) / 2;
+                index.append(minute(m, records[m], avg[m], min[m], max[m]));
+            }
+        }
+        index.advanceTo(FIRST + minutes);
+
+        for (int i = 0; i < 1000; i++) {
+            int from = minutes - window + 1 + random.nextInt(window - 1);
+            int to = from + 1 + random.nextInt(minutes - from);
+            long expectedRecords = 0;
+            double expectedSum = 0;
+            double expectedMin = Double.POSITIVE_INFINITY;
+            double expectedMax = Double.NEGATIVE_INFINITY;
+            for (int m = from; m < to; m++) {
+                if (records[m] > 0) {
+                    expectedRecords += records[m];
+                    expectedSum += avg[m] * records[m];
+                    expectedMin = Math.min(expectedMin, min[m]);
+                    expectedMax = Math.max(expectedMax, max[m]);
+                }
+            }
+
+            WeatherAggregationTotals totals = index.aggregate(FIRST + from, FIRST + to).orElseThrow();
+
+            assertThat(totals.getTotalRecords()).isEqualTo(expectedRecords);
+            if (expectedRecords > 0) {
+                assertThat(totals.getTemperatureAvg()).isCloseTo(expectedSum / expectedRecords, within(1e-6));
+                assertThat(totals.getTemperatureMin()).isEqualTo(expectedMin);
+                assertThat(totals.getTemperatureMax()).isEqualTo(expectedMax);
+            }
+        }
+    }
+
+    private static WeatherAggregation minute(int offset, long records, double avg, double min, double max) {
+        WeatherAggregationStats stats = new WeatherAggregationStats(avg, min, max);
+        return new WeatherAggregation("ABC", START.plusMinutes(offset), records, stats, stats, stats);
+    }
+}
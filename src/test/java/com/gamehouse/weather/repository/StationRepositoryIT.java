@@ -0,0 +1,77 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.model.Station;
+import com.gamehouse.weather.model.Weather;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StationRepositoryIT extends BaseIT {
+
+    @Autowired
+    private StationRepository repository;
+
+    @Autowired
+    private WeatherRepository weatherRepository;
+
+    @Autowired
+    private WeatherBatchRepository weatherBatchRepository;
+
+    @BeforeEach
+    void setUp() {
+        weatherRepository.deleteAll();
+        repository.deleteAll();
+    }
+
+    @Test
+    void testInsertIntoWeatherRegistersStationAndTracksLastSeen() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        weatherBatchRepository.insertAll(List.of(
+                weather("ABC", now.minusMinutes(10), now.minusMinutes(9)),
+                weather("ABC", now.minusMinutes(5), now.minusMinutes(4))
+        ));
+        weatherBatchRepository.insertAll(List.of(
+                weather("ABC", now.minusMinutes(20), now.minusMinutes(1))
+        ));
+
+        Optional<Station> foundOpt = repository.findById("ABC");
+        assertThat(foundOpt).isPresent();
+        Station found = foundOpt.get();
+        assertThat(found.getFirstReceivedAt()).isEqualTo(now.minusMinutes(9));
+        assertThat(found.getLastReceivedAt()).isEqualTo(now.minusMinutes(1));
+        assertThat(found.getLastCollectedAt()).isEqualTo(now.minusMinutes(5));
+    }
+
+    @Test
+    void testFindAllCodes() {
+        OffsetDateTime now = OffsetDateTime.now();
+        weatherRepository.save(weather("DEF", now.minusMinutes(8), now.minusMinutes(8)));
+        weatherRepository.save(weather("ABC", now.minusMinutes(10), now.minusMinutes(10)));
+        weatherRepository.save(weather("ABC", now.minusMinutes(5), now.minusMinutes(5)));
+
+        assertThat(repository.findAllCodes()).containsExactly("ABC", "DEF");
+    }
+
+    @Test
+    void testFindLatestReceivedAt() {
+        OffsetDateTime now = OffsetDateTime.now();
+        weatherRepository.save(weather("ABC", now.minusMinutes(10), now.minusMinutes(10)));
+        weatherRepository.save(weather("DEF", now.minusMinutes(10), now.minusMinutes(10)));
+        weatherRepository.save(weather("DEF", now.minusSeconds(5), now.minusSeconds(5)));
+
+        assertThat(repository.findLatestReceivedAt()).isPresent();
+    }
+
+    private Weather weather(String stationCode, OffsetDateTime collectedAt, OffsetDateTime receivedAt) {
+        return new Weather(null, stationCode, collectedAt, receivedAt, 20.0, 50.0, 5.0);
+    }
+}
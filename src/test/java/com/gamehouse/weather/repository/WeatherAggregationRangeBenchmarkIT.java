@@ -0,0 +1,163 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.model.AggregationRangePlan;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds one station-year of minute aggregates and reports range query latency for 1-day, 30-day and 1-year ranges,
+ * reading every minute and reading the planned rollup buckets, next to the cost of merging readings into minutes.
+ */
+class WeatherAggregationRangeBenchmarkIT extends BaseIT {
+
+    private static final String STATION_CODE = "BNC";
+    private static final OffsetDateTime YEAR_START = OffsetDateTime.of(2023, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final int WARM_UP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+    private static final String INGEST_STATION_CODE = "ING";
+    private static final int INGEST_MINUTES = 60;
+    private static final int READINGS_PER_MINUTE = 20;
+
+    @Autowired
+    private WeatherAggregationRepository repository;
+
+    @Autowired
+    private WeatherRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seedYearOfMinutes() {
+        deleteAggregates();
+        jdbcTemplate.update(
+                "INSERT INTO weather_aggregation (station_code, minute_window, total_records, " +
+                        "    avg_temperature, min_temperature, max_temperature, " +
+                        "    avg_humidity, min_humidity, max_humidity, " +
+                        "    avg_wind_speed, min_wind_speed, max_wind_speed) " +
+                        "SELECT ?, m, 1 + (i % 6), " +
+                        "    20 + (i % 10), 15 + (i % 10), 25 + (i % 10), " +
+                        "    50 + (i % 20), 40 + (i % 20), 60 + (i % 20), " +
+                        "    5 + (i % 5), 1 + (i % 5), 9 + (i % 5) " +
+                        "FROM generate_series(?::timestamp, ?::timestamp - interval '1 minute', interval '1 minute') " +
+                        "    WITH ORDINALITY AS s(m, i)",
+                STATION_CODE, YEAR_START.toLocalDateTime(), YEAR_START.plusYears(1).toLocalDateTime());
+        rollupRepository.drainChunk(Integer.MAX_VALUE);
+        jdbcTemplate.execute("VACUUM ANALYZE weather_aggregation");
+        jdbcTemplate.execute("VACUUM ANALYZE weather_aggregation_hour");
+        jdbcTemplate.execute("VACUUM ANALYZE weather_aggregation_day");
+        jdbcTemplate.execute("VACUUM ANALYZE weather_aggregation_month");
+        jdbcTemplate.execute("VACUUM ANALYZE weather_rollup_delta");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        deleteAggregates();
+    }
+
+    private void deleteAggregates() {
+        repository.deleteAll();
+        jdbcTemplate.update("DELETE FROM weather_aggregation_hour");
+        jdbcTemplate.update("DELETE FROM weather_aggregation_day");
+        jdbcTemplate.update("DELETE FROM weather_aggregation_month");
+        jdbcTemplate.update("DELETE FROM weather_rollup_delta");
+    }
+
+    @Test
+    void rangeQueryUsesPrimaryKeyIndex() {
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT SUM(avg_temperature * total_records) / SUM(total_records), MIN(min_temperature) " +
+                        "FROM weather_aggregation WHERE station_code = ? AND minute_window BETWEEN ? AND ?",
+                String.class,
+                STATION_CODE, YEAR_START.toLocalDateTime(), YEAR_START.plusHours(1).toLocalDateTime());
+
+        assertThat(String.join("\n", plan)).contains("weather_aggregation_pkey");
+    }
+
+    /**
+     * Inserts readings one statement at a time, so every one after the first of a minute merges into its minute row,
+     * and reports the median statement latency and the share of those merges that were HOT updates.
+     */
+    @Test
+    void reportIngestCost() {
+        OffsetDateTime start = YEAR_START.plusYears(1);
+        long[] micros = new long[INGEST_MINUTES * READINGS_PER_MINUTE];
+        long[] updatesBefore = aggregationUpdates();
+        for (int i = 0; i < micros.length; i++) {
+            OffsetDateTime collectedAt = start.plusMinutes(i / READINGS_PER_MINUTE)
+                    .plusSeconds(i % READINGS_PER_MINUTE);
+            long startedAt = System.nanoTime();
+            jdbcTemplate.update("INSERT INTO weather (station_code, collected_at, received_at, " +
+                            "temperature, humidity, wind_speed) VALUES (?, ?, ?, ?, 50.0, 5.0)",
+                    INGEST_STATION_CODE, collectedAt, collectedAt, 10.0 + i % 10);
+            micros[i] = (System.nanoTime() - startedAt) / 1_000;
+        }
+        long[] updatesAfter = aggregationUpdates();
+        jdbcTemplate.update("DELETE FROM weather WHERE station_code = ?", INGEST_STATION_CODE);
+        jdbcTemplate.update("DELETE FROM station WHERE code = ?", INGEST_STATION_CODE);
+
+        Arrays.sort(micros);
+        long updates = updatesAfter[0] - updatesBefore[0];
+        long hotUpdates = updatesAfter[1] - updatesBefore[1];
+        assertThat(updates).isGreaterThanOrEqualTo((long) INGEST_MINUTES * (READINGS_PER_MINUTE - 1));
+        System.out.printf("Ingest median latency %d us per reading, %d of %d minute merges were HOT updates%n",
+                micros[micros.length / 2], hotUpdates, updates);
+    }
+
+    private long[] aggregationUpdates() {
+        jdbcTemplate.execute("SELECT pg_stat_force_next_flush()");
+        return jdbcTemplate.queryForObject(
+                "SELECT n_tup_upd, n_tup_hot_upd FROM pg_stat_user_tables WHERE relname = 'weather_aggregation'",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+
+    @Test
+    void reportRangeLatency() {
+        for (Duration range : List.of(Duration.ofDays(1), Duration.ofDays(30), Duration.ofDays(365))) {
+            // Start off the hour so the planner has unaligned edges to fill with finer buckets.
+            OffsetDateTime start = YEAR_START.plusMinutes(17);
+            OffsetDateTime end = start.plus(range).minusMinutes(1);
+            long expectedRecords = jdbcTemplate.queryForObject(
+                    "SELECT SUM(total_records) FROM weather_aggregation " +
+                            "WHERE station_code = ? AND minute_window BETWEEN ? AND ?",
+                    Long.class, STATION_CODE, start.toLocalDateTime(), end.toLocalDateTime());
+
+            long minutes = measure(expectedRecords,
+                    () -> repository.aggregateByStationAndRange(STATION_CODE, start, end));
+            long rollups = measure(expectedRecords,
+                    () -> repository.aggregateByStationAndPlan(STATION_CODE, AggregationRangePlan.of(start, end)));
+
+            System.out.printf("Range aggregation median latency over %d days: minutes %d us, rollups %d us%n",
+                    range.toDays(), minutes, rollups);
+        }
+    }
+
+    private long measure(long expectedRecords, Supplier<WeatherAggregationTotals> query) {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            query.get();
+        }
+        long[] micros = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            WeatherAggregationTotals totals = query.get();
+            micros[i] = (System.nanoTime() - startedAt) / 1_000;
+            assertThat(totals.getTotalRecords()).isEqualTo(expectedRecords);
+        }
+        Arrays.sort(micros);
+        return micros[MEASURED_RUNS / 2];
+    }
+}
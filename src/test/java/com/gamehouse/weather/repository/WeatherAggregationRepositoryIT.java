@@ -1,14 +1,21 @@
 package com.gamehouse.weather.repository;
 
 import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.model.AggregationRangePlan;
+import com.gamehouse.weather.model.Weather;
 import com.gamehouse.weather.model.WeatherAggregation;
 import com.gamehouse.weather.model.WeatherAggregationId;
 import com.gamehouse.weather.model.WeatherAggregationStats;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,9 +26,22 @@ class WeatherAggregationRepositoryIT extends BaseIT {
     @Autowired
     private WeatherAggregationRepository repository;
 
+    @Autowired
+    private WeatherBatchRepository weatherBatchRepository;
+
+    @Autowired
+    private WeatherRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         repository.deleteAll();
+        jdbcTemplate.update("DELETE FROM weather_aggregation_hour");
+        jdbcTemplate.update("DELETE FROM weather_aggregation_day");
+        jdbcTemplate.update("DELETE FROM weather_aggregation_month");
+        jdbcTemplate.update("DELETE FROM weather_rollup_delta");
     }
 
     @Test
@@ -80,19 +100,19 @@ class WeatherAggregationRepositoryIT extends BaseIT {
         repository.save(agg2);
         OffsetDateTime start = now.minusMinutes(12);
         OffsetDateTime end = now.minusMinutes(3);
-        WeatherAggregation aggregated = repository.aggregateByStationAndRange(stationCode, start, end);
+        WeatherAggregationTotals aggregated = repository.aggregateByStationAndRange(stationCode, start, end);
         assertThat(aggregated).isNotNull();
         assertThat(aggregated.getStationCode()).isEqualTo(stationCode);
         assertThat(aggregated.getTotalRecords()).isEqualTo(300L);
-        assertThat(aggregated.getTemperature().getAvg()).isCloseTo(25.0, within(0.1));
-        assertThat(aggregated.getTemperature().getMin()).isEqualTo(20.0);
-        assertThat(aggregated.getTemperature().getMax()).isEqualTo(30.0);
-        assertThat(aggregated.getHumidity().getAvg()).isCloseTo(60.0, within(0.1));
-        assertThat(aggregated.getHumidity().getMin()).isEqualTo(50.0);
-        assertThat(aggregated.getHumidity().getMax()).isEqualTo(70.0);
-        assertThat(aggregated.getWindSpeed().getAvg()).isCloseTo(7.5, within(0.1));
-        assertThat(aggregated.getWindSpeed().getMin()).isEqualTo(5.0);
-        assertThat(aggregated.getWindSpeed().getMax()).isEqualTo(10.0);
+        assertThat(aggregated.getTemperatureAvg()).isCloseTo(26.667, within(0.001));
+        assertThat(aggregated.getTemperatureMin()).isEqualTo(20.0);
+        assertThat(aggregated.getTemperatureMax()).isEqualTo(30.0);
+        assertThat(aggregated.getHumidityAvg()).isCloseTo(63.333, within(0.001));
+        assertThat(aggregated.getHumidityMin()).isEqualTo(50.0);
+        assertThat(aggregated.getHumidityMax()).isEqualTo(70.0);
+        assertThat(aggregated.getWindSpeedAvg()).isCloseTo(8.333, within(0.001));
+        assertThat(aggregated.getWindSpeedMin()).isEqualTo(5.0);
+        assertThat(aggregated.getWindSpeedMax()).isEqualTo(10.0);
     }
 
     @Test
@@ -119,18 +139,161 @@ class WeatherAggregationRepositoryIT extends BaseIT {
         repository.save(agg2);
         OffsetDateTime start = now.minusMinutes(12);
         OffsetDateTime end = now.minusMinutes(3);
-        WeatherAggregation result = repository.aggregateByStationAndRange(stationCode, start, end);
+        WeatherAggregationTotals result = repository.aggregateByStationAndRange(stationCode, start, end);
         assertThat(result).isNotNull();
         assertThat(result.getStationCode()).isEqualTo(stationCode);
         assertThat(result.getTotalRecords()).isEqualTo(300L);
-        assertThat(result.getTemperature().getAvg()).isCloseTo(25.0, within(0.1));
-        assertThat(result.getTemperature().getMin()).isEqualTo(20.0);
-        assertThat(result.getTemperature().getMax()).isEqualTo(30.0);
-        assertThat(result.getHumidity().getAvg()).isCloseTo(60.0, within(0.1));
-        assertThat(result.getHumidity().getMin()).isEqualTo(50.0);
-        assertThat(result.getHumidity().getMax()).isEqualTo(70.0);
-        assertThat(result.getWindSpeed().getAvg()).isCloseTo(7.5, within(0.1));
-        assertThat(result.getWindSpeed().getMin()).isEqualTo(5.0);
-        assertThat(result.getWindSpeed().getMax()).isEqualTo(10.0);
+        assertThat(result.getTemperatureAvg()).isCloseTo(26.667, within(0.001));
+        assertThat(result.getTemperatureMin()).isEqualTo(20.0);
+        assertThat(result.getTemperatureMax()).isEqualTo(30.0);
+        assertThat(result.getHumidityAvg()).isCloseTo(63.333, within(0.001));
+        assertThat(result.getHumidityMin()).isEqualTo(50.0);
+        assertThat(result.getHumidityMax()).isEqualTo(70.0);
+        assertThat(result.getWindSpeedAvg()).isCloseTo(8.333, within(0.001));
+        assertThat(result.getWindSpeedMin()).isEqualTo(5.0);
+        assertThat(result.getWindSpeedMax()).isEqualTo(10.0);
+    }
+
+    @Test
+    void testAggregateByStationAndRangeOutsideDataReturnsNull() {
+        OffsetDateTime now = OffsetDateTime.now().withSecond(0).withNano(0);
+        repository.save(new WeatherAggregation(
+                "ABC",
+                now.minusMinutes(30),
+                10L,
+                new WeatherAggregationStats(20.0, 20.0, 20.0),
+                new WeatherAggregationStats(50.0, 50.0, 50.0),
+                new WeatherAggregationStats(5.0, 5.0, 5.0)
+        ));
+
+        assertThat(repository.aggregateByStationAndRange("ABC", now.minusMinutes(10), now)).isNull();
+        assertThat(repository.aggregateByStationAndRange("XYZ", now.minusMinutes(40), now)).isNull();
+    }
+
+    @Test
+    void testStatementTriggerMergesBatchesIntoMinuteWindow() {
+        OffsetDateTime minute = OffsetDateTime.of(2024, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        weatherBatchRepository.insertAll(List.of(
+                weather("TRG", minute.plusSeconds(5), 20.0, 40.0, 2.0),
+                weather("TRG", minute.plusSeconds(15), 22.0, 50.0, 4.0),
+                weather("TRG", minute.plusSeconds(25), 24.0, 60.0, 6.0)
+        ));
+        weatherBatchRepository.insertAll(List.of(
+                weather("TRG", minute.plusSeconds(45), 30.0, 70.0, 8.0)
+        ));
+
+        Optional<WeatherAggregation> foundOpt = repository.findById(new WeatherAggregationId("TRG", minute));
+        assertThat(foundOpt).isPresent();
+        WeatherAggregation found = foundOpt.get();
+        assertThat(found.getTotalRecords()).isEqualTo(4L);
+        assertThat(found.getTemperature().getAvg()).isCloseTo(24.0, within(0.0001));
+        assertThat(found.getTemperature().getMin()).isEqualTo(20.0);
+        assertThat(found.getTemperature().getMax()).isEqualTo(30.0);
+        assertThat(found.getHumidity().getAvg()).isCloseTo(55.0, within(0.0001));
+        assertThat(found.getHumidity().getMin()).isEqualTo(40.0);
+        assertThat(found.getHumidity().getMax()).isEqualTo(70.0);
+        assertThat(found.getWindSpeed().getAvg()).isCloseTo(5.0, within(0.0001));
+        assertThat(found.getWindSpeed().getMin()).isEqualTo(2.0);
+        assertThat(found.getWindSpeed().getMax()).isEqualTo(8.0);
+    }
+
+    @Test
+    void testRollupDrainMaintainsHourDayAndMonthBuckets() {
+        OffsetDateTime minute = OffsetDateTime.of(2024, 1, 31, 23, 59, 0, 0, ZoneOffset.UTC);
+        weatherBatchRepository.insertAll(List.of(
+                weather("ROL", minute.plusSeconds(10), 10.0, 40.0, 2.0),
+                weather("ROL", minute.plusSeconds(70), 20.0, 60.0, 4.0)
+        ));
+        weatherBatchRepository.insertAll(List.of(
+                weather("ROL", minute.plusSeconds(30), 40.0, 50.0, 9.0)
+        ));
+        rollupRepository.drainChunk(Integer.MAX_VALUE);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT bucket_start || ' ' || total_records || ' ' || sum_temperature || ' ' || max_temperature " +
+                        "FROM weather_aggregation_hour WHERE station_code = 'ROL' ORDER BY bucket_start",
+                String.class))
+                .containsExactly("2024-01-31 23:00:00 2 50 40", "2024-02-01 00:00:00 1 20 20");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT total_records FROM weather_aggregation_month WHERE station_code = 'ROL' ORDER BY bucket_start",
+                Long.class))
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void testAggregateByStationAndPlanCountsPendingDeltasOnce() {
+        OffsetDateTime origin = OffsetDateTime.of(2024, 1, 30, 22, 0, 0, 0, ZoneOffset.UTC);
+        weatherBatchRepository.insertAll(List.of(
+                weather("DLT", origin.plusMinutes(5), 10.0, 40.0, 2.0),
+                weather("DLT", origin.plusHours(30), 30.0, 60.0, 4.0)
+        ));
+        AggregationRangePlan plan = AggregationRangePlan.of(origin, origin.plusDays(3));
+
+        WeatherAggregationTotals pending = repository.aggregateByStationAndPlan("DLT", plan);
+        rollupRepository.drainChunk(Integer.MAX_VALUE);
+        WeatherAggregationTotals drained = repository.aggregateByStationAndPlan("DLT", plan);
+
+        assertThat(pending.getTotalRecords()).isEqualTo(2L);
+        assertThat(drained.getTotalRecords()).isEqualTo(2L);
+        assertThat(drained.getTemperatureAvg()).isCloseTo(pending.getTemperatureAvg(), within(1e-9));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM weather_rollup_delta", Long.class)).isZero();
+    }
+
+    @Test
+    void testAggregateByStationAndPlanMatchesMinuteLevelAggregation() {
+        OffsetDateTime origin = OffsetDateTime.of(2024, 1, 30, 22, 0, 0, 0, ZoneOffset.UTC);
+        List<Weather> readings = new ArrayList<>();
+        for (int i = 0; i < 4 * 24 * 60; i += 7) {
+            OffsetDateTime collectedAt = origin.plusMinutes(i).plusSeconds(i % 60);
+            readings.add(weather("PLN", collectedAt, i % 37, 30.0 + i % 50, i % 11));
+            if (i % 3 == 0) {
+                readings.add(weather("PLN", collectedAt.plusSeconds(1), -(i % 13), 90.0, 20.0));
+            }
+        }
+        weatherBatchRepository.insertAll(readings);
+
+        OffsetDateTime start = origin.plusMinutes(95).plusSeconds(20);
+        OffsetDateTime end = origin.plusDays(3).plusHours(5).plusMinutes(17);
+        WeatherAggregationTotals expected = repository.aggregateByStationAndRange("PLN", start, end);
+        WeatherAggregationTotals planned = repository.aggregateByStationAndPlan("PLN", AggregationRangePlan.of(start, end));
+
+        assertThat(planned.getTotalRecords()).isEqualTo(expected.getTotalRecords());
+        assertThat(planned.getTemperatureAvg()).isCloseTo(expected.getTemperatureAvg(), within(1e-9));
+        assertThat(planned.getTemperatureMin()).isEqualTo(expected.getTemperatureMin());
+        assertThat(planned.getTemperatureMax()).isEqualTo(expected.getTemperatureMax());
+        assertThat(planned.getHumidityAvg()).isCloseTo(expected.getHumidityAvg(), within(1e-9));
+        assertThat(planned.getHumidityMin()).isEqualTo(expected.getHumidityMin());
+        assertThat(planned.getHumidityMax()).isEqualTo(expected.getHumidityMax());
+        assertThat(planned.getWindSpeedAvg()).isCloseTo(expected.getWindSpeedAvg(), within(1e-9));
+        assertThat(planned.getWindSpeedMin()).isEqualTo(expected.getWindSpeedMin());
+        assertThat(planned.getWindSpeedMax()).isEqualTo(expected.getWindSpeedMax());
+    }
+
+    @Test
+    void testAggregateByStationsAndPlanGroupsEveryStationInOneQuery() {
+        OffsetDateTime origin = OffsetDateTime.of(2024, 3, 10, 23, 30, 0, 0, ZoneOffset.UTC);
+        weatherBatchRepository.insertAll(List.of(
+                weather("MSA", origin.plusSeconds(10), 10.0, 40.0, 2.0),
+                weather("MSA", origin.plusHours(2), 20.0, 60.0, 4.0),
+                weather("MSB", origin.plusHours(1), 30.0, 50.0, 6.0),
+                weather("MSC", origin.plusDays(5), 40.0, 50.0, 8.0)
+        ));
+
+        OffsetDateTime start = origin;
+        OffsetDateTime end = origin.plusHours(3);
+        List<WeatherAggregationTotals> totals = repository.aggregateByStationsAndPlan(
+                List.of("MSA", "MSB", "MSC", "MSD"), AggregationRangePlan.of(start, end));
+
+        assertThat(totals).extracting(WeatherAggregationTotals::getStationCode).containsExactlyInAnyOrder("MSA", "MSB");
+        for (WeatherAggregationTotals stationTotals : totals) {
+            WeatherAggregationTotals single = repository.aggregateByStationAndRange(stationTotals.getStationCode(), start, end);
+            assertThat(stationTotals.getTotalRecords()).isEqualTo(single.getTotalRecords());
+            assertThat(stationTotals.getTemperatureAvg()).isCloseTo(single.getTemperatureAvg(), within(1e-9));
+            assertThat(stationTotals.getHumidityMax()).isEqualTo(single.getHumidityMax());
+        }
+    }
+
+    private Weather weather(String stationCode, OffsetDateTime collectedAt, double temperature, double humidity, double windSpeed) {
+        return new Weather(null, stationCode, collectedAt, collectedAt, temperature, humidity, windSpeed);
     }
 }
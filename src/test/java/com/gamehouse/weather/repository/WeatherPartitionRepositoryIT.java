@@ -0,0 +1,90 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.model.Weather;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeatherPartitionRepositoryIT extends BaseIT {
+
+    private static final LocalDate DAY = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private WeatherPartitionRepository partitionRepository;
+
+    @Autowired
+    private WeatherBatchRepository weatherBatchRepository;
+
+    @Autowired
+    private WeatherRepository weatherRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        partitionRepository.dropPartitionsBefore(DAY.plusDays(2));
+        weatherRepository.deleteAll();
+    }
+
+    @Test
+    void createPartition_ShouldMoveRowsOfTheDayOutOfTheDefaultPartition() {
+        OffsetDateTime collectedAt = DAY.atTime(12, 0).atOffset(ZoneOffset.UTC);
+        transactionTemplate.executeWithoutResult(status -> weatherBatchRepository.insertAll(List.of(
+                new Weather(null, "PRT", collectedAt, collectedAt, 20.0, 50.0, 5.0),
+                new Weather(null, "PRT", collectedAt.plusDays(1), collectedAt.plusDays(1), 21.0, 51.0, 6.0)
+        )));
+        assertThat(partitionOf(collectedAt)).isEqualTo("weather_default");
+
+        assertThat(partitionRepository.createPartition(DAY)).isTrue();
+        assertThat(partitionRepository.createPartition(DAY)).isFalse();
+
+        assertThat(partitionOf(collectedAt)).isEqualTo("weather_p20010101");
+        assertThat(partitionOf(collectedAt.plusDays(1))).isEqualTo("weather_default");
+        assertThat(weatherRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void dropPartitionsBefore_ShouldDropOnlyExpiredDays() {
+        partitionRepository.createPartition(DAY);
+        partitionRepository.createPartition(DAY.plusDays(1));
+
+        assertThat(partitionRepository.dropPartitionsBefore(DAY.plusDays(1))).isEqualTo(1);
+
+        assertThat(exists("weather_p20010101")).isFalse();
+        assertThat(exists("weather_p20010102")).isTrue();
+    }
+
+    @Test
+    void findStationAverageTemperatureBetween_ShouldPruneToPartitionsOfTheRange() {
+        OffsetDateTime start = OffsetDateTime.now(ZoneOffset.UTC).minusHours(1);
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT AVG(temperature) FROM weather " +
+                        "WHERE station_code = ? AND collected_at BETWEEN ? AND ?",
+                String.class, "PRT", start, start.plusMinutes(30));
+
+        assertThat(String.join("\n", plan)).doesNotContain("weather_default").doesNotContain("weather_p2001");
+    }
+
+    private String partitionOf(OffsetDateTime collectedAt) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM weather WHERE collected_at = ?", String.class, collectedAt);
+    }
+
+    private boolean exists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+}
@@ -7,7 +7,6 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.OffsetDateTime;
-import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -88,41 +87,6 @@ class WeatherRepositoryIT extends BaseIT {
         assertThat(last.getTemperature()).isEqualTo(24.0);
     }
 
-    @Test
-    void testFindAllDistinctStationCodes() {
-        OffsetDateTime now = OffsetDateTime.now();
-
-        Weather weather1 = new Weather();
-        weather1.setStationCode("ABC");
-        weather1.setCollectedAt(now.minusMinutes(10));
-        weather1.setReceivedAt(now.minusMinutes(10));
-        weather1.setTemperature(20.0);
-        weather1.setHumidity(50.0);
-        weather1.setWindSpeed(5.0);
-        repository.save(weather1);
-
-        Weather weather2 = new Weather();
-        weather2.setStationCode("DEF");
-        weather2.setCollectedAt(now.minusMinutes(8));
-        weather2.setReceivedAt(now.minusMinutes(8));
-        weather2.setTemperature(22.0);
-        weather2.setHumidity(55.0);
-        weather2.setWindSpeed(6.0);
-        repository.save(weather2);
-
-        Weather weather3 = new Weather();
-        weather3.setStationCode("ABC");
-        weather3.setCollectedAt(now.minusMinutes(5));
-        weather3.setReceivedAt(now.minusMinutes(5));
-        weather3.setTemperature(24.0);
-        weather3.setHumidity(60.0);
-        weather3.setWindSpeed(7.0);
-        repository.save(weather3);
-
-        List<String> stationCodes = repository.findAllDistinctStationCodes();
-        assertThat(stationCodes).containsExactlyInAnyOrder("ABC", "DEF");
-    }
-
     @Test
     void testFindStationAverageTemperatureBetween() {
         String stationCode = "GHI";
@@ -0,0 +1,86 @@
+package com.gamehouse.weather.repository;
+
+import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.model.SeriesBucket;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import com.gamehouse.weather.model.WeatherSeries;
+import com.gamehouse.weather.model.WeatherSeries.Metric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WeatherSeriesRepositoryIT extends BaseIT {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+    @Autowired
+    private WeatherSeriesRepository seriesRepository;
+
+    @Autowired
+    private WeatherAggregationRepository aggregationRepository;
+
+    @Autowired
+    private WeatherBatchRepository weatherBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        aggregationRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM weather_aggregation_hour");
+        jdbcTemplate.update("DELETE FROM weather_aggregation_day");
+        jdbcTemplate.update("DELETE FROM weather_aggregation_month");
+        jdbcTemplate.update("DELETE FROM weather_rollup_delta");
+
+        List<Weather> readings = new ArrayList<>();
+        for (int i = 0; i < 3 * 24 * 60; i += 13) {
+            OffsetDateTime collectedAt = ORIGIN.plusMinutes(i).plusSeconds(i % 60).atOffset(ZoneOffset.UTC);
+            readings.add(new Weather(null, "SER", collectedAt, collectedAt, (double) (i % 31), 20.0 + i % 70, (double) (i % 9)));
+            if (i % 2 == 0) {
+                readings.add(new Weather(null, "SER", collectedAt.plusSeconds(1), collectedAt, (double) -(i % 7), 95.0, 30.0));
+            }
+        }
+        weatherBatchRepository.insertAll(readings);
+    }
+
+    @Test
+    void findSeries_EachLevel_ShouldMatchRangeAggregationPerBucket() {
+        for (String bucket : List.of("5m", "1h", "3h", "1d")) {
+            SeriesBucket seriesBucket = SeriesBucket.parse(bucket);
+            LocalDateTime from = ORIGIN.plusHours(3);
+            LocalDateTime to = ORIGIN.plusDays(2);
+
+            WeatherSeries series = seriesRepository.findSeries("SER", seriesBucket, from, to, 4);
+
+            assertThat(series.size()).as(bucket).isPositive();
+            long[] bucketStarts = series.bucketStarts();
+            for (int i = 0; i < series.size(); i++) {
+                OffsetDateTime bucketStart = Instant.ofEpochMilli(bucketStarts[i]).atOffset(ZoneOffset.UTC);
+                WeatherAggregationTotals expected = aggregationRepository.aggregateByStationAndRange("SER",
+                        bucketStart, bucketStart.plus(seriesBucket.width()).minusMinutes(1));
+                assertThat(series.totalRecords()[i]).as(bucket).isEqualTo(expected.getTotalRecords());
+                assertThat(series.avg(Metric.TEMPERATURE)[i]).as(bucket)
+                        .isCloseTo(expected.getTemperatureAvg(), within(1e-9));
+                assertThat(series.min(Metric.TEMPERATURE)[i]).as(bucket).isEqualTo(expected.getTemperatureMin());
+                assertThat(series.max(Metric.HUMIDITY)[i]).as(bucket).isEqualTo(expected.getHumidityMax());
+                assertThat(series.avg(Metric.WIND_SPEED)[i]).as(bucket)
+                        .isCloseTo(expected.getWindSpeedAvg(), within(1e-9));
+            }
+            assertThat(bucketStarts).as(bucket).isSorted();
+            assertThat(bucketStarts[0]).as(bucket).isEqualTo(from.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+}
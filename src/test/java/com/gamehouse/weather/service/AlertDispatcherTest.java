@@ -0,0 +1,55 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.Alert;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertDispatcherTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecentAlertsSink sink = new RecentAlertsSink(10);
+
+    private AlertDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new AlertDispatcher(List.of(sink), meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "repeatSeconds", 300L);
+    }
+
+    @Test
+    void raise_AlertStillActive_ShouldSuppressUntilRepeatInterval() {
+        assertThat(dispatcher.raise(hot("ABC", NOW))).isTrue();
+        assertThat(dispatcher.raise(hot("ABC", NOW.plusSeconds(10)))).isFalse();
+        assertThat(dispatcher.raise(hot("XYZ", NOW.plusSeconds(10)))).isTrue();
+        assertThat(dispatcher.raise(hot("ABC", NOW.plusSeconds(300)))).isTrue();
+
+        assertThat(sink.latest(10)).extracting(Alert::getStationCode).containsExactly("ABC", "XYZ", "ABC");
+        assertThat(meterRegistry.counter("weather.alert.suppressed", "type", "temperature_threshold").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void raise_AfterClear_ShouldSendRightAway() {
+        dispatcher.raise(hot("ABC", NOW));
+
+        dispatcher.clear(Alert.Type.TEMPERATURE_THRESHOLD, "ABC");
+
+        assertThat(dispatcher.raise(hot("ABC", NOW.plusSeconds(10)))).isTrue();
+    }
+
+    private static Alert hot(String stationCode, OffsetDateTime raisedAt) {
+        return new Alert(Alert.Type.TEMPERATURE_THRESHOLD, stationCode, raisedAt, 50.0, 45.0, "hot");
+    }
+}
@@ -0,0 +1,73 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.AlertRule;
+import com.gamehouse.weather.model.AlertRule.Condition;
+import com.gamehouse.weather.model.AlertRule.Metric;
+import com.gamehouse.weather.model.AlertStationGroup;
+import com.gamehouse.weather.repository.AlertRuleRepository;
+import com.gamehouse.weather.repository.AlertStationGroupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertRuleRegistryTest {
+
+    @Mock
+    private AlertRuleRepository alertRuleRepository;
+
+    @Mock
+    private AlertStationGroupRepository alertStationGroupRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AlertRuleRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new AlertRuleRegistry(alertRuleRepository, alertStationGroupRepository, meterRegistry);
+        ReflectionTestUtils.setField(registry, "missingDataWindowSeconds", 30L);
+        ReflectionTestUtils.setField(registry, "temperatureThreshold", 45.0);
+    }
+
+    @Test
+    void reload_ShouldReplaceTheRulesAndKeepThePropertiesAsFallbacks() {
+        when(alertStationGroupRepository.findAll()).thenReturn(List.of(new AlertStationGroup("AAA", "coast")));
+        when(alertRuleRepository.findAll()).thenReturn(List.of());
+        registry.load();
+        assertThat(registry.current().threshold("AAA", Metric.TEMPERATURE, Condition.ABOVE)).isEqualTo(45.0);
+
+        when(alertRuleRepository.findAll()).thenReturn(
+                List.of(new AlertRule(1L, null, "coast", Metric.TEMPERATURE, Condition.ABOVE, 35.0)));
+        registry.reload();
+
+        assertThat(registry.current().threshold("AAA", Metric.TEMPERATURE, Condition.ABOVE)).isEqualTo(35.0);
+        assertThat(registry.current().threshold("BBB", Metric.TEMPERATURE, Condition.ABOVE)).isEqualTo(45.0);
+        assertThat(registry.current().missingDataMillis("AAA")).isEqualTo(30_000);
+        assertThat(meterRegistry.get("weather.alert.rules").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void reload_Failure_ShouldKeepThePreviousRules() {
+        when(alertStationGroupRepository.findAll()).thenReturn(List.of());
+        when(alertRuleRepository.findAll())
+                .thenReturn(List.of(AlertRule.global(Metric.HUMIDITY, Condition.BELOW, 10.0)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        registry.load();
+
+        registry.reload();
+
+        assertThat(registry.current().threshold("AAA", Metric.HUMIDITY, Condition.BELOW)).isEqualTo(10.0);
+    }
+}
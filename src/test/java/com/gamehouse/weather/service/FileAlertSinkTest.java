@@ -0,0 +1,51 @@
+package com.gamehouse.weather.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gamehouse.weather.dto.mapper.AlertMapper;
+import com.gamehouse.weather.model.Alert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mapstruct.factory.Mappers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileAlertSinkTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void accept_ShouldAppendOneJsonLinePerAlert() throws Exception {
+        Path file = directory.resolve("alerts.ndjson");
+        Files.writeString(file, "{\"existing\":true}\n");
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        FileAlertSink sink = new FileAlertSink(new SimpleMeterRegistry(), objectMapper,
+                Mappers.getMapper(AlertMapper.class), file, 100, 10);
+
+        sink.start();
+        sink.accept(new Alert(Alert.Type.TEMPERATURE_THRESHOLD, "ABC", NOW, 50.0, 45.0, "hot"));
+        sink.accept(new Alert(Alert.Type.MISSING_DATA, "XYZ", NOW, null, null, "missing"));
+        sink.stop();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(1)).isEqualTo("{\"type\":\"TEMPERATURE_THRESHOLD\",\"station_code\":\"ABC\","
+                + "\"raised_at\":\"2025-03-01T12:00:00Z\",\"value\":50.0,\"threshold\":45.0,\"message\":\"hot\"}");
+        assertThat(objectMapper.readTree(lines.get(2)).get("station_code").asText()).isEqualTo("XYZ");
+    }
+}
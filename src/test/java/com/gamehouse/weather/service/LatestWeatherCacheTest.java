@@ -0,0 +1,71 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.dto.WeatherResponse;
+import com.gamehouse.weather.dto.mapper.WeatherMapper;
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.Weather;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatestWeatherCacheTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private final LatestWeatherCache cache = new LatestWeatherCache(Mappers.getMapper(WeatherMapper.class));
+
+    @Test
+    void update_ShouldKeepLatestReceivedReading() {
+        WeatherResponse older = response(1L, NOW.minusSeconds(10));
+        WeatherResponse newer = response(2L, NOW);
+
+        cache.update(newer);
+        cache.update(older);
+
+        assertThat(cache.get("ABC")).contains(newer);
+    }
+
+    @Test
+    void update_SameReceivedAt_ShouldPreferHigherId() {
+        WeatherResponse first = response(1L, NOW);
+        WeatherResponse second = response(2L, NOW);
+
+        cache.update(second);
+        cache.update(first);
+
+        assertThat(cache.get("ABC")).contains(second);
+    }
+
+    @Test
+    void onWeatherSaved_ShouldWriteThrough() {
+        Weather weather = new Weather(7L, "XYZ", NOW.minusMinutes(1), NOW, 20.0, 50.0, 5.0);
+
+        cache.onWeatherSaved(new WeatherSavedEvent(List.of(weather)));
+
+        assertThat(cache.get("XYZ")).hasValueSatisfying(response -> assertThat(response.getId()).isEqualTo(7L));
+        assertThat(cache.get("ABC")).isEmpty();
+    }
+
+    @Test
+    void get_InvalidStationCode_ShouldMiss() {
+        assertThat(cache.get("abc")).isEmpty();
+    }
+
+    @Test
+    void evict_ShouldClearSlot() {
+        cache.update(response(1L, NOW));
+
+        cache.evict("ABC");
+
+        assertThat(cache.get("ABC")).isEmpty();
+    }
+
+    private WeatherResponse response(Long id, OffsetDateTime receivedAt) {
+        return new WeatherResponse(id, "ABC", receivedAt.minusMinutes(1), receivedAt, 20.0, 50.0, 5.0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.model.WeatherAggregationAccumulator;
+import com.gamehouse.weather.repository.WeatherAggregationBatchRepository;
+import com.gamehouse.weather.repository.StationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MinuteAggregatorTest {
+
+    private static final OffsetDateTime MINUTE = OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private WeatherAggregationBatchRepository aggregationBatchRepository;
+
+    @Mock
+    private RangeAggregationCache rangeAggregationCache;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private MinuteAggregator aggregator;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldMergeClosedMinutesOnly() {
+        aggregator.onWeatherSaved(new WeatherSavedEvent(List.of(
+                weather("ABC", MINUTE.plusSeconds(10), 20.0, 40.0, 2.0),
+                weather("ABC", MINUTE.plusSeconds(50), 30.0, 60.0, 6.0),
+                weather("ABC", MINUTE.plusMinutes(1).plusSeconds(5), 25.0, 50.0, 4.0)
+        )));
+
+        aggregator.flush(MINUTE.plusMinutes(1));
+
+        ArgumentCaptor<Collection<WeatherAggregationAccumulator>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(aggregationBatchRepository).mergeAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        WeatherAggregationAccumulator flushed = captor.getValue().iterator().next();
+        assertThat(flushed.getStationCode()).isEqualTo("ABC");
+        assertThat(flushed.getMinuteWindow()).isEqualTo(MINUTE);
+        assertThat(flushed.getTotalRecords()).isEqualTo(2);
+        assertThat(flushed.getTemperatureAvg()).isCloseTo(25.0, within(0.0001));
+        assertThat(flushed.getTemperatureMin()).isEqualTo(20.0);
+        assertThat(flushed.getTemperatureMax()).isEqualTo(30.0);
+        assertThat(flushed.getHumidityAvg()).isCloseTo(50.0, within(0.0001));
+        assertThat(flushed.getWindSpeedMax()).isEqualTo(6.0);
+        assertThat(aggregator.pendingMinutes()).isEqualTo(1);
+        verify(rangeAggregationCache).invalidate("ABC", new TreeSet<>(Set.of(MINUTE.toLocalDateTime())));
+        assertThat(meterRegistry.counter("weather.aggregation.minutes.flushed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void flush_WhenWriteFails_ShouldKeepAccumulatorsForRetry() {
+        doThrow(new IllegalStateException("db down")).when(aggregationBatchRepository).mergeAll(anyCollection());
+        aggregator.onWeatherSaved(new WeatherSavedEvent(List.of(weather("ABC", MINUTE.plusSeconds(10), 20.0, 40.0, 2.0))));
+
+        aggregator.flush(MINUTE.plusMinutes(1));
+
+        assertThat(aggregator.pendingMinutes()).isEqualTo(1);
+        verifyNoInteractions(rangeAggregationCache);
+    }
+
+    @Test
+    void recover_ShouldRebuildMinutesReceivedBeforeLatestReading() {
+        ReflectionTestUtils.setField(aggregator, "recoveryMinutes", 60L);
+        OffsetDateTime latest = MINUTE.plusHours(2);
+        when(stationRepository.findLatestReceivedAt()).thenReturn(Optional.of(latest));
+
+        aggregator.recover();
+
+        verify(aggregationBatchRepository).rebuildReceivedSince(MINUTE.plusHours(1));
+    }
+
+    private Weather weather(String stationCode, OffsetDateTime collectedAt, double temperature, double humidity, double windSpeed) {
+        return new Weather(1L, stationCode, collectedAt, collectedAt, temperature, humidity, windSpeed);
+    }
+}
@@ -0,0 +1,145 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.dto.WeatherAggregationResponse;
+import com.gamehouse.weather.dto.WeatherAggregationResponse.WeatherAggregationStatsDto;
+import com.gamehouse.weather.event.WeatherImportedEvent;
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.Weather;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RangeAggregationCacheTest {
+
+    private static final LocalDateTime TEN = LocalDateTime.of(2025, 3, 1, 10, 0);
+    private static final RangeAggregationCache.Key ABC_TEN = new RangeAggregationCache.Key("ABC", TEN, TEN.plusHours(1));
+    private static final RangeAggregationCache.Key ABC_ELEVEN =
+            new RangeAggregationCache.Key("ABC", TEN.plusHours(1), TEN.plusHours(2));
+    private static final RangeAggregationCache.Key XYZ_TEN = new RangeAggregationCache.Key("XYZ", TEN, TEN.plusHours(1));
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RangeAggregationCache cache = new RangeAggregationCache(meterRegistry, 100, 60);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_SameKey_ShouldLoadOnceAndRecordHits() {
+        WeatherAggregationResponse first = load(ABC_TEN, 1.0);
+        WeatherAggregationResponse second = load(ABC_TEN, 2.0);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "weather.range").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("weather.range.cache.estimated.bytes").gauge().value())
+                .isEqualTo(RangeAggregationCache.ESTIMATED_ENTRY_BYTES);
+    }
+
+    @Test
+    void onWeatherSaved_ShouldOnlyInvalidateRangesCoveringTheStationMinute() {
+        load(ABC_TEN, 1.0);
+        load(ABC_ELEVEN, 1.0);
+        load(XYZ_TEN, 1.0);
+
+        cache.onWeatherSaved(new WeatherSavedEvent(List.of(weather("ABC", TEN.plusMinutes(30).plusSeconds(15)))));
+
+        assertThat(load(ABC_TEN, 2.0).getTemperature().getAvg()).isEqualTo(2.0);
+        assertThat(load(ABC_ELEVEN, 2.0).getTemperature().getAvg()).isEqualTo(1.0);
+        assertThat(load(XYZ_TEN, 2.0).getTemperature().getAvg()).isEqualTo(1.0);
+    }
+
+    @Test
+    void onWeatherSaved_MinuteAtExclusiveEnd_ShouldKeepEntry() {
+        load(ABC_TEN, 1.0);
+
+        cache.onWeatherSaved(new WeatherSavedEvent(List.of(weather("ABC", TEN.plusHours(1)))));
+
+        assertThat(load(ABC_TEN, 2.0).getTemperature().getAvg()).isEqualTo(1.0);
+    }
+
+    @Test
+    void onWeatherImported_ShouldInvalidateEveryRangeOfTheStations() {
+        load(ABC_TEN, 1.0);
+        load(ABC_ELEVEN, 1.0);
+        load(XYZ_TEN, 1.0);
+
+        cache.onWeatherImported(new WeatherImportedEvent(Set.of("ABC")));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(load(XYZ_TEN, 2.0).getTemperature().getAvg()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_LoaderThrows_ShouldNotCache() {
+        assertThatThrownBy(() -> cache.get(ABC_TEN, () -> {
+            throw new EntityNotFoundException("No data");
+        })).isInstanceOf(EntityNotFoundException.class);
+
+        assertThat(load(ABC_TEN, 1.0).getTemperature().getAvg()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_OverMaxEntries_ShouldEvict() {
+        RangeAggregationCache small = new RangeAggregationCache(new SimpleMeterRegistry(), 2, 60);
+        for (int hour = 0; hour < 5; hour++) {
+            small.get(new RangeAggregationCache.Key("ABC", TEN.plusHours(hour), TEN.plusHours(hour + 1)),
+                    () -> response(1.0));
+        }
+
+        assertThat(small.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void invalidate_DuringLoad_ShouldDropTheLoadedValue() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<WeatherAggregationResponse> staleLoad = CompletableFuture.supplyAsync(() ->
+                cache.get(ABC_TEN, () -> {
+                    loading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return response(1.0);
+                }));
+        loading.await();
+
+        CompletableFuture<Void> invalidation = CompletableFuture.runAsync(() ->
+                cache.onWeatherSaved(new WeatherSavedEvent(List.of(weather("ABC", TEN.plusMinutes(5))))));
+        release.countDown();
+        staleLoad.join();
+        invalidation.join();
+
+        assertThat(load(ABC_TEN, 2.0).getTemperature().getAvg()).isEqualTo(2.0);
+    }
+
+    private WeatherAggregationResponse load(RangeAggregationCache.Key key, double value) {
+        return cache.get(key, () -> {
+            loads.incrementAndGet();
+            return response(value);
+        });
+    }
+
+    private static WeatherAggregationResponse response(double value) {
+        WeatherAggregationStatsDto stats = new WeatherAggregationStatsDto(value, value, value);
+        return new WeatherAggregationResponse(stats, stats, stats);
+    }
+
+    private static Weather weather(String stationCode, LocalDateTime collectedAt) {
+        OffsetDateTime at = collectedAt.atOffset(ZoneOffset.UTC);
+        return new Weather(1L, stationCode, at, at, 20.0, 50.0, 5.0);
+    }
+}
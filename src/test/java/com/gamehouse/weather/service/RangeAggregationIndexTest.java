@@ -0,0 +1,195 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.event.WeatherImportedEvent;
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.StationMinuteIndex;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.model.WeatherAggregation;
+import com.gamehouse.weather.model.WeatherAggregationStats;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import com.gamehouse.weather.repository.WeatherAggregationRepository;
+import com.gamehouse.weather.repository.WeatherMinuteScanRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RangeAggregationIndexTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 8, 12, 0, 30, 0, ZoneOffset.UTC);
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2025, 3, 7, 11, 58);
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2025, 3, 8, 11, 58);
+
+    @Mock
+    private WeatherMinuteScanRepository scanRepository;
+
+    @Mock
+    private WeatherAggregationRepository aggregationRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RangeAggregationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RangeAggregationIndex(scanRepository, aggregationRepository, meterRegistry);
+        ReflectionTestUtils.setField(index, "windowDays", 1);
+        ReflectionTestUtils.setField(index, "maxBytes", 10L * 24 * 60 * 128);
+        ReflectionTestUtils.setField(index, "lagSeconds", 120L);
+    }
+
+    @Test
+    void load_ShouldAnswerRangesInsideTheWindowWithoutTheDatabase() {
+        scanReturns(null, WINDOW_START, WATERMARK,
+                minute("ABC", WATERMARK.minusMinutes(10), 2, 10.0), minute("ABC", WATERMARK.minusMinutes(5), 1, 40.0));
+
+        index.load(NOW);
+
+        WeatherAggregationTotals totals = index.aggregate("ABC", WATERMARK.minusHours(1), WATERMARK).orElseThrow();
+        assertThat(totals.getTotalRecords()).isEqualTo(3);
+        assertThat(totals.getTemperatureAvg()).isEqualTo(20.0);
+        assertThat(index.aggregate("ABC", WATERMARK.minusDays(2), WATERMARK)).isEmpty();
+        assertThat(index.aggregate("XYZ", WATERMARK.minusHours(1), WATERMARK)).isEmpty();
+        assertThat(meterRegistry.counter("weather.range.index.lookups", "result", "indexed").count()).isEqualTo(1.0);
+        verifyNoInteractions(aggregationRepository);
+    }
+
+    @Test
+    void aggregate_RangeEndingAfterTheIndex_ShouldReadOnlyTheMinutesAfterItFromTheDatabase() {
+        scanReturns(null, WINDOW_START, WATERMARK, minute("ABC", WATERMARK.minusMinutes(10), 2, 10.0));
+        index.load(NOW);
+        when(aggregationRepository.aggregateByStationAndMinuteRange("ABC", WATERMARK, WATERMARK.plusMinutes(4)))
+                .thenReturn(totals(minute("ABC", WATERMARK.plusMinutes(3), 1, 40.0)));
+
+        WeatherAggregationTotals totals = index.aggregate("ABC", WATERMARK.minusHours(23), WATERMARK.plusMinutes(5))
+                .orElseThrow();
+
+        assertThat(totals.getTotalRecords()).isEqualTo(3);
+        assertThat(totals.getTemperatureAvg()).isEqualTo(20.0);
+        assertThat(totals.getTemperatureMax()).isEqualTo(40.0);
+        assertThat(meterRegistry.counter("weather.range.index.lookups", "result", "tail").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void refresh_ShouldAppendClosedMinutes() {
+        scanReturns(null, WINDOW_START, WATERMARK, minute("ABC", WATERMARK.minusMinutes(1), 1, 10.0));
+        index.load(NOW);
+        scanReturns(null, WATERMARK, WATERMARK.plusMinutes(1), minute("ABC", WATERMARK, 1, 30.0));
+
+        index.refresh(NOW.plusMinutes(1));
+
+        assertThat(index.aggregate("ABC", WATERMARK.minusMinutes(1), WATERMARK.plusMinutes(1)).orElseThrow()
+                .getTemperatureAvg()).isEqualTo(20.0);
+    }
+
+    @Test
+    void onWeatherSaved_LateReading_ShouldDropStationUntilReloadedOneLagLater() {
+        scanReturns(null, WINDOW_START, WATERMARK, minute("ABC", WATERMARK.minusMinutes(1), 1, 10.0));
+        index.load(NOW);
+
+        index.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", WATERMARK.minusMinutes(30)))));
+
+        assertThat(index.indexedStations()).isEmpty();
+        index.refresh(NOW);
+        verify(scanRepository, never()).scan(eq(List.of("ABC")), any(), any(), any());
+
+        scanReturns(List.of("ABC"), WINDOW_START.plusMinutes(3), WATERMARK.plusMinutes(3),
+                minute("ABC", WATERMARK.minusMinutes(30), 1, 50.0), minute("ABC", WATERMARK.minusMinutes(1), 1, 10.0));
+        index.refresh(NOW.plusMinutes(3));
+
+        assertThat(index.aggregate("ABC", WATERMARK.minusHours(1), WATERMARK).orElseThrow().getTotalRecords())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void onWeatherSaved_ReadingOfOpenMinute_ShouldKeepStation() {
+        scanReturns(null, WINDOW_START, WATERMARK, minute("ABC", WATERMARK.minusMinutes(1), 1, 10.0));
+        index.load(NOW);
+
+        index.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", WATERMARK.plusMinutes(2)))));
+
+        assertThat(index.indexedStations()).containsExactly("ABC");
+    }
+
+    @Test
+    void refresh_ReadingCommittedDuringScan_ShouldKeepScannedRowsOut() {
+        scanReturns(null, WINDOW_START, WATERMARK, minute("ABC", WATERMARK.minusMinutes(1), 1, 10.0));
+        index.load(NOW);
+        doAnswer(invocation -> {
+            index.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", WATERMARK))));
+            return null;
+        }).when(scanRepository).scan(isNull(), eq(WATERMARK), eq(WATERMARK.plusMinutes(1)), any());
+
+        index.refresh(NOW.plusMinutes(1));
+
+        assertThat(index.indexedStations()).isEmpty();
+    }
+
+    @Test
+    void onWeatherImported_ShouldDropStations() {
+        scanReturns(null, WINDOW_START, WATERMARK,
+                minute("ABC", WATERMARK.minusMinutes(1), 1, 10.0), minute("XYZ", WATERMARK.minusMinutes(1), 1, 10.0));
+        index.load(NOW);
+
+        index.onWeatherImported(new WeatherImportedEvent(Set.of("ABC")));
+
+        assertThat(index.indexedStations()).containsExactly("XYZ");
+    }
+
+    @Test
+    void load_OverMaxBytes_ShouldIndexOnlyStationsThatFit() {
+        ReflectionTestUtils.setField(index, "maxBytes", 24L * 60 * 128);
+        scanReturns(null, WINDOW_START, WATERMARK,
+                minute("ABC", WATERMARK.minusMinutes(1), 1, 10.0), minute("XYZ", WATERMARK.minusMinutes(1), 1, 10.0));
+
+        index.load(NOW);
+
+        assertThat(index.indexedStations()).hasSize(1);
+    }
+
+    private void scanReturns(List<String> stationCodes, LocalDateTime from, LocalDateTime to,
+                             WeatherAggregation... minutes) {
+        lenient().doAnswer(invocation -> {
+            Consumer<WeatherAggregation> consumer = invocation.getArgument(3);
+            for (WeatherAggregation minute : minutes) {
+                consumer.accept(minute);
+            }
+            return null;
+        }).when(scanRepository).scan(stationCodes == null ? isNull() : eq(stationCodes), eq(from), eq(to), any());
+    }
+
+    private static WeatherAggregation minute(String stationCode, LocalDateTime minute, long records, double value) {
+        WeatherAggregationStats stats = new WeatherAggregationStats(value, value, value);
+        return new WeatherAggregation(stationCode, minute.atOffset(ZoneOffset.UTC), records, stats, stats, stats);
+    }
+
+    private static WeatherAggregationTotals totals(WeatherAggregation minute) {
+        long epochMinute = StationMinuteIndex.epochMinuteOf(minute.getMinuteWindow());
+        StationMinuteIndex single = new StationMinuteIndex(minute.getStationCode(), 2, epochMinute);
+        single.append(minute);
+        return single.aggregate(epochMinute, epochMinute + 1).orElseThrow();
+    }
+
+    private static Weather reading(String stationCode, LocalDateTime collectedAt) {
+        OffsetDateTime at = collectedAt.atOffset(ZoneOffset.UTC);
+        return new Weather(1L, stationCode, at, at, 20.0, 50.0, 5.0);
+    }
+}
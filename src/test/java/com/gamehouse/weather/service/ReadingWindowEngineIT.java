@@ -0,0 +1,40 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.dto.WeatherRequest;
+import com.gamehouse.weather.repository.WeatherRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ReadingWindowEngineIT extends BaseIT {
+
+    @Autowired
+    private ReadingWindowEngine engine;
+
+    @Autowired
+    private WeatherService weatherService;
+
+    @Autowired
+    private WeatherRepository weatherRepository;
+
+    @Test
+    void averagesAt_ShouldMatchSqlAverageForSameReadings() {
+        OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        weatherService.save(new WeatherRequest("SWA", now.minusSeconds(25), 10.0, 50.0, 5.0));
+        weatherService.save(new WeatherRequest("SWA", now.minusSeconds(12), 20.5, 50.0, 5.0));
+        weatherService.save(new WeatherRequest("SWA", now.minusSeconds(2), 33.25, 50.0, 5.0));
+        weatherService.save(new WeatherRequest("SWB", now.minusSeconds(7), -4.0, 50.0, 5.0));
+
+        for (String stationCode : new String[]{"SWA", "SWB"}) {
+            Double expected = weatherRepository.findStationAverageTemperatureBetween(stationCode, now.minusSeconds(30), now);
+            assertThat(engine.averagesAt(stationCode, now)[ReadingWindowEngine.TEMPERATURE])
+                    .isCloseTo(expected, within(1e-9));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.repository.WeatherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadingWindowEngineTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private WeatherRepository weatherRepository;
+
+    @InjectMocks
+    private ReadingWindowEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(engine, "windowSeconds", 30L);
+    }
+
+    @Test
+    void averagesAt_ShouldOnlyIncludeReadingsInWindow() {
+        engine.record(weather("ABC", NOW.minusSeconds(40), 100.0));
+        engine.record(weather("ABC", NOW.minusSeconds(20), 20.0));
+        engine.record(weather("ABC", NOW.minusSeconds(10), 30.0));
+        engine.record(weather("ABC", NOW.minusSeconds(10), 40.0));
+        engine.record(weather("DEF", NOW.minusSeconds(5), 10.0));
+
+        assertThat(engine.averagesAt("ABC", NOW)[ReadingWindowEngine.TEMPERATURE]).isEqualTo(30.0);
+        assertThat(engine.averagesAt("DEF", NOW)[ReadingWindowEngine.TEMPERATURE]).isEqualTo(10.0);
+        assertThat(engine.averagesAt("ABC", NOW.plusSeconds(60))).isNull();
+    }
+
+    @Test
+    void record_ShouldReuseRingBucketsForLaterSeconds() {
+        engine.record(weather("ABC", NOW.minusSeconds(31), 100.0));
+        engine.record(weather("ABC", NOW, 20.0));
+
+        assertThat(engine.averagesAt("ABC", NOW)[ReadingWindowEngine.TEMPERATURE]).isEqualTo(20.0);
+    }
+
+    @Test
+    void warmUp_ShouldSeedFromRecentReadings() {
+        when(weatherRepository.findAllByCollectedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(weather("ABC", OffsetDateTime.now().minusSeconds(5), 42.0)));
+
+        engine.warmUp();
+
+        assertThat(engine.averagesAt("ABC", OffsetDateTime.now())[ReadingWindowEngine.TEMPERATURE]).isEqualTo(42.0);
+    }
+
+    private Weather weather(String stationCode, OffsetDateTime collectedAt, double temperature) {
+        return new Weather(1L, stationCode, collectedAt, collectedAt, temperature, 50.0, 5.0);
+    }
+}
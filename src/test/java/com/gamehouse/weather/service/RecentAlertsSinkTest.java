@@ -0,0 +1,30 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.model.Alert;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentAlertsSinkTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void latest_ShouldReturnNewestFirstAndKeepOnlyCapacity() {
+        RecentAlertsSink sink = new RecentAlertsSink(3);
+        for (String stationCode : new String[]{"AAA", "BBB", "CCC", "DDD", "EEE"}) {
+            sink.accept(new Alert(Alert.Type.MISSING_DATA, stationCode, NOW, null, null, "missing"));
+        }
+
+        assertThat(sink.latest(10)).extracting(Alert::getStationCode).containsExactly("EEE", "DDD", "CCC");
+        assertThat(sink.latest(2)).extracting(Alert::getStationCode).containsExactly("EEE", "DDD");
+    }
+
+    @Test
+    void latest_Empty_ShouldReturnNothing() {
+        assertThat(new RecentAlertsSink(3).latest(10)).isEmpty();
+    }
+}
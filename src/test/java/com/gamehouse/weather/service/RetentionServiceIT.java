@@ -0,0 +1,93 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.repository.WeatherAggregationRepository;
+import com.gamehouse.weather.repository.WeatherBatchRepository;
+import com.gamehouse.weather.repository.WeatherPartitionRepository;
+import com.gamehouse.weather.repository.WeatherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetentionServiceIT extends BaseIT {
+
+    private static final LocalDate TODAY = LocalDate.of(2011, 6, 20);
+    private static final LocalDate PARTITIONED_DAY = TODAY.minusDays(10);
+    private static final LocalDate UNPARTITIONED_DAY = TODAY.minusDays(20);
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private WeatherPartitionRepository partitionRepository;
+
+    @Autowired
+    private WeatherBatchRepository weatherBatchRepository;
+
+    @Autowired
+    private WeatherRepository weatherRepository;
+
+    @Autowired
+    private WeatherAggregationRepository aggregationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        weatherRepository.deleteAll();
+        aggregationRepository.deleteAll();
+        ReflectionTestUtils.setField(retentionService, "rawDays", 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(retentionService, "rawDays", 0);
+    }
+
+    @Test
+    void prune_ShouldAggregateUnaggregatedReadingsBeforeRemovingThem() {
+        partitionRepository.createPartition(PARTITIONED_DAY);
+        OffsetDateTime partitioned = PARTITIONED_DAY.atTime(8, 30, 10).atOffset(ZoneOffset.UTC);
+        OffsetDateTime unpartitioned = UNPARTITIONED_DAY.atTime(9, 15, 20).atOffset(ZoneOffset.UTC);
+        OffsetDateTime recent = TODAY.minusDays(2).atTime(12, 0).atOffset(ZoneOffset.UTC);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL weather.skip_aggregation = 'on'");
+            weatherBatchRepository.insertAll(List.of(
+                    weather(partitioned, 10.0),
+                    weather(partitioned.plusSeconds(5), 20.0),
+                    weather(unpartitioned, 30.0),
+                    weather(recent, 40.0)
+            ));
+        });
+        assertThat(aggregationRepository.count()).isZero();
+
+        retentionService.prune(TODAY);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('weather_p20110610') IS NULL", Boolean.class)).isTrue();
+        assertThat(weatherRepository.findAll()).extracting(Weather::getTemperature).containsExactly(40.0);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT total_records || ' ' || avg_temperature FROM weather_aggregation ORDER BY minute_window",
+                String.class))
+                .containsExactly("1 30", "2 15");
+    }
+
+    private Weather weather(OffsetDateTime collectedAt, double temperature) {
+        return new Weather(null, "RET", collectedAt, collectedAt, temperature, 50.0, 5.0);
+    }
+}
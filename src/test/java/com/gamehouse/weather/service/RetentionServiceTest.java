@@ -0,0 +1,149 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.repository.RetentionRepository;
+import com.gamehouse.weather.repository.RetentionRepository.AggregateTable;
+import com.gamehouse.weather.repository.StationRepository;
+import com.gamehouse.weather.repository.WeatherAggregationBatchRepository;
+import com.gamehouse.weather.repository.WeatherPartitionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private RetentionRepository retentionRepository;
+
+    @Mock
+    private WeatherPartitionRepository partitionRepository;
+
+    @Mock
+    private WeatherAggregationBatchRepository aggregationBatchRepository;
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private RangeAggregationCache rangeAggregationCache;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RetentionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RetentionService(retentionRepository, partitionRepository, aggregationBatchRepository,
+                stationRepository, meterRegistry, rangeAggregationCache);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "coverageChunkMinutes", 360);
+    }
+
+    @Test
+    void prune_ShouldCoverEachExpiredDayBeforeDroppingItsPartition() {
+        ReflectionTestUtils.setField(service, "rawDays", 7);
+        LocalDate expiredDay = LocalDate.of(2025, 3, 2);
+        when(partitionRepository.findPartitionDaysBefore(LocalDate.of(2025, 3, 3))).thenReturn(List.of(expiredDay));
+        when(partitionRepository.dropPartitionsBefore(expiredDay.plusDays(1))).thenReturn(1);
+        when(retentionRepository.findOldestRawBefore(any())).thenReturn(Optional.empty());
+
+        service.prune(TODAY);
+
+        InOrder inOrder = inOrder(aggregationBatchRepository, partitionRepository);
+        OffsetDateTime dayStart = expiredDay.atStartOfDay().atOffset(ZoneOffset.UTC);
+        for (int chunk = 0; chunk < 4; chunk++) {
+            inOrder.verify(aggregationBatchRepository)
+                    .ensureCoverage(dayStart.plusHours(6L * chunk), dayStart.plusHours(6L * (chunk + 1)));
+        }
+        inOrder.verify(partitionRepository).dropPartitionsBefore(expiredDay.plusDays(1));
+        verify(retentionRepository, never()).deleteRawChunkBefore(any(), anyInt());
+        assertThat(meterRegistry.counter("weather.retention.partitions.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void prune_ShouldDeleteLeftoverRawRowsInChunksAfterCoveringThem() {
+        ReflectionTestUtils.setField(service, "rawDays", 7);
+        OffsetDateTime cutoff = LocalDate.of(2025, 3, 3).atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime oldest = cutoff.minusDays(40);
+        when(retentionRepository.findOldestRawBefore(cutoff)).thenReturn(Optional.of(oldest));
+        when(retentionRepository.deleteRawChunkBefore(cutoff, 2)).thenReturn(2, 2, 1);
+
+        service.prune(TODAY);
+
+        InOrder inOrder = inOrder(aggregationBatchRepository, retentionRepository);
+        inOrder.verify(aggregationBatchRepository).ensureCoverage(oldest, cutoff);
+        inOrder.verify(retentionRepository, times(3)).deleteRawChunkBefore(cutoff, 2);
+        assertThat(meterRegistry.counter("weather.retention.rows.pruned", "level", "raw").count()).isEqualTo(5.0);
+    }
+
+    @Test
+    void prune_MinuteRetentionShorterThanRaw_ShouldNotRecoverPrunedMinutes() {
+        ReflectionTestUtils.setField(service, "rawDays", 7);
+        ReflectionTestUtils.setField(service, "minuteDays", 9);
+        LocalDate coveredDay = LocalDate.of(2025, 3, 1);
+        LocalDate prunedDay = coveredDay.minusDays(1);
+        when(partitionRepository.findPartitionDaysBefore(LocalDate.of(2025, 3, 3)))
+                .thenReturn(List.of(prunedDay, coveredDay));
+        OffsetDateTime cutoff = LocalDate.of(2025, 3, 3).atStartOfDay().atOffset(ZoneOffset.UTC);
+        when(retentionRepository.findOldestRawBefore(cutoff)).thenReturn(Optional.of(cutoff.minusDays(40)));
+        when(retentionRepository.deleteRawChunkBefore(cutoff, 2)).thenReturn(0);
+
+        service.prune(TODAY);
+
+        OffsetDateTime minuteCutoff = coveredDay.atStartOfDay().atOffset(ZoneOffset.UTC);
+        verify(aggregationBatchRepository, times(5)).ensureCoverage(any(), any());
+        verify(aggregationBatchRepository).ensureCoverage(minuteCutoff, minuteCutoff.plusHours(6));
+        verify(aggregationBatchRepository).ensureCoverage(minuteCutoff, cutoff);
+        verify(aggregationBatchRepository, never()).ensureCoverage(eq(minuteCutoff.minusDays(1)), any());
+    }
+
+    @Test
+    void prune_ShouldPruneEachConfiguredAggregateLevelPerStation() {
+        ReflectionTestUtils.setField(service, "minuteDays", 30);
+        when(stationRepository.findAllCodes()).thenReturn(List.of("ABC", "XYZ"));
+        LocalDateTime cutoff = LocalDate.of(2025, 2, 8).atStartOfDay();
+        when(retentionRepository.deleteAggregateChunkBefore(AggregateTable.MINUTE, "ABC", cutoff, 2)).thenReturn(2, 0);
+        when(retentionRepository.deleteAggregateChunkBefore(AggregateTable.MINUTE, "XYZ", cutoff, 2)).thenReturn(1);
+
+        service.prune(TODAY);
+
+        verify(retentionRepository, never()).deleteAggregateChunkBefore(eq(AggregateTable.HOUR), any(), any(), anyInt());
+        verifyNoInteractions(partitionRepository, aggregationBatchRepository);
+        assertThat(meterRegistry.counter("weather.retention.rows.pruned", "level", "minute").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer("weather.retention.run").count()).isEqualTo(1);
+        verify(rangeAggregationCache).invalidateAll();
+    }
+
+    @Test
+    void prune_NothingExpired_ShouldKeepRangeCache() {
+        ReflectionTestUtils.setField(service, "rawDays", 7);
+        ReflectionTestUtils.setField(service, "hourDays", 30);
+        when(retentionRepository.findOldestRawBefore(any())).thenReturn(Optional.empty());
+        when(stationRepository.findAllCodes()).thenReturn(List.of("ABC"));
+
+        service.prune(TODAY);
+
+        verifyNoInteractions(rangeAggregationCache);
+    }
+}
@@ -0,0 +1,51 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.repository.WeatherRollupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RollupDrainerTest {
+
+    @Mock
+    private WeatherRollupRepository rollupRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RollupDrainer drainer;
+
+    @BeforeEach
+    void setUp() {
+        drainer = new RollupDrainer(rollupRepository, meterRegistry);
+        ReflectionTestUtils.setField(drainer, "chunkSize", 2);
+    }
+
+    @Test
+    void drain_ShouldDrainChunksUntilTheDeltasRunOut() {
+        when(rollupRepository.drainChunk(2)).thenReturn(2, 2, 1);
+
+        drainer.drain();
+
+        verify(rollupRepository, times(3)).drainChunk(2);
+        assertThat(meterRegistry.counter("weather.rollup.drained").count()).isEqualTo(5.0);
+    }
+
+    @Test
+    void drain_NothingPending_ShouldStopAfterOneChunk() {
+        when(rollupRepository.drainChunk(2)).thenReturn(0);
+
+        drainer.drain();
+
+        verify(rollupRepository).drainChunk(2);
+        assertThat(meterRegistry.counter("weather.rollup.drained").count()).isZero();
+    }
+}
@@ -1,17 +1,19 @@
 package com.gamehouse.weather.service;
 
 import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.dto.WeatherRequest;
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.Alert;
 import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.repository.StationRepository;
 import com.gamehouse.weather.repository.WeatherRepository;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.TestPropertySource;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
 import java.time.OffsetDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,23 +24,28 @@ import static org.assertj.core.api.Assertions.assertThat;
 })
 class WeatherAlertServiceIT extends BaseIT {
 
-    private final PrintStream originalOut = System.out;
     @Autowired
     private WeatherAlertService weatherAlertService;
     @Autowired
     private WeatherRepository weatherRepository;
-    private ByteArrayOutputStream outContent;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private WeatherService weatherService;
+    @Autowired
+    private RecentAlertsSink recentAlerts;
 
     @BeforeEach
     void setUp() {
-        outContent = new ByteArrayOutputStream();
-        System.setOut(new PrintStream(outContent));
         weatherRepository.deleteAll();
+        stationRepository.deleteAll();
     }
 
-    @AfterEach
-    void tearDown() {
-        System.setOut(originalOut);
+    private List<String> alertedStations(Alert.Type type) {
+        return recentAlerts.latest(1000).stream()
+                .filter(alert -> alert.getType() == type)
+                .map(Alert::getStationCode)
+                .toList();
     }
 
     private Weather createDefaultWeather(String stationCode, OffsetDateTime collectedAt, OffsetDateTime receivedAt,
@@ -54,29 +61,30 @@ class WeatherAlertServiceIT extends BaseIT {
     }
 
     @Test
-    void testAlertMissingDataIntegration() {
+    void testAlertMissingDataIntegration() throws InterruptedException {
         OffsetDateTime now = OffsetDateTime.now();
         Weather w1 = createDefaultWeather("ABC", now.minusSeconds(31), now.minusSeconds(31), 20.0, 50.0, 5.0);
         weatherRepository.save(w1);
         Weather w2 = createDefaultWeather("XYZ", now.minusSeconds(10), now.minusSeconds(10), 22.0, 55.0, 6.0);
         weatherRepository.save(w2);
-        weatherAlertService.alertMissingData();
-        String output = outContent.toString();
-        assertThat(output).contains("ALERT Missing data from stations:");
-        assertThat(output).contains("ABC");
-        assertThat(output).doesNotContain("XYZ");
+        weatherAlertService.onWeatherSaved(new WeatherSavedEvent(List.of(w1, w2)));
+
+        // The deadline of ABC has already passed, so the watcher thread alerts it right away.
+        for (int i = 0; i < 50 && !alertedStations(Alert.Type.MISSING_DATA).contains("ABC"); i++) {
+            Thread.sleep(20);
+        }
+        assertThat(alertedStations(Alert.Type.MISSING_DATA)).contains("ABC").doesNotContain("XYZ");
     }
 
     @Test
     void testAlertTemperatureThresholdIntegration() {
         OffsetDateTime now = OffsetDateTime.now();
-        Weather w1 = createDefaultWeather("AAA", now.minusSeconds(10), now.minusSeconds(10), 72.2, 50.0, 5.0);
-        weatherRepository.save(w1);
-        Weather w2 = createDefaultWeather("BBB", now.minusSeconds(10), now.minusSeconds(10), 68.0, 55.0, 6.0);
-        weatherRepository.save(w2);
-        weatherAlertService.alertTemperatureThreshold();
-        String output = outContent.toString();
-        assertThat(output).contains("ALERT Station AAA had a 30-second average");
-        assertThat(output).doesNotContain("BBB");
+        weatherService.save(new WeatherRequest("AAA", now.minusSeconds(10), 72.2, 50.0, 5.0));
+        weatherService.save(new WeatherRequest("BBB", now.minusSeconds(10), 68.0, 55.0, 6.0));
+        assertThat(recentAlerts.latest(1000)).anySatisfy(alert -> {
+            assertThat(alert.getStationCode()).isEqualTo("AAA");
+            assertThat(alert.getMessage()).startsWith("Station AAA had a 30-second average");
+        });
+        assertThat(alertedStations(Alert.Type.TEMPERATURE_THRESHOLD)).doesNotContain("BBB");
     }
 }
@@ -0,0 +1,169 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.event.WeatherSavedEvent;
+import com.gamehouse.weather.model.Alert;
+import com.gamehouse.weather.model.AlertRule;
+import com.gamehouse.weather.model.AlertRule.Condition;
+import com.gamehouse.weather.model.AlertRule.Metric;
+import com.gamehouse.weather.model.AlertRuleSet;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.repository.StationRepository;
+import com.gamehouse.weather.repository.WeatherRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherAlertServiceTest {
+
+    private static final OffsetDateTime RECEIVED_AT = OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+    private static final long RECEIVED_AT_MILLIS = RECEIVED_AT.toInstant().toEpochMilli();
+
+    @Mock
+    private StationRepository stationRepository;
+
+    @Mock
+    private WeatherRepository weatherRepository;
+
+    @Mock
+    private AlertRuleRegistry alertRuleRegistry;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecentAlertsSink recentAlerts = new RecentAlertsSink(100);
+
+    private AlertDispatcher dispatcher;
+    private WeatherAlertService service;
+
+    @BeforeEach
+    void setUp() {
+        ReadingWindowEngine engine = new ReadingWindowEngine(weatherRepository);
+        ReflectionTestUtils.setField(engine, "windowSeconds", 30L);
+        dispatcher = new AlertDispatcher(List.of(recentAlerts), meterRegistry);
+        service = new WeatherAlertService(stationRepository, engine, dispatcher, alertRuleRegistry, meterRegistry);
+        ReflectionTestUtils.setField(service, "temperatureWindowSeconds", 30L);
+        when(alertRuleRegistry.current()).thenReturn(AlertRuleSet.of(
+                AlertRule.global(Metric.MISSING_DATA, Condition.ABOVE, 30),
+                AlertRule.global(Metric.TEMPERATURE, Condition.ABOVE, 45.0)));
+    }
+
+    @Test
+    void onWeatherSaved_AverageAboveThreshold_ShouldAlertOnceUntilItDropsBack() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", now, 50.0), reading("XYZ", now, 20.0))));
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", now, 48.0))));
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", now, 20.0))));
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", now, 100.0))));
+
+        assertThat(alerts(Alert.Type.TEMPERATURE_THRESHOLD)).containsExactly("ABC", "ABC");
+        assertThat(recentAlerts.latest(1).get(0).getValue()).isEqualTo(54.5);
+    }
+
+    @Test
+    void fireDue_StationSilentPastDeadline_ShouldAlertAndLeaveHeap() {
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", RECEIVED_AT, 20.0))));
+
+        service.fireDue(RECEIVED_AT_MILLIS + 29_999);
+        assertThat(alerts(Alert.Type.MISSING_DATA)).isEmpty();
+
+        service.fireDue(RECEIVED_AT_MILLIS + 30_000);
+        assertThat(alerts(Alert.Type.MISSING_DATA)).containsExactly("ABC");
+        assertThat(service.pendingDeadlines()).isZero();
+    }
+
+    @Test
+    void fireDue_StationStillSilent_ShouldAlertAgainEveryRepeat() {
+        ReflectionTestUtils.setField(service, "repeatSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "repeatSeconds", 300L);
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", RECEIVED_AT, 20.0))));
+
+        service.fireDue(RECEIVED_AT_MILLIS + 30_000);
+        service.fireDue(RECEIVED_AT_MILLIS + 329_999);
+        assertThat(alerts(Alert.Type.MISSING_DATA)).containsExactly("ABC");
+        assertThat(service.pendingDeadlines()).isEqualTo(1);
+
+        service.fireDue(RECEIVED_AT_MILLIS + 330_000);
+        assertThat(alerts(Alert.Type.MISSING_DATA)).containsExactly("ABC", "ABC");
+
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", RECEIVED_AT.plusSeconds(400), 20.0))));
+        service.fireDue(RECEIVED_AT_MILLIS + 429_999);
+        assertThat(alerts(Alert.Type.MISSING_DATA)).containsExactly("ABC", "ABC");
+    }
+
+    @Test
+    void fireDue_StationReportedBeforeDeadline_ShouldMoveDeadline() {
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", RECEIVED_AT, 20.0))));
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", RECEIVED_AT.plusSeconds(20), 20.0))));
+
+        service.fireDue(RECEIVED_AT_MILLIS + 30_000);
+        assertThat(alerts(Alert.Type.MISSING_DATA)).isEmpty();
+        assertThat(service.pendingDeadlines()).isEqualTo(1);
+
+        service.fireDue(RECEIVED_AT_MILLIS + 50_000);
+        assertThat(alerts(Alert.Type.MISSING_DATA)).containsExactly("ABC");
+    }
+
+    @Test
+    void onWeatherSaved_MissingStationReports_ShouldClearSoTheNextGapAlertsAgain() {
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", RECEIVED_AT, 20.0))));
+        service.fireDue(RECEIVED_AT_MILLIS + 30_000);
+
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", RECEIVED_AT.plusSeconds(40), 20.0))));
+        service.fireDue(RECEIVED_AT_MILLIS + 70_000);
+
+        assertThat(alerts(Alert.Type.MISSING_DATA)).containsExactly("ABC", "ABC");
+    }
+
+    @Test
+    void onWeatherSaved_StationRules_ShouldApplyOnlyToTheirStation() {
+        when(alertRuleRegistry.current()).thenReturn(AlertRuleSet.compile(
+                List.of(AlertRule.global(Metric.MISSING_DATA, Condition.ABOVE, 30)),
+                List.of(new AlertRule(null, "ABC", null, Metric.HUMIDITY, Condition.BELOW, 60.0),
+                        new AlertRule(null, "XYZ", null, Metric.MISSING_DATA, Condition.ABOVE, 10.0)),
+                Map.of()));
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", now, 20.0), reading("XYZ", now, 20.0))));
+        service.fireDue(now.toInstant().toEpochMilli() + 10_000);
+
+        assertThat(alerts(Alert.Type.HUMIDITY_THRESHOLD)).containsExactly("ABC");
+        assertThat(alerts(Alert.Type.TEMPERATURE_THRESHOLD)).isEmpty();
+        assertThat(alerts(Alert.Type.MISSING_DATA)).containsExactly("XYZ");
+    }
+
+    @Test
+    void fireDue_MissingDataRuleRemoved_ShouldLeaveHeapWithoutAlerting() {
+        service.onWeatherSaved(new WeatherSavedEvent(List.of(reading("ABC", RECEIVED_AT, 20.0))));
+        when(alertRuleRegistry.current()).thenReturn(AlertRuleSet.of());
+
+        service.fireDue(RECEIVED_AT_MILLIS + 30_000);
+
+        assertThat(alerts(Alert.Type.MISSING_DATA)).isEmpty();
+        assertThat(service.pendingDeadlines()).isZero();
+    }
+
+    private List<String> alerts(Alert.Type type) {
+        return recentAlerts.latest(100).stream()
+                .filter(alert -> alert.getType() == type)
+                .map(Alert::getStationCode)
+                .toList();
+    }
+
+    private static Weather reading(String stationCode, OffsetDateTime receivedAt, double temperature) {
+        return new Weather(null, stationCode, receivedAt, receivedAt, temperature, 50.0, 5.0);
+    }
+}
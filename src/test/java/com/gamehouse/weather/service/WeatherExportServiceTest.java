@@ -0,0 +1,141 @@
+package com.gamehouse.weather.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gamehouse.weather.dto.ReadingsExport;
+import com.gamehouse.weather.dto.ReadingsFormat;
+import com.gamehouse.weather.dto.mapper.WeatherMapper;
+import com.gamehouse.weather.model.ReadingCursor;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.repository.WeatherReadingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherExportServiceTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime END = START.plusHours(1);
+
+    @Mock
+    private WeatherReadingRepository readingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WeatherExportService service;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        service = new WeatherExportService(readingRepository, Mappers.getMapper(WeatherMapper.class), objectMapper,
+                transactionManager);
+        ReflectionTestUtils.setField(service, "maxPageSize", 100L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_Ndjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Weather> consumer = invocation.getArgument(5);
+            consumer.accept(weather(1L, START.plusSeconds(5), 20.5));
+            consumer.accept(weather(2L, START.plusSeconds(10), 21.0));
+            return null;
+        }).when(readingRepository).stream(eq("ABC"), eq(START), eq(END), eq(new ReadingCursor(START, 0)),
+                eq(new ReadingCursor(END, Long.MAX_VALUE)), any(Consumer.class));
+
+        ReadingsExport export = service.export("ABC", START, END, ReadingsFormat.NDJSON, null, null);
+
+        assertThat(export.getNextPageToken()).isNull();
+        assertThat(write(export).split("\n")).containsExactly(
+                "{\"id\":1,\"station_code\":\"ABC\",\"collected_at\":\"2025-03-01T10:00:05Z\",\"received_at\":\"2025-03-01T10:00:05Z\",\"temperature\":20.5,\"humidity\":50.0,\"wind_speed\":5.0}",
+                "{\"id\":2,\"station_code\":\"ABC\",\"collected_at\":\"2025-03-01T10:00:10Z\",\"received_at\":\"2025-03-01T10:00:10Z\",\"temperature\":21.0,\"humidity\":50.0,\"wind_speed\":5.0}");
+        verify(readingRepository, never()).findPageEnd(any(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_CsvPage_ShouldWriteHeaderRowsAndResolveNextPageToken() throws Exception {
+        ReadingCursor after = new ReadingCursor(START.plusSeconds(1), 9L);
+        ReadingCursor pageEnd = new ReadingCursor(START.plusSeconds(5), 11L);
+        when(readingRepository.findPageEnd("ABC", START, END, after, 2L)).thenReturn(Optional.of(pageEnd));
+        doAnswer(invocation -> {
+            Consumer<Weather> consumer = invocation.getArgument(5);
+            consumer.accept(weather(10L, START.plusSeconds(3), -1.5));
+            consumer.accept(weather(11L, START.plusSeconds(5), 0.0));
+            return null;
+        }).when(readingRepository).stream(eq("ABC"), eq(START), eq(END), eq(after), eq(pageEnd), any(Consumer.class));
+
+        ReadingsExport export = service.export("ABC", START, END, ReadingsFormat.CSV, 2L, after.encode());
+
+        assertThat(export.getNextPageToken()).isEqualTo(pageEnd.encode());
+        assertThat(write(export)).isEqualTo(
+                "id,station_code,collected_at,received_at,temperature,humidity,wind_speed\n" +
+                        "10,ABC,2025-03-01T10:00:03Z,2025-03-01T10:00:03Z,-1.5,50.0,5.0\n" +
+                        "11,ABC,2025-03-01T10:00:05Z,2025-03-01T10:00:05Z,0.0,50.0,5.0\n");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_LastPage_ShouldStreamToTheEndOfTheRangeWithoutToken() throws Exception {
+        ReadingCursor after = new ReadingCursor(START.plusSeconds(1), 9L);
+        when(readingRepository.findPageEnd("ABC", START, END, after, 2L)).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            Consumer<Weather> consumer = invocation.getArgument(5);
+            consumer.accept(weather(10L, START.plusSeconds(3), -1.5));
+            return null;
+        }).when(readingRepository).stream(eq("ABC"), eq(START), eq(END), eq(after),
+                eq(new ReadingCursor(END, Long.MAX_VALUE)), any(Consumer.class));
+
+        ReadingsExport export = service.export("ABC", START, END, ReadingsFormat.CSV, 2L, after.encode());
+
+        assertThat(export.getNextPageToken()).isNull();
+        assertThat(write(export)).endsWith("10,ABC,2025-03-01T10:00:03Z,2025-03-01T10:00:03Z,-1.5,50.0,5.0\n");
+    }
+
+    @Test
+    void export_InvalidArguments_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> service.export("ABC", END, START, ReadingsFormat.CSV, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.export("ABC", START, END, ReadingsFormat.CSV, 101L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.export("ABC", START, END, ReadingsFormat.CSV, 0L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(readingRepository);
+    }
+
+    private String write(ReadingsExport export) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Weather weather(long id, OffsetDateTime collectedAt, double temperature) {
+        return new Weather(id, "ABC", collectedAt, collectedAt, temperature, 50.0, 5.0);
+    }
+}
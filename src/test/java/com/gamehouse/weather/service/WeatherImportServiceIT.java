@@ -0,0 +1,137 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.BaseIT;
+import com.gamehouse.weather.dto.ReadingsFormat;
+import com.gamehouse.weather.dto.WeatherImportResponse;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import com.gamehouse.weather.repository.WeatherAggregationRepository;
+import com.gamehouse.weather.repository.WeatherPartitionRepository;
+import com.gamehouse.weather.repository.WeatherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WeatherImportServiceIT extends BaseIT {
+
+    private static final LocalDate DAY = LocalDate.of(2012, 2, 3);
+    private static final int THROUGHPUT_ROWS = 500_000;
+
+    @Autowired
+    private WeatherImportService importService;
+
+    @Autowired
+    private WeatherRepository weatherRepository;
+
+    @Autowired
+    private WeatherAggregationRepository aggregationRepository;
+
+    @Autowired
+    private WeatherPartitionRepository partitionRepository;
+
+    @Autowired
+    private RollupDrainer rollupDrainer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        weatherRepository.deleteAll();
+        aggregationRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM weather_aggregation_hour");
+        jdbcTemplate.update("DELETE FROM weather_aggregation_day");
+        jdbcTemplate.update("DELETE FROM weather_aggregation_month");
+        jdbcTemplate.update("DELETE FROM weather_rollup_delta");
+    }
+
+    @Test
+    void importReadings_ShouldPartitionHistoryAndRebuildAggregatesOnce() {
+        String csv = """
+                station_code,collected_at,temperature,humidity,wind_speed
+                IMP,2012-02-03T10:00:05Z,10.0,40.0,2.0
+                IMP,2012-02-03T10:00:35Z,20.0,60.0,4.0
+                IMP,2012-02-04T00:00:10Z,30.0,50.0,6.0
+                IMP,2012-02-03T10:00:50Z,30.0,80.0,6.0
+                IMP,2012-02-03T10:01:00Z,-5.0,101.0,1.0
+                """;
+
+        WeatherImportResponse response = importService.importReadings(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ReadingsFormat.CSV);
+
+        assertThat(response.getImported()).isEqualTo(4);
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(partitionRepository.findPartitionDays()).contains(DAY, DAY.plusDays(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM weather_default", Long.class)).isZero();
+
+        OffsetDateTime minute = DAY.atTime(10, 0).atOffset(ZoneOffset.UTC);
+        WeatherAggregationTotals totals = aggregationRepository.aggregateByStationAndRange("IMP", minute, minute);
+        assertThat(totals.getTotalRecords()).isEqualTo(3);
+        assertThat(totals.getTemperatureAvg()).isCloseTo(20.0, within(0.001));
+        assertThat(totals.getHumidityMax()).isEqualTo(80.0);
+        rollupDrainer.drain();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT total_records FROM weather_aggregation_day WHERE station_code = 'IMP' AND bucket_start = ?",
+                Long.class, DAY.atStartOfDay())).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM station WHERE code = 'IMP'", Long.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void importReadings_OverAnExistingMinute_ShouldAddToItsAggregate() {
+        OffsetDateTime minute = DAY.atTime(10, 0).atOffset(ZoneOffset.UTC);
+        partitionRepository.createPartition(DAY);
+        jdbcTemplate.update("INSERT INTO weather (station_code, collected_at, received_at, temperature, humidity, "
+                + "wind_speed) VALUES ('IMP', ?, ?, 10.0, 40.0, 2.0), ('IMP', ?, ?, 20.0, 60.0, 4.0)",
+                minute.plusSeconds(1), minute.plusSeconds(1), minute.plusSeconds(2), minute.plusSeconds(2));
+        // As retention would: the reading goes, its minute stays.
+        jdbcTemplate.update("DELETE FROM weather WHERE station_code = 'IMP' AND temperature = 20.0");
+        String csv = """
+                station_code,collected_at,temperature,humidity,wind_speed
+                IMP,2012-02-03T10:00:30Z,60.0,80.0,9.0
+                """;
+
+        importService.importReadings(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ReadingsFormat.CSV);
+
+        WeatherAggregationTotals totals = aggregationRepository.aggregateByStationAndRange("IMP", minute, minute);
+        assertThat(totals.getTotalRecords()).isEqualTo(3);
+        assertThat(totals.getTemperatureAvg()).isCloseTo(30.0, within(0.001));
+        assertThat(totals.getTemperatureMin()).isEqualTo(10.0);
+        assertThat(totals.getWindSpeedMax()).isEqualTo(9.0);
+        rollupDrainer.drain();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT total_records FROM weather_aggregation_hour WHERE station_code = 'IMP' AND bucket_start = ?",
+                Long.class, minute.toLocalDateTime())).isEqualTo(3);
+    }
+
+    @Test
+    void reportImportThroughput() {
+        StringBuilder csv = new StringBuilder("station_code,collected_at,temperature,humidity,wind_speed\n");
+        OffsetDateTime start = DAY.atStartOfDay().atOffset(ZoneOffset.UTC);
+        for (int i = 0; i < THROUGHPUT_ROWS; i++) {
+            csv.append("T").append((char) ('A' + i % 26)).append((char) ('A' + i / 26 % 26)).append(',')
+                    .append(start.plusSeconds(i / 10).toInstant()).append(',')
+                    .append(15 + i % 10).append(".5,").append(40 + i % 20).append(".0,").append(i % 7).append(".0\n");
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        long startedAt = System.nanoTime();
+        WeatherImportResponse response = importService.importReadings(new ByteArrayInputStream(bytes), ReadingsFormat.CSV);
+        long millis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(response.getImported()).isEqualTo(THROUGHPUT_ROWS);
+        assertThat(jdbcTemplate.queryForObject("SELECT sum(total_records) FROM weather_aggregation", Long.class))
+                .isEqualTo(THROUGHPUT_ROWS);
+        System.out.printf("Imported %d readings in %d ms (%d rows/s)%n", THROUGHPUT_ROWS, millis,
+                THROUGHPUT_ROWS * 1000L / Math.max(millis, 1));
+    }
+}
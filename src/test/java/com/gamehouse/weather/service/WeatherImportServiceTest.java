@@ -0,0 +1,185 @@
+package com.gamehouse.weather.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gamehouse.weather.dto.ReadingsFormat;
+import com.gamehouse.weather.dto.WeatherImportResponse;
+import com.gamehouse.weather.dto.mapper.WeatherAggregationMapper;
+import com.gamehouse.weather.dto.mapper.WeatherMapper;
+import com.gamehouse.weather.event.WeatherImportedEvent;
+import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.repository.WeatherAggregationBatchRepository;
+import com.gamehouse.weather.repository.WeatherAggregationRepository;
+import com.gamehouse.weather.repository.WeatherBatchRepository;
+import com.gamehouse.weather.repository.WeatherCopyRepository;
+import com.gamehouse.weather.repository.WeatherPartitionRepository;
+import com.gamehouse.weather.repository.WeatherRepository;
+import com.gamehouse.weather.repository.WeatherSeriesRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherImportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    @Mock
+    private WeatherCopyRepository copyRepository;
+
+    @Mock
+    private WeatherCopyRepository.Copy copy;
+
+    @Mock
+    private WeatherPartitionRepository partitionRepository;
+
+    @Mock
+    private WeatherAggregationBatchRepository aggregationBatchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<RangeAggregationIndex> rangeAggregationIndex;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WeatherImportService service;
+
+    @BeforeEach
+    void setUp() {
+        WeatherService weatherService = new WeatherService(mock(WeatherRepository.class),
+                Mappers.getMapper(WeatherMapper.class), mock(WeatherAggregationRepository.class),
+                mock(WeatherAggregationMapper.class), mock(WeatherSeriesRepository.class),
+                mock(WeatherBatchRepository.class), Validation.buildDefaultValidatorFactory().getValidator(),
+                eventPublisher, mock(LatestWeatherCache.class), mock(RangeAggregationCache.class),
+                rangeAggregationIndex, meterRegistry);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        service = new WeatherImportService(copyRepository, partitionRepository, aggregationBatchRepository,
+                weatherService, objectMapper, eventPublisher, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(service, "maxReportedErrors", 10);
+
+        lenient().when(copyRepository.startCopy()).thenReturn(copy);
+        lenient().when(partitionRepository.findPartitionDays()).thenReturn(List.of(DAY));
+    }
+
+    @Test
+    void importReadings_Csv_ShouldCopyValidRowsAndReportRejectedOnes() throws Exception {
+        when(copy.end()).thenReturn(2L);
+        String csv = """
+                id,wind_speed,humidity,temperature,collected_at,station_code
+                1,5.0,50.0,20.5,2025-03-01T10:00:00Z,ABC
+                2,5.0,120.0,20.5,2025-03-01T10:00:01Z,ABC
+
+                3,5.0,50.0,warm,2025-03-01T10:00:02Z,ABC
+                4,6.0,55.0,21.0,2025-03-01T12:00:00+02:00,XYZ
+                """;
+
+        WeatherImportResponse response = service.importReadings(input(csv), ReadingsFormat.CSV);
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getRejected()).isEqualTo(2);
+        assertThat(response.getErrors()).containsExactly(
+                "Line 3: Humidity must be at most 100%",
+                "Line 5: Invalid temperature: warm");
+
+        ArgumentCaptor<Weather> written = ArgumentCaptor.forClass(Weather.class);
+        verify(copy, times(2)).write(written.capture());
+        assertThat(written.getAllValues()).extracting(Weather::getStationCode).containsExactly("ABC", "XYZ");
+        assertThat(written.getAllValues()).allSatisfy(weather ->
+                assertThat(weather.getReceivedAt()).isEqualTo(weather.getCollectedAt()));
+
+        InOrder inOrder = inOrder(copyRepository, copy, aggregationBatchRepository);
+        inOrder.verify(copyRepository).skipAggregationTrigger();
+        inOrder.verify(copyRepository).startCopy();
+        inOrder.verify(copy).end();
+        inOrder.verify(aggregationBatchRepository).mergeStaged();
+        verify(partitionRepository, never()).createPartition(any());
+        verify(eventPublisher).publishEvent(new WeatherImportedEvent(Set.of("ABC", "XYZ")));
+        assertThat(meterRegistry.counter("weather.import.records", "result", "rejected").count()).isEqualTo(2);
+    }
+
+    @Test
+    void importReadings_Ndjson_ShouldCreateMissingPartitionsBeforeTheCopyTransaction() throws Exception {
+        when(copy.end()).thenReturn(3L);
+        String ndjson = """
+                {"station_code":"ABC","collected_at":"2025-03-01T23:59:59Z","temperature":20.0,"humidity":50.0,"wind_speed":5.0}
+                {"station_code":"ABC","collected_at":"2025-03-02T00:00:00Z","temperature":21.0,"humidity":50.0,"wind_speed":5.0}
+                {"station_code":"ABC","collected_at":"2025-03-01T23:59:58Z","temperature":22.0,"humidity":50.0,"wind_speed":5.0}
+                {"station_code":"abc"
+                """;
+
+        WeatherImportResponse response = service.importReadings(input(ndjson), ReadingsFormat.NDJSON);
+
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().asString().startsWith("Line 4: Malformed record");
+
+        InOrder inOrder = inOrder(partitionRepository, transactionManager, copyRepository, copy);
+        inOrder.verify(partitionRepository).createPartition(DAY.plusDays(1));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(copyRepository).startCopy();
+        inOrder.verify(copy, times(3)).write(any());
+        inOrder.verify(copy).end();
+        inOrder.verify(transactionManager).commit(any());
+        verify(partitionRepository, times(1)).createPartition(any());
+        verify(copy, never()).cancel();
+    }
+
+    @Test
+    void importReadings_OnlyRejectedRecords_ShouldNotCopyOrRebuild() {
+        String ndjson = """
+                {"station_code":"ABC","collected_at":"2999-01-01T00:00:00Z","temperature":20.0,"humidity":50.0,"wind_speed":5.0}
+                """;
+
+        WeatherImportResponse response = service.importReadings(input(ndjson), ReadingsFormat.NDJSON);
+
+        assertThat(response.getImported()).isZero();
+        assertThat(response.getErrors()).containsExactly("Line 1: Collected time must not be in the future.");
+        verify(copyRepository, never()).startCopy();
+        verifyNoInteractions(aggregationBatchRepository, eventPublisher, transactionManager);
+    }
+
+    @Test
+    void importReadings_CsvWithoutRequiredColumns_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> service.importReadings(input("station_code,collected_at\nABC,2025-03-01T10:00:00Z\n"),
+                ReadingsFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CSV header must contain the columns");
+        verify(copyRepository, never()).startCopy();
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,159 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.dto.WeatherRequest;
+import com.gamehouse.weather.exception.IngestQueueFullException;
+import com.gamehouse.weather.model.Weather;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherIngestQueueTest {
+
+    @Mock
+    private WeatherService weatherService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WeatherIngestQueue ingestQueue;
+
+    @BeforeEach
+    void setUp() {
+        ingestQueue = new WeatherIngestQueue(weatherService, meterRegistry);
+        ReflectionTestUtils.setField(ingestQueue, "capacity", 2);
+        ReflectionTestUtils.setField(ingestQueue, "batchSize", 10);
+        ReflectionTestUtils.setField(ingestQueue, "batchWaitMillis", 20L);
+        ReflectionTestUtils.setField(ingestQueue, "retryAfterSeconds", 3L);
+        ReflectionTestUtils.setField(ingestQueue, "commitAttempts", 3);
+        ReflectionTestUtils.setField(ingestQueue, "commitBackoffMillis", 1L);
+        AtomicLong sequence = new AtomicLong();
+        lenient().when(weatherService.reserveIds(anyInt())).thenAnswer(invocation ->
+                LongStream.range(0, invocation.<Integer>getArgument(0)).map(i -> sequence.incrementAndGet()).boxed()
+                        .toList());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ingestQueue.stop();
+    }
+
+    @Test
+    void submit_QueueFull_ShouldRejectWithRetryAfter() throws InterruptedException {
+        ReflectionTestUtils.setField(ingestQueue, "writers", 1);
+        ReflectionTestUtils.setField(ingestQueue, "batchSize", 1);
+        CountDownLatch commitStarted = new CountDownLatch(1);
+        CountDownLatch releaseCommit = new CountDownLatch(1);
+        when(weatherService.saveAll(anyList())).thenAnswer(invocation -> {
+            commitStarted.countDown();
+            releaseCommit.await();
+            return invocation.getArgument(0);
+        });
+        WeatherRequest request = request();
+        when(weatherService.toEntity(eq(request), any(OffsetDateTime.class))).thenAnswer(invocation -> new Weather());
+        ingestQueue.start();
+
+        assertThat(ingestQueue.submit(request)).isEqualTo(1L);
+        assertThat(commitStarted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(ingestQueue.submit(request)).isEqualTo(2L);
+        assertThat(ingestQueue.submit(request)).isEqualTo(3L);
+        assertThatThrownBy(() -> ingestQueue.submit(request))
+                .isInstanceOf(IngestQueueFullException.class)
+                .extracting("retryAfterSeconds").isEqualTo(3L);
+        assertThat(meterRegistry.get("weather.ingest.queue.depth").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("weather.ingest.rejected").counter().count()).isEqualTo(1.0);
+        verify(weatherService, times(3)).reserveIds(1);
+
+        releaseCommit.countDown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void submit_ShouldCommitQueuedReadingsInGroups() {
+        ReflectionTestUtils.setField(ingestQueue, "writers", 1);
+        WeatherRequest request = request();
+        Weather first = new Weather();
+        Weather second = new Weather();
+        when(weatherService.toEntity(eq(request), any(OffsetDateTime.class))).thenReturn(first, second);
+
+        ingestQueue.start();
+        ingestQueue.submit(request);
+        ingestQueue.submit(request);
+
+        ArgumentCaptor<List<Weather>> captor = ArgumentCaptor.forClass(List.class);
+        verify(weatherService, timeout(1000).atLeastOnce()).saveAll(captor.capture());
+        assertThat(captor.getAllValues().stream().flatMap(List::stream)).containsExactly(first, second);
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second.getId()).isEqualTo(2L);
+        verify(weatherService).reserveIds(10);
+    }
+
+    @Test
+    void commit_TransientFailure_ShouldRetryTheGroup() {
+        ReflectionTestUtils.setField(ingestQueue, "writers", 1);
+        WeatherRequest request = request();
+        Weather reading = new Weather();
+        when(weatherService.toEntity(eq(request), any(OffsetDateTime.class))).thenReturn(reading);
+        when(weatherService.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(List.of(reading));
+
+        ingestQueue.start();
+        ingestQueue.submit(request);
+
+        verify(weatherService, timeout(1000).times(2)).saveAll(List.of(reading));
+        assertThat(meterRegistry.get("weather.ingest.commit.retries").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("weather.ingest.failed").counter()).isNull();
+    }
+
+    @Test
+    void commit_PersistentFailure_ShouldCommitTheReadingsOneByOneAfterTheLastAttempt() throws InterruptedException {
+        ReflectionTestUtils.setField(ingestQueue, "writers", 1);
+        WeatherRequest goodRequest = request();
+        WeatherRequest badRequest = new WeatherRequest("XYZ", OffsetDateTime.now().minusMinutes(1), 20.0, 50.0, 5.0);
+        Weather good = new Weather();
+        Weather bad = new Weather();
+        when(weatherService.toEntity(eq(goodRequest), any(OffsetDateTime.class))).thenReturn(good);
+        when(weatherService.toEntity(eq(badRequest), any(OffsetDateTime.class))).thenReturn(bad);
+        when(weatherService.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Weather> readings = invocation.getArgument(0);
+            if (readings.contains(bad)) {
+                throw new IllegalStateException("value out of range");
+            }
+            return readings;
+        });
+
+        ingestQueue.start();
+        ingestQueue.submit(goodRequest);
+        ingestQueue.submit(badRequest);
+        ingestQueue.stop();
+
+        verify(weatherService, atLeastOnce()).saveAll(List.of(good));
+        verify(weatherService, atLeastOnce()).saveAll(List.of(bad));
+        assertThat(meterRegistry.get("weather.ingest.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    private WeatherRequest request() {
+        return new WeatherRequest("ABC", OffsetDateTime.now().minusMinutes(1), 20.0, 50.0, 5.0);
+    }
+}
@@ -0,0 +1,39 @@
+package com.gamehouse.weather.service;
+
+import com.gamehouse.weather.repository.WeatherPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherPartitionManagerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    @Mock
+    private WeatherPartitionRepository partitionRepository;
+
+    @InjectMocks
+    private WeatherPartitionManager manager;
+
+    @Test
+    void maintain_ShouldCreatePartitionsFromYesterdayThroughPremakeDays() {
+        ReflectionTestUtils.setField(manager, "premakeDays", 3);
+
+        manager.maintain(TODAY);
+
+        for (int offset = -1; offset <= 3; offset++) {
+            verify(partitionRepository).createPartition(TODAY.plusDays(offset));
+        }
+        verify(partitionRepository, times(5)).createPartition(any());
+        verify(partitionRepository, never()).dropPartitionsBefore(any());
+    }
+}
@@ -1,23 +1,49 @@
 package com.gamehouse.weather.service;
 
+import com.gamehouse.weather.dto.WeatherBatchItemResponse;
+import com.gamehouse.weather.dto.WeatherBatchResponse;
 import com.gamehouse.weather.dto.WeatherRequest;
 import com.gamehouse.weather.dto.WeatherResponse;
+import com.gamehouse.weather.dto.WeatherSeriesResponse;
+import com.gamehouse.weather.dto.WeatherAggregationResponse;
+import com.gamehouse.weather.dto.mapper.WeatherAggregationMapper;
 import com.gamehouse.weather.dto.mapper.WeatherMapper;
+import com.gamehouse.weather.event.WeatherSavedEvent;
 import com.gamehouse.weather.model.Weather;
+import com.gamehouse.weather.model.SeriesBucket;
+import com.gamehouse.weather.model.WeatherAggregationTotals;
+import com.gamehouse.weather.model.WeatherSeries;
+import com.gamehouse.weather.repository.WeatherAggregationRepository;
+import com.gamehouse.weather.repository.WeatherBatchRepository;
 import com.gamehouse.weather.repository.WeatherRepository;
+import com.gamehouse.weather.repository.WeatherSeriesRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +55,39 @@ class WeatherServiceTest {
     @Mock
     private WeatherMapper mapper;
 
+    @Mock
+    private WeatherBatchRepository batchRepository;
+
+    @Mock
+    private WeatherAggregationRepository weatherAggregationRepository;
+
+    @Mock
+    private WeatherAggregationMapper weatherAggregationMapper;
+
+    @Mock
+    private WeatherSeriesRepository weatherSeriesRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LatestWeatherCache latestWeatherCache;
+
+    @Spy
+    private RangeAggregationCache rangeAggregationCache = new RangeAggregationCache(new SimpleMeterRegistry(), 100, 60);
+
+    @Mock
+    private ObjectProvider<RangeAggregationIndex> rangeAggregationIndexProvider;
+
+    @Mock
+    private RangeAggregationIndex rangeAggregationIndex;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private WeatherService service;
 
@@ -87,6 +146,9 @@ class WeatherServiceTest {
         verify(mapper).toEntity(request);
         verify(repository).save(unsavedEntity);
         verify(mapper).toDto(savedEntity);
+        verify(eventPublisher).publishEvent(new WeatherSavedEvent(List.of(savedEntity)));
+        assertThat(meterRegistry.counter("weather.readings.saved", "station", "ABC").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("weather.db").tag("operation", "save").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -141,6 +203,18 @@ class WeatherServiceTest {
 
         verify(repository).findFirstByStationCodeOrderByReceivedAtDesc(stationCode);
         verify(mapper).toDto(weather);
+        verify(latestWeatherCache).update(responseDto);
+    }
+
+    @Test
+    void getLastByStation_Cached_ShouldNotQueryRepository() {
+        WeatherResponse cached = new WeatherResponse(1L, "ABC", OffsetDateTime.now().minusMinutes(1), OffsetDateTime.now(), 20.0, 55.0, 8.0);
+        when(latestWeatherCache.get("ABC")).thenReturn(Optional.of(cached));
+
+        WeatherResponse result = service.getLastByStation("ABC");
+
+        assertThat(result).isSameAs(cached);
+        verifyNoInteractions(repository);
     }
 
     @Test
@@ -154,4 +228,142 @@ class WeatherServiceTest {
                 .hasMessage("No weather entry found for station: " + stationCode);
         verify(repository).findFirstByStationCodeOrderByReceivedAtDesc(stationCode);
     }
+
+    @Test
+    void saveBatch_MixedReadings_ShouldPersistValidAndRejectInvalid() {
+        ReflectionTestUtils.setField(service, "batchMaxSize", 10);
+        WeatherRequest valid = new WeatherRequest("ABC", OffsetDateTime.now().minusMinutes(1), 20.0, 50.0, 5.0);
+        WeatherRequest invalidHumidity = new WeatherRequest("ABC", OffsetDateTime.now().minusMinutes(1), 20.0, 150.0, 5.0);
+        WeatherRequest future = new WeatherRequest("DEF", OffsetDateTime.now().plusMinutes(10), 20.0, 50.0, 5.0);
+
+        Weather entity = new Weather(null, "ABC", valid.getCollectedAt(), null, 20.0, 50.0, 5.0);
+        WeatherResponse responseDto = new WeatherResponse(1L, "ABC", valid.getCollectedAt(), OffsetDateTime.now(), 20.0, 50.0, 5.0);
+
+        when(mapper.toEntity(valid)).thenReturn(entity);
+        when(batchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Weather> entities = invocation.getArgument(0);
+            entities.forEach(e -> e.setId(1L));
+            return entities;
+        });
+        when(mapper.toDto(entity)).thenReturn(responseDto);
+
+        WeatherBatchResponse result = service.saveBatch(List.of(valid, invalidHumidity, future));
+
+        assertThat(result.getAccepted()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(WeatherBatchItemResponse::getStatus).containsExactly(
+                WeatherBatchItemResponse.Status.CREATED,
+                WeatherBatchItemResponse.Status.REJECTED,
+                WeatherBatchItemResponse.Status.REJECTED
+        );
+        assertThat(result.getResults().get(0).getWeather()).isEqualTo(responseDto);
+        assertThat(result.getResults().get(1).getErrors()).containsExactly("Humidity must be at most 100%");
+        assertThat(result.getResults().get(2).getErrors()).containsExactly("Collected time must not be in the future.");
+        assertThat(entity.getReceivedAt()).isNotNull();
+
+        verify(batchRepository).insertAll(List.of(entity));
+    }
+
+    @Test
+    void saveBatch_TooManyReadings_ShouldThrowException() {
+        ReflectionTestUtils.setField(service, "batchMaxSize", 1);
+        WeatherRequest request = new WeatherRequest("ABC", OffsetDateTime.now().minusMinutes(1), 20.0, 50.0, 5.0);
+
+        assertThatThrownBy(() -> service.saveBatch(List.of(request, request)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batch must not contain more than 1 readings.");
+        verify(batchRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void getAggregationByStationAndDateRange_Indexed_ShouldNotQueryRepositoryAndCacheResult() {
+        OffsetDateTime start = OffsetDateTime.parse("2025-03-01T10:00:30Z");
+        WeatherAggregationTotals totals = mock(WeatherAggregationTotals.class);
+        when(totals.getTotalRecords()).thenReturn(3L);
+        WeatherAggregationResponse response = new WeatherAggregationResponse(null, null, null);
+        when(rangeAggregationIndexProvider.getIfAvailable()).thenReturn(rangeAggregationIndex);
+        when(rangeAggregationIndex.aggregate("ABC", LocalDateTime.parse("2025-03-01T10:01:00"),
+                LocalDateTime.parse("2025-03-01T11:01:00"))).thenReturn(Optional.of(totals));
+        when(weatherAggregationMapper.toDto(totals)).thenReturn(response);
+
+        assertThat(service.getAggregationByStationAndDateRange("ABC", start, start.plusHours(1))).isSameAs(response);
+        assertThat(service.getAggregationByStationAndDateRange("ABC", start.plusSeconds(29), start.plusHours(1)))
+                .isSameAs(response);
+
+        verify(rangeAggregationIndex, times(1)).aggregate(any(), any(), any());
+        verifyNoInteractions(weatherAggregationRepository);
+    }
+
+    @Test
+    void getAggregationByStationAndDateRange_NotIndexed_ShouldFallBackToRepository() {
+        OffsetDateTime start = OffsetDateTime.parse("2025-03-01T10:00:00Z");
+        when(rangeAggregationIndexProvider.getIfAvailable()).thenReturn(null);
+        when(weatherAggregationRepository.aggregateByStationAndPlan(eq("ABC"), any())).thenReturn(null);
+
+        assertThatThrownBy(() -> service.getAggregationByStationAndDateRange("ABC", start, start.plusHours(1)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void getAggregationsByStationsAndDateRange_ShouldQueryAllStationsOnceAndKeyByStation() {
+        ReflectionTestUtils.setField(service, "rangeMaxStations", 2);
+        OffsetDateTime start = OffsetDateTime.parse("2025-03-01T00:00:00Z");
+        OffsetDateTime end = start.plusHours(1);
+        WeatherAggregationTotals totals = mock(WeatherAggregationTotals.class);
+        when(totals.getStationCode()).thenReturn("ABC");
+        WeatherAggregationResponse response = new WeatherAggregationResponse(null, null, null);
+        when(weatherAggregationRepository.aggregateByStationsAndPlan(eq(Set.of("ABC", "DEF")), any()))
+                .thenReturn(List.of(totals));
+        when(weatherAggregationMapper.toDto(totals)).thenReturn(response);
+
+        Map<String, WeatherAggregationResponse> aggregations = service.getAggregationsByStationsAndDateRange(
+                Arrays.asList(" DEF", "ABC", "ABC", "", null), start, end);
+
+        assertThat(aggregations).containsExactly(Map.entry("ABC", response));
+        verify(weatherAggregationRepository, times(1)).aggregateByStationsAndPlan(any(), any());
+    }
+
+    @Test
+    void getAggregationsByStationsAndDateRange_TooManyStations_ShouldThrowException() {
+        ReflectionTestUtils.setField(service, "rangeMaxStations", 1);
+        OffsetDateTime now = OffsetDateTime.now();
+
+        assertThatThrownBy(() -> service.getAggregationsByStationsAndDateRange(List.of("ABC", "DEF"), now.minusHours(1), now))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Must not request more than 1 stations.");
+        assertThatThrownBy(() -> service.getAggregationsByStationsAndDateRange(List.of(" "), now.minusHours(1), now))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At least one station code is required.");
+        verifyNoInteractions(weatherAggregationRepository);
+    }
+
+    @Test
+    void getSeriesByStationAndDateRange_ShouldReadWholeBucketsAroundTheRange() {
+        ReflectionTestUtils.setField(service, "seriesMaxPoints", 100);
+        WeatherSeries series = new WeatherSeries(0);
+        WeatherSeriesResponse response = new WeatherSeriesResponse("1h", new long[0], new long[0], null, null, null);
+        when(weatherSeriesRepository.findSeries("ABC", SeriesBucket.parse("1h"),
+                LocalDateTime.parse("2025-03-01T10:00:00"), LocalDateTime.parse("2025-03-01T13:00:00"), 3))
+                .thenReturn(series);
+        when(weatherAggregationMapper.toDto(series, "1h")).thenReturn(response);
+
+        WeatherSeriesResponse result = service.getSeriesByStationAndDateRange("ABC",
+                OffsetDateTime.parse("2025-03-01T12:15:00+02:00"), OffsetDateTime.parse("2025-03-01T12:05:00Z"), "1h");
+
+        assertThat(result).isSameAs(response);
+    }
+
+    @Test
+    void getSeriesByStationAndDateRange_TooManyBuckets_ShouldThrowException() {
+        ReflectionTestUtils.setField(service, "seriesMaxPoints", 100);
+        OffsetDateTime start = OffsetDateTime.parse("2025-03-01T00:00:00Z");
+
+        assertThatThrownBy(() -> service.getSeriesByStationAndDateRange("ABC", start, start.plusDays(1), "5m"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Range holds 289 buckets of 5m; at most 100 are allowed.");
+        assertThatThrownBy(() -> service.getSeriesByStationAndDateRange("ABC", start, start.minusSeconds(1), "5m"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("End must not be before start.");
+        verifyNoInteractions(weatherSeriesRepository);
+    }
 }